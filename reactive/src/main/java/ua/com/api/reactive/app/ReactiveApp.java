@@ -0,0 +1,41 @@
+package ua.com.api.reactive.app;
+
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import ua.com.api.service.mapper.DtoToModelMapper;
+import ua.com.api.service.mapper.ModelToDtoMapper;
+import ua.com.api.service.sort.SortRegistry;
+
+/**
+ * Non-blocking variant of the library API: the same routes on WebFlux with R2DBC repositories over the database
+ * created by the servlet API migrations. Only 'ua.com.api.reactive' is scanned, classes shared with the servlet
+ * API are declared as beans here.
+ */
+@ComponentScan(basePackages = "ua.com.api.reactive")
+@EnableR2dbcRepositories("ua.com.api.reactive.repository")
+@SpringBootApplication
+@OpenAPIDefinition
+public class ReactiveApp {
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveApp.class, args);
+    }
+
+    @Bean
+    public SortRegistry sortRegistry() {
+        return new SortRegistry();
+    }
+
+    @Bean
+    public ModelToDtoMapper toDtoMapper() {
+        return new ModelToDtoMapper();
+    }
+
+    @Bean
+    public DtoToModelMapper toModelMapper() {
+        return new DtoToModelMapper();
+    }
+}
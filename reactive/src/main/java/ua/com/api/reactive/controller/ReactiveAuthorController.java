@@ -0,0 +1,179 @@
+package ua.com.api.reactive.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ua.com.api.entity.dto.LookupResultDto;
+import ua.com.api.entity.dto.SortByPropertiesDto;
+import ua.com.api.entity.dto.author.AuthorDto;
+import ua.com.api.entity.dto.author.AuthorWithoutIdDto;
+import ua.com.api.reactive.service.ReactiveAuthorService;
+import ua.com.api.service.util.annotation.AllowableValues;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static ua.com.api.service.constants.Constants.*;
+
+@Tag(name = "Author", description = "Author table endpoints")
+
+@RestController
+@RequestMapping("${server.base.url}")
+@Validated
+public class ReactiveAuthorController {
+
+    @Autowired
+    private ReactiveAuthorService authorService;
+
+
+    @Operation(summary = "Get one Author object by it 'authorId'")
+    @GetMapping(value = "/author/{authorId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AuthorDto> getAuthor(
+            @Parameter(required = true, description = "existed Author ID")
+            @PathVariable
+            Long authorId) {
+        return authorService.findAuthor(authorId);
+    }
+
+
+    @Operation(summary = "Get many Author objects by list of 'authorId' with one query")
+    @GetMapping(value = "/authors/lookup", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<LookupResultDto<AuthorDto>> getAuthors(
+            @Parameter(description = "IDs of Authors separated by comma, up to " + BATCH_MAX_SIZE, required = true)
+            @RequestParam(name = IDS)
+            @NotEmpty(message = "Value of '" + IDS + "' parameter cannot be empty!")
+            @Size(max = BATCH_MAX_SIZE, message = "Value of '" + IDS + "' parameter cannot contain more than " + BATCH_MAX_SIZE + " IDs!")
+            List<Long> ids) {
+        return authorService.findAuthors(ids);
+    }
+
+
+    @Operation(summary = "Get Author of Book")
+    @GetMapping(value = "/book/{bookId}/author", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AuthorDto> getAuthorOfBook(
+            @Parameter(required = true, description = "existed Book ID")
+            @PathVariable
+            Long bookId) {
+        return authorService.findAuthorOfBook(bookId);
+    }
+
+
+    @Operation(summary = "Get Authors with pagination and sorting, streamed as they are read")
+    @GetMapping(value = "/authors", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AuthorDto> getAllAuthors(
+            @Parameter(description = "use pagination or not")
+            @RequestParam(name = PAGINATION, defaultValue = TRUE)
+            Boolean pagination,
+
+            @Parameter(description = "number of page")
+            @RequestParam(name = PAGE, defaultValue = "1")
+            @Min(value = 1, message = "Value of 'page' parameter must be positive and greater than zero!")
+            Integer page,
+
+            @Parameter(description = "count of objects per page")
+            @RequestParam(name = SIZE, defaultValue = DEFAULT_SIZE)
+            @Min(value = 1, message = "Value of 'size' parameter must be positive and greater than zero!")
+            Integer size,
+
+            @Parameter(description = "custom sort parameter, try '/author/sorters' endpoint")
+            @RequestParam(name = SORT_BY, defaultValue = AUTHOR_ID)
+            String sortBy,
+
+            @Parameter(description = "sorting order")
+            @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
+            @AllowableValues(values = {ASC, DESC}, message = "Value of " + ORDER_TYPE + " parameter must be '" + ASC + "' or '" + DESC + "'")
+            String orderType) {
+        return authorService.findAllAuthors(sortBy, orderType, page, size, pagination);
+    }
+
+
+    @Operation(summary = "Get Authors that writes in special Genre")
+    @GetMapping(value = "/genre/{genreId}/authors", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AuthorDto> getAllAuthorsInGenre(
+            @Parameter(description = "existed Genre ID", required = true)
+            @PathVariable
+            Long genreId,
+
+            @Parameter(description = "use pagination or not")
+            @RequestParam(name = PAGINATION, defaultValue = TRUE)
+            Boolean pagination,
+
+            @Parameter(description = "page number")
+            @RequestParam(name = PAGE, defaultValue = "1")
+            @Min(value = 1, message = "Value of 'page' parameter must be positive and greater than zero!")
+            Integer page,
+
+            @Parameter(description = "count of objects per one page")
+            @RequestParam(name = SIZE, defaultValue = DEFAULT_SIZE)
+            @Min(value = 1, message = "Value of 'size' parameter must be positive and greater than zero!")
+            Integer size,
+
+            @Parameter(description = "Custom sort parameter. Try '/author/sorters' endpoint")
+            @RequestParam(name = SORT_BY, defaultValue = AUTHOR_ID)
+            String sortBy,
+
+            @Schema(allowableValues = {ASC, DESC})
+            @Parameter(description = "sorting order")
+            @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
+            @AllowableValues(values = {ASC, DESC}, message = "Value of 'orderType' parameter must be '" + ASC + "' or '" + DESC + "'")
+            String orderType) {
+        return authorService.findAllAuthorsInGenre(genreId, sortBy, orderType, page, size, pagination);
+    }
+
+
+    @Operation(summary = "Get available sorters for Author")
+    @GetMapping(value = "/author/sorters", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<SortByPropertiesDto> getSortByValues() {
+        return authorService.getSortByParameterValues();
+    }
+
+
+    @Operation(summary = "Create new Author", description = "Author must have unique first and last names")
+    @ResponseStatus(value = HttpStatus.CREATED)
+    @PostMapping(value = "/author", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AuthorDto> addNewAuthor(
+            @Parameter(required = true, description = "Author to add", name = "Author object")
+            @Valid @RequestBody AuthorWithoutIdDto postAuthor) {
+        return authorService.addNewAuthor(postAuthor);
+    }
+
+
+    @Operation(summary = "Update existed Author")
+    @PutMapping(value = "/author/{authorId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AuthorDto> updateAuthor(
+            @Parameter(description = "existed Author ID", required = true)
+            @PathVariable
+            Long authorId,
+
+            @Parameter(required = true, description = "Author to update", name = "Author object")
+            @Valid @RequestBody AuthorWithoutIdDto updatedAuthor) {
+        return authorService.updateExistedAuthor(authorId, updatedAuthor);
+    }
+
+
+    @Operation(summary = "Remove existed Author with it books")
+    @ResponseStatus(value = HttpStatus.NO_CONTENT)
+    @DeleteMapping(value = "/author/{authorId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Void> deleteAuthor(
+            @Parameter(description = "existed Author ID", required = true)
+            @PathVariable
+            Long authorId,
+
+            @Schema(allowableValues = {FALSE, TRUE})
+            @Parameter(description = "if 'false' and Author has related Books - will produce a fault, if 'true' - will delete also all Books of this Author")
+            @RequestParam(name = FORCIBLY, defaultValue = FALSE)
+            Boolean forcibly) {
+        return authorService.deleteExistedAuthor(authorId, forcibly);
+    }
+}
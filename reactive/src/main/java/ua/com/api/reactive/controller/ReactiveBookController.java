@@ -0,0 +1,206 @@
+package ua.com.api.reactive.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ua.com.api.entity.dto.LookupResultDto;
+import ua.com.api.entity.dto.SortByPropertiesDto;
+import ua.com.api.entity.dto.book.BookDto;
+import ua.com.api.entity.dto.book.BookWithoutIdDto;
+import ua.com.api.reactive.service.ReactiveBookService;
+import ua.com.api.service.util.annotation.AllowableValues;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static ua.com.api.service.constants.Constants.*;
+
+@RestController
+@RequestMapping("${server.base.url}")
+@Validated
+
+@Tag(name = "Book", description = "Book table endpoints")
+public class ReactiveBookController {
+
+    @Autowired
+    private ReactiveBookService bookService;
+
+
+    @Operation(summary = "Get one Book object by it 'bookId'")
+    @GetMapping(value = "/book/{bookId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<BookDto> getBook(
+            @Parameter(description = "existed Book ID", required = true)
+            @PathVariable
+            Long bookId) {
+        return bookService.findBook(bookId);
+    }
+
+
+    @Operation(summary = "Get many Book objects by list of 'bookId' with one query")
+    @GetMapping(value = "/books/lookup", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<LookupResultDto<BookDto>> getBooks(
+            @Parameter(description = "IDs of Books separated by comma, up to " + BATCH_MAX_SIZE, required = true)
+            @RequestParam(name = IDS)
+            @NotEmpty(message = "Value of '" + IDS + "' parameter cannot be empty!")
+            @Size(max = BATCH_MAX_SIZE, message = "Value of '" + IDS + "' parameter cannot contain more than " + BATCH_MAX_SIZE + " IDs!")
+            List<Long> ids) {
+        return bookService.findBooks(ids);
+    }
+
+
+    @Operation(summary = "Get Books with pagination and sorting, streamed as they are read")
+    @GetMapping(value = "/books", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<BookDto> getAllBooks(
+            @Parameter(description = "paginate response")
+            @RequestParam(name = PAGINATION, defaultValue = TRUE)
+            Boolean pagination,
+
+            @Parameter(description = "page number")
+            @RequestParam(name = PAGE, defaultValue = "1")
+            @Min(value = 1, message = "Value of 'page' parameter must be positive and greater than zero!")
+            Integer page,
+
+            @Parameter(description = "count of objects per one page")
+            @RequestParam(name = SIZE, defaultValue = DEFAULT_SIZE)
+            @Min(value = 1, message = "Value of 'size' parameter must be positive and greater than zero!")
+            Integer size,
+
+            @Parameter(description = "Custom sort parameter. Try '/book/sorters' endpoint")
+            @RequestParam(name = SORT_BY, defaultValue = BOOK_ID)
+            String sortBy,
+
+            @Schema(allowableValues = {ASC, DESC})
+            @Parameter(description = "sorting order")
+            @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
+            @AllowableValues(values = {ASC, DESC}, message = "Value of 'orderType' parameter must be '" + ASC + "' or '"+ DESC + "'")
+            String orderType) {
+        return bookService.findAllBooks(sortBy, orderType, page, size, pagination);
+    }
+
+
+    @Operation(summary = "Get Books in special Genre")
+    @GetMapping(value = "/genre/{genreId}/books", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<BookDto> getAllBooksInGenre(
+            @Parameter(description = "existed Genre ID", required = true)
+            @PathVariable
+            Long genreId,
+
+            @Parameter(description = "paginate response")
+            @RequestParam(name = PAGINATION, defaultValue = TRUE)
+            Boolean pagination,
+
+            @Parameter(description = "page number")
+            @RequestParam(name = PAGE, defaultValue = "1")
+            @Min(value = 1, message = "Value of 'page' parameter must be positive and greater than zero!")
+            Integer page,
+
+            @Parameter(description = "count of objects per one page")
+            @RequestParam(name = SIZE, defaultValue = DEFAULT_SIZE)
+            @Min(value = 1, message = "Value of 'size' parameter must be positive and greater than zero!")
+            Integer size,
+
+            @Parameter(description = "Custom sort parameter. Try '/book/sorters' endpoint")
+            @RequestParam(name = SORT_BY, defaultValue = BOOK_ID)
+            String sortBy,
+
+            @Schema(allowableValues = {ASC, DESC})
+            @Parameter(description = "sorting order")
+            @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
+            @AllowableValues(values = {ASC, DESC}, message = "Value of 'orderType' parameter must be '" + ASC + "' or '"+ DESC + "'")
+            String orderType) {
+        return bookService.findBooksInGenre(genreId, sortBy, orderType, page, size, pagination);
+    }
+
+
+    @Operation(summary = "Get Books of special Author")
+    @GetMapping(value = "/author/{authorId}/books", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<BookDto> getAllAuthorBooks(
+            @Parameter(description = "existed Author ID", required = true)
+            @PathVariable
+            Long authorId,
+
+            @Parameter(description = "Custom sort parameter. Try '/book/sorters' endpoint")
+            @RequestParam(name = SORT_BY, defaultValue = BOOK_ID)
+            String sortBy,
+
+            @Schema(allowableValues = {ASC, DESC})
+            @Parameter(description = "sorting order")
+            @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
+            @AllowableValues(values = {ASC, DESC}, message = "Value of 'orderType' parameter must be '" + ASC + "' or '"+ DESC + "'")
+            String orderType) {
+        return bookService.findAuthorBooks(authorId, sortBy, orderType);
+    }
+
+
+    @Operation(summary = "Get Books of special Author in special Genre")
+    @GetMapping(value = "/author/{authorId}/genre/{genreId}/books", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<BookDto> getAllAuthorBooksInGenre(
+            @Parameter(description = "existed Author ID", required = true)
+            @PathVariable
+            Long authorId,
+
+            @Parameter(description = "existed Genre ID", required = true)
+            @PathVariable
+            Long genreId) {
+        return bookService.findBooksOfAuthorInGenre(authorId, genreId);
+    }
+
+
+    @Operation(summary = "Get available sorters for for Book")
+    @GetMapping(value = "/book/sorters", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<SortByPropertiesDto> getSortByValues() {
+        return bookService.getSortByParameterValues();
+    }
+
+
+    @Operation(summary = "Create new Book")
+    @ResponseStatus(value = HttpStatus.CREATED)
+    @PostMapping(value = "/book", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<BookDto> addNewBook(
+            @Parameter(description = "existed Author ID", required = true)
+            @RequestParam
+            Long authorId,
+
+            @Parameter(description = "existed Genre ID", required = true)
+            @RequestParam
+            Long genreId,
+
+            @Parameter(description = "Book to add", name = "Book object", required = true)
+            @RequestBody @Validated
+            BookWithoutIdDto newBook) {
+        return bookService.addNewBook(authorId, genreId, newBook);
+    }
+
+
+    @Operation(summary = "Update existed Book")
+    @PutMapping(value = "/book/{bookId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<BookDto> updateBook(
+            @Parameter(description = "existed Book ID", required = true)
+            @PathVariable
+            Long bookId,
+
+            @Parameter(description = "Book to update", name = "Book object", required = true)
+            @RequestBody @Validated BookWithoutIdDto updatedBook) {
+        return bookService.updateExistedBook(bookId, updatedBook);
+    }
+
+
+    @Operation(summary = "Delete existed Book")
+    @ResponseStatus(value = HttpStatus.NO_CONTENT)
+    @DeleteMapping(value = "/book/{bookId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Void> deleteBook(
+            @Parameter(description = "existed Book ID", required = true)
+            @PathVariable Long bookId) {
+        return bookService.deleteExistedBook(bookId);
+    }
+}
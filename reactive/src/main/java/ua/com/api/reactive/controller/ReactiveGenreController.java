@@ -0,0 +1,158 @@
+package ua.com.api.reactive.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ua.com.api.entity.dto.LookupResultDto;
+import ua.com.api.entity.dto.SortByPropertiesDto;
+import ua.com.api.entity.dto.genre.GenreDto;
+import ua.com.api.entity.dto.genre.GenreWithoutIdDto;
+import ua.com.api.reactive.service.ReactiveGenreService;
+import ua.com.api.service.util.annotation.AllowableValues;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static ua.com.api.service.constants.Constants.*;
+
+@RestController
+@RequestMapping("${server.base.url}")
+@Validated
+
+@Tag(name = "Genre", description = "Genre table endpoints")
+public class ReactiveGenreController {
+
+    @Autowired
+    private ReactiveGenreService genreService;
+
+    @Operation(summary = "Get one Genre object by it 'genreId'")
+    @GetMapping(value = "/genre/{genreId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<GenreDto> getGenre(
+            @Parameter(required = true, description = "existed Genre ID")
+            @PathVariable
+            Long genreId) {
+        return genreService.findGenre(genreId);
+    }
+
+    @Operation(summary = "Get many Genre objects by list of 'genreId' with one query")
+    @GetMapping(value = "/genres/lookup", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<LookupResultDto<GenreDto>> getGenres(
+            @Parameter(description = "IDs of Genres separated by comma, up to " + BATCH_MAX_SIZE, required = true)
+            @RequestParam(name = IDS)
+            @NotEmpty(message = "Value of '" + IDS + "' parameter cannot be empty!")
+            @Size(max = BATCH_MAX_SIZE, message = "Value of '" + IDS + "' parameter cannot contain more than " + BATCH_MAX_SIZE + " IDs!")
+            List<Long> ids) {
+        return genreService.findGenres(ids);
+    }
+
+    @Operation(summary = "Get Genre of Book by 'bookId'")
+    @GetMapping(value = "book/{bookId}/genre", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<GenreDto> getBookGenre(
+            @Parameter(required = true, description = "existed Book ID")
+            @PathVariable
+            @Min(value = 0, message = "Value of 'bookId' parameter must be positive!")
+            Long bookId) {
+        return genreService.findGenreOfBook(bookId);
+    }
+
+    @Operation(summary = "Get Genres with pagination and sorting, streamed as they are read")
+    @GetMapping(value = "/genres", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<GenreDto> getAllGenres(
+            @Parameter(description = "paginate response")
+            @RequestParam(name = PAGINATION, defaultValue = TRUE)
+            Boolean pagination,
+
+            @Schema(allowableValues = {ASC, DESC})
+            @Parameter(description = "sorting order")
+            @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
+            @AllowableValues(values = {ASC, DESC}, message = "Value of '" + ORDER_TYPE + "' parameter must be '" + ASC + "' or '" + DESC + "'")
+            String orderType,
+
+            @Parameter(description = "Custom sort parameter. Try '/genre/sorters' endpoint")
+            @RequestParam(name = SORT_BY, defaultValue = GENRE_ID)
+            String sortBy,
+
+            @Parameter(description = "page number")
+            @RequestParam(name = PAGE, defaultValue = "1")
+            @Min(value = 1, message = "Value of 'page' parameter must be positive and greater than zero!")
+            Integer page,
+
+            @Parameter(description = "count of objects per one page")
+            @RequestParam(name = SIZE, defaultValue = DEFAULT_SIZE)
+            @Min(value = 1, message = "Value of '" + SIZE + "' parameter must be positive and greater than zero!")
+            Integer size) {
+        return genreService.findAllGenres(sortBy, orderType, page, size, pagination);
+    }
+
+    @Operation(summary = "Get Genres of Author's Books")
+    @GetMapping(value = "/author/{authorId}/genres", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<GenreDto> getAllAuthorGenres(
+            @Parameter(required = true, description = "existed Author ID")
+            @PathVariable
+            Long authorId,
+
+            @Schema(allowableValues = {ASC, DESC})
+            @Parameter(description = "sorting order")
+            @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
+            @AllowableValues(values = {ASC, DESC}, message = "Value of '" + ORDER_TYPE + "' parameter must be '" + ASC + "' or '" + DESC + "'")
+            String orderType,
+
+            @Parameter(description = "custom sort parameter, try '/genre/sorters' endpoint")
+            @RequestParam(name = SORT_BY, defaultValue = GENRE_ID)
+            String sortBy) {
+        return genreService.findAllGenresOfAuthor(authorId, sortBy, orderType);
+    }
+
+    @Operation(summary = "Get all available values of 'sortBy' parameter")
+    @GetMapping(value = "/genre/sorters", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<SortByPropertiesDto> getSortByValues() {
+        return genreService.getSortByParameterValues();
+    }
+
+    @Operation(summary = "Create new Genre")
+    @ResponseStatus(value = HttpStatus.CREATED)
+    @PostMapping(value = "/genre", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<GenreDto> addNewGenre(
+            @Parameter(required = true, description = "Genre to add", name = "Genre object")
+            @RequestBody @Validated
+            GenreWithoutIdDto postGenre) {
+        return genreService.addNewGenre(postGenre);
+    }
+
+    @Operation(summary = "Update existed Genre")
+    @PutMapping(value = "/genre/{genreId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<GenreDto> updateGenre(
+            @Parameter(description = "existed Genre ID", required = true)
+            @PathVariable
+            Long genreId,
+
+            @Parameter(required = true, description = "Genre to update", name = "Genre object")
+            @RequestBody @Validated
+            GenreWithoutIdDto updateGenre) {
+        return genreService.updateExistedGenre(genreId, updateGenre);
+    }
+
+    @Operation(summary = "Delete existed Genre")
+    @ResponseStatus(value = HttpStatus.NO_CONTENT)
+    @DeleteMapping(value = "/genre/{genreId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Void> deleteGenre(
+            @Parameter(required = true, description = "existed Genre ID")
+            @PathVariable
+            Long genreId,
+
+            @Parameter(description = "if false and Genre has related Books, it will produce fault")
+            @RequestParam(name = FORCIBLY, defaultValue = FALSE)
+            Boolean forcibly) {
+        return genreService.deleteExistedGenre(genreId, forcibly);
+    }
+}
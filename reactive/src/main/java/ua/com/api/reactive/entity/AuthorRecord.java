@@ -0,0 +1,101 @@
+package ua.com.api.reactive.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+import ua.com.api.entity.Author;
+
+import java.time.LocalDate;
+
+/**
+ * Row of 'author' table. Properties are named as in {@link Author}, so 'sortBy' values of shared
+ * {@link ua.com.api.service.sort.SortRegistry} are valid sorts of R2DBC queries.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+
+@Table("author")
+public class AuthorRecord {
+
+    @Id
+    @Column("author_id")
+    private Long authorId;
+
+    @Column("first_name")
+    private String firstName;
+
+    @Column("last_name")
+    private String lastName;
+
+    @Column("full_name")
+    private String fullName;
+
+    @Column("description")
+    private String description;
+
+    @Column("nationality")
+    private String nationality;
+
+    @Column("birth_date")
+    private LocalDate birthDate;
+
+    @Column("birth_country")
+    private String birthCountry;
+
+    @Column("birth_city")
+    private String birthCity;
+
+    @Version
+    @Column("version")
+    private Long version;
+
+    /**
+     * Changed only by bulk updates of ReactiveBookService together with Books of Author.
+     */
+    @ReadOnlyProperty
+    @Column("books_count")
+    private Long booksCount;
+
+    public static AuthorRecord of(Author author) {
+        AuthorRecord record = new AuthorRecord();
+        record.copyFrom(author);
+        record.setBooksCount(author.getBooksCount());
+        return record;
+    }
+
+    /**
+     * Copies properties set by API, ID, version and Books count are kept.
+     */
+    public void copyFrom(Author author) {
+        firstName = author.getFirstName();
+        lastName = author.getLastName();
+        fullName = author.getFullName();
+        description = author.getDescription();
+        nationality = author.getNationality();
+        birthDate = author.getBirthDate();
+        birthCountry = author.getBirthCountry();
+        birthCity = author.getBirthCity();
+    }
+
+    public Author toModel() {
+        Author author = new Author();
+        author.setAuthorId(authorId);
+        author.setFirstName(firstName);
+        author.setLastName(lastName);
+        author.setFullName(fullName);
+        author.setDescription(description);
+        author.setNationality(nationality);
+        author.setBirthDate(birthDate);
+        author.setBirthCountry(birthCountry);
+        author.setBirthCity(birthCity);
+        author.setVersion(version);
+        author.setBooksCount(booksCount);
+        return author;
+    }
+}
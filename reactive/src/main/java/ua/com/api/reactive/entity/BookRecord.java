@@ -0,0 +1,97 @@
+package ua.com.api.reactive.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+import ua.com.api.entity.Book;
+import ua.com.api.repository.projection.BookRow;
+
+/**
+ * Row of 'book' table with IDs of Author and Genre instead of relations. Properties are named as in {@link Book},
+ * so 'sortBy' values of shared {@link ua.com.api.service.sort.SortRegistry} are valid sorts of R2DBC queries.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+
+@Table("book")
+public class BookRecord {
+
+    @Id
+    @Column("book_id")
+    private Long bookId;
+
+    @Column("book_name")
+    private String bookName;
+
+    @Column("book_language")
+    private String bookLanguage;
+
+    @Column("book_description")
+    private String bookDescription;
+
+    @Column("pages_count")
+    private Integer pagesCount;
+
+    @Column("book_height")
+    private Double bookHeight;
+
+    @Column("book_width")
+    private Double bookWidth;
+
+    @Column("book_length")
+    private Double bookLength;
+
+    @Column("book_volume")
+    private Double volume;
+
+    @Column("book_square")
+    private Double square;
+
+    @Column("publication_year")
+    private Integer publicationYear;
+
+    @Column("author_id")
+    private Long authorId;
+
+    @Column("genre_id")
+    private Long genreId;
+
+    @Version
+    @Column("version")
+    private Long version;
+
+    public static BookRecord of(Book book, long authorId, long genreId) {
+        BookRecord record = new BookRecord();
+        record.copyFrom(book);
+        record.setAuthorId(authorId);
+        record.setGenreId(genreId);
+        return record;
+    }
+
+    /**
+     * Copies properties set by API and recalculates volume and square as {@link Book} does before every write.
+     */
+    public void copyFrom(Book book) {
+        bookName = book.getBookName();
+        bookLanguage = book.getBookLanguage();
+        bookDescription = book.getBookDescription();
+        pagesCount = book.getPagesCount();
+        bookHeight = book.getBookHeight();
+        bookWidth = book.getBookWidth();
+        bookLength = book.getBookLength();
+        publicationYear = book.getPublicationYear();
+
+        volume = bookHeight == null || bookWidth == null || bookLength == null ? null : bookHeight * bookWidth * bookLength;
+        square = bookWidth == null || bookLength == null ? null : bookWidth * bookLength;
+    }
+
+    public BookRow toRow() {
+        return new BookRow(bookId, bookName, bookDescription, bookLanguage, pagesCount, bookHeight, bookWidth,
+                bookLength, publicationYear);
+    }
+}
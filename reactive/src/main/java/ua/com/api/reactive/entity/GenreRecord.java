@@ -0,0 +1,69 @@
+package ua.com.api.reactive.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+import ua.com.api.entity.Genre;
+
+/**
+ * Row of 'genre' table. Properties are named as in {@link Genre}, so 'sortBy' values of shared
+ * {@link ua.com.api.service.sort.SortRegistry} are valid sorts of R2DBC queries.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+
+@Table("genre")
+public class GenreRecord {
+
+    @Id
+    @Column("genre_id")
+    private Long genreId;
+
+    @Column("genre_name")
+    private String genreName;
+
+    @Column("genre_description")
+    private String description;
+
+    @Version
+    @Column("version")
+    private Long version;
+
+    /**
+     * Changed only by bulk updates of ReactiveBookService together with Books of Genre.
+     */
+    @ReadOnlyProperty
+    @Column("books_count")
+    private Long booksCount;
+
+    public static GenreRecord of(Genre genre) {
+        GenreRecord record = new GenreRecord();
+        record.copyFrom(genre);
+        record.setBooksCount(genre.getBooksCount());
+        return record;
+    }
+
+    /**
+     * Copies properties set by API, ID, version and Books count are kept.
+     */
+    public void copyFrom(Genre genre) {
+        genreName = genre.getGenreName();
+        description = genre.getDescription();
+    }
+
+    public Genre toModel() {
+        Genre genre = new Genre();
+        genre.setGenreId(genreId);
+        genre.setGenreName(genreName);
+        genre.setDescription(description);
+        genre.setVersion(version);
+        genre.setBooksCount(booksCount);
+        return genre;
+    }
+}
@@ -0,0 +1,132 @@
+package ua.com.api.reactive.exception;
+
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+import ua.com.api.exception.entity.InvalidSortByParameterValueException;
+import ua.com.api.exception.entity.author.AuthorAlreadyExistsException;
+import ua.com.api.exception.entity.author.AuthorNotFoundException;
+import ua.com.api.exception.entity.author.BooksInAuthorArePresentException;
+import ua.com.api.exception.entity.book.BookAlreadyExistsException;
+import ua.com.api.exception.entity.book.BookNotFoundException;
+import ua.com.api.exception.entity.genre.BooksInGenreArePresentException;
+import ua.com.api.exception.entity.genre.GenreAlreadyExistsException;
+import ua.com.api.exception.entity.genre.GenreNotFoundException;
+import ua.com.api.exception.model.ExceptionResponse;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Same statuses and messages as the servlet API handler, for exceptions which are signaled by reactive services.
+ */
+@RestControllerAdvice(basePackages = "ua.com.api.reactive")
+public class ReactiveExceptionHandler {
+
+    private String generateDate() {
+        SimpleDateFormat formatter = new SimpleDateFormat("HH:mm:ss.SSS dd-MM-yyyy");
+        return formatter.format(new Date());
+    }
+
+    private ResponseEntity<ExceptionResponse> response(HttpStatus status, String message) {
+        return new ResponseEntity<>(
+                new ExceptionResponse(
+                        generateDate(),
+                        status.value(),
+                        status.getReasonPhrase(),
+                        message),
+                status);
+    }
+
+    @ExceptionHandler(value = ConstraintViolationException.class)
+    public ResponseEntity<ExceptionResponse> handleConstrainViolationError(ConstraintViolationException cve) {
+        Optional<ConstraintViolation<?>> err = cve.getConstraintViolations().stream().findAny();
+        String message = err.isPresent() ? err.get().getMessage() : cve.getLocalizedMessage();
+        return response(HttpStatus.BAD_REQUEST, message);
+    }
+
+    @ExceptionHandler(value = WebExchangeBindException.class)
+    public ResponseEntity<ExceptionResponse> handleBodyNotValid(WebExchangeBindException webe) {
+        String message = webe.getFieldErrors()
+                .stream()
+                .map(DefaultMessageSourceResolvable::getDefaultMessage)
+                .findFirst()
+                .orElse(webe.getReason());
+        return response(HttpStatus.BAD_REQUEST, message);
+    }
+
+    /**
+     * Missing or mistyped parameters and unreadable bodies.
+     */
+    @ExceptionHandler(value = ServerWebInputException.class)
+    public ResponseEntity<ExceptionResponse> handleInvalidInput(ServerWebInputException swie) {
+        return response(HttpStatus.BAD_REQUEST, swie.getReason());
+    }
+
+    @ExceptionHandler(value = InvalidSortByParameterValueException.class)
+    public ResponseEntity<ExceptionResponse> handleNoSuchSortByParam(InvalidSortByParameterValueException nssbpe) {
+        return response(HttpStatus.BAD_REQUEST, nssbpe.getErrorMessage());
+    }
+
+    @ExceptionHandler(value = AuthorNotFoundException.class)
+    public ResponseEntity<ExceptionResponse> handleAuthorNotFound(AuthorNotFoundException enfe) {
+        String message = "Author with 'authorId' = '%d' doesn't exist!";
+        return response(HttpStatus.NOT_FOUND, String.format(message, enfe.getAuthorId()));
+    }
+
+    @ExceptionHandler(value = BookNotFoundException.class)
+    public ResponseEntity<ExceptionResponse> handleBookNotFound(BookNotFoundException bnfe) {
+        String message = "Book with 'bookId' = '%d' doesn't exist!";
+        return response(HttpStatus.NOT_FOUND, String.format(message, bnfe.getBookId()));
+    }
+
+    @ExceptionHandler(value = GenreNotFoundException.class)
+    public ResponseEntity<ExceptionResponse> handleGenreNotFound(GenreNotFoundException gnfe) {
+        String message = "Genre with 'genreId' = '%d' doesn't exist!";
+        return response(HttpStatus.NOT_FOUND, String.format(message, gnfe.getGenreId()));
+    }
+
+    @ExceptionHandler(value = AuthorAlreadyExistsException.class)
+    public ResponseEntity<ExceptionResponse> handleAuthorConflict() {
+        return response(HttpStatus.CONFLICT, "Author with such name already exists!");
+    }
+
+    @ExceptionHandler(value = GenreAlreadyExistsException.class)
+    public ResponseEntity<ExceptionResponse> handleGenreConflict() {
+        return response(HttpStatus.CONFLICT, "Genre with such name already exists!");
+    }
+
+    @ExceptionHandler(value = BookAlreadyExistsException.class)
+    public ResponseEntity<ExceptionResponse> handleBookConflict() {
+        return response(HttpStatus.CONFLICT, "Book with such name and description already exists!");
+    }
+
+    @ExceptionHandler(value = OptimisticLockingFailureException.class)
+    public ResponseEntity<ExceptionResponse> handleConcurrentUpdate() {
+        return response(HttpStatus.CONFLICT, "Object was changed by another request, get it again and repeat update!");
+    }
+
+    @ExceptionHandler(value = BooksInAuthorArePresentException.class)
+    public ResponseEntity<ExceptionResponse> handleBooksIsPresent(BooksInAuthorArePresentException biaip) {
+        long booksCount = biaip.getBooksCount();
+        String b = booksCount == 1 ? " book! " : " books! ";
+        String message = "Author with 'authorId' = '%d' has '%d'" + b + "To delete - set 'forcibly' parameter to 'true'!";
+        return response(HttpStatus.BAD_REQUEST, String.format(message, biaip.getAuthorId(), booksCount));
+    }
+
+    @ExceptionHandler(value = BooksInGenreArePresentException.class)
+    public ResponseEntity<ExceptionResponse> handleBooksInGenreArePresent(BooksInGenreArePresentException bigap) {
+        long booksCount = bigap.getBooksCount();
+        String b = booksCount == 1 ? " book! " : " books! ";
+        String message = "Genre with 'genreId' = '%d' has '%d'" + b + "To delete - set 'forcibly' parameter to 'true'!";
+        return response(HttpStatus.BAD_REQUEST, String.format(message, bigap.getGenreId(), booksCount));
+    }
+}
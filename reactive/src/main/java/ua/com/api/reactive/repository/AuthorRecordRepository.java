@@ -0,0 +1,40 @@
+package ua.com.api.reactive.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ua.com.api.reactive.entity.AuthorRecord;
+
+import java.util.Collection;
+
+@Repository
+public interface AuthorRecordRepository extends R2dbcRepository<AuthorRecord, Long> {
+
+    Flux<AuthorRecord> findAllBy(Pageable pageable);
+
+    Flux<AuthorRecord> findAllByAuthorIdIn(Collection<Long> authorIds, Sort sort);
+
+    Flux<AuthorRecord> findAllByAuthorIdIn(Collection<Long> authorIds, Pageable pageable);
+
+    Mono<Boolean> existsByFullName(String fullName);
+
+    Mono<Boolean> existsByFullNameAndAuthorIdNot(String fullName, Long authorId);
+
+    @Modifying
+    @Query("UPDATE author SET books_count = books_count + :delta WHERE author_id = :authorId")
+    Mono<Integer> addToBooksCount(Long authorId, long delta);
+
+    /**
+     * Subtracts Books of the Genre from counters of their Authors, called before the Genre and its Books are deleted.
+     */
+    @Modifying
+    @Query("UPDATE author a SET books_count = books_count - " +
+            "(SELECT COUNT(*) FROM book b WHERE b.author_id = a.author_id AND b.genre_id = :genreId) " +
+            "WHERE a.author_id IN (SELECT b.author_id FROM book b WHERE b.genre_id = :genreId)")
+    Mono<Integer> subtractBooksOfGenre(Long genreId);
+}
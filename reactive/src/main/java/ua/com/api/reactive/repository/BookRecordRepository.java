@@ -0,0 +1,43 @@
+package ua.com.api.reactive.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ua.com.api.reactive.entity.BookRecord;
+
+@Repository
+public interface BookRecordRepository extends R2dbcRepository<BookRecord, Long> {
+
+    Flux<BookRecord> findAllBy(Pageable pageable);
+
+    Flux<BookRecord> findAllByGenreId(Long genreId, Pageable pageable);
+
+    Flux<BookRecord> findAllByGenreId(Long genreId, Sort sort);
+
+    Flux<BookRecord> findAllByAuthorId(Long authorId, Sort sort);
+
+    Flux<BookRecord> findAllByAuthorIdAndGenreId(Long authorId, Long genreId);
+
+    @Query("SELECT DISTINCT author_id FROM book WHERE genre_id = :genreId")
+    Flux<Long> findAuthorIdsOfGenre(Long genreId);
+
+    @Query("SELECT DISTINCT genre_id FROM book WHERE author_id = :authorId")
+    Flux<Long> findGenreIdsOfAuthor(Long authorId);
+
+    Mono<Boolean> existsByBookNameAndBookDescription(String bookName, String bookDescription);
+
+    Mono<Boolean> existsByBookNameAndBookDescriptionAndBookIdNot(String bookName, String bookDescription, Long bookId);
+
+    @Modifying
+    @Query("DELETE FROM book WHERE author_id = :authorId")
+    Mono<Integer> deleteAllOfAuthor(Long authorId);
+
+    @Modifying
+    @Query("DELETE FROM book WHERE genre_id = :genreId")
+    Mono<Integer> deleteAllOfGenre(Long genreId);
+}
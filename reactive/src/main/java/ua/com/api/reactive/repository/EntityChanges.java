@@ -0,0 +1,166 @@
+package ua.com.api.reactive.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ua.com.api.entity.listener.ExternalChangesPoller;
+import ua.com.api.service.version.Versions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static ua.com.api.entity.listener.ExternalChangesPoller.AUTHOR;
+import static ua.com.api.entity.listener.ExternalChangesPoller.BOOK;
+import static ua.com.api.entity.listener.ExternalChangesPoller.GENRE;
+import static ua.com.api.service.version.Versions.AUTHORS;
+import static ua.com.api.service.version.Versions.BOOKS;
+import static ua.com.api.service.version.Versions.BOOKS_OF_AUTHOR;
+import static ua.com.api.service.version.Versions.BOOKS_OF_GENRE;
+import static ua.com.api.service.version.Versions.GENRES;
+
+/**
+ * Records IDs of changed rows into 'entity_change' table ('V7__entity_changes.sql'), so the servlet API applies them
+ * to its search and facet indexes and 2nd-level cache, see {@link ExternalChangesPoller}, and advances versions of
+ * changed collections in 'collection_version' table ('V8__collection_versions.sql'), read as ETags of listings, see
+ * {@link Versions}. Must be called in the transaction of the change after books counters are changed, rows of deleted
+ * Books - before they are deleted. Versions are advanced in ascending order of collection names like servlet API does.
+ */
+@Repository
+public class EntityChanges {
+    private static final String INSERT = "INSERT INTO entity_change (entity, entity_id) ";
+    private static final String ADVANCE = "UPDATE collection_version SET version = version + 1 WHERE collection ";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public EntityChanges(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Void> changed(String entity, long id) {
+        return databaseClient.sql(INSERT + "VALUES (:entity, :id)")
+                .bind("entity", entity)
+                .bind("id", id)
+                .then();
+    }
+
+    public Mono<Void> authorCreated(long authorId) {
+        return changed(AUTHOR, authorId)
+                .then(databaseClient.sql("INSERT INTO collection_version (collection) VALUES (:collection)")
+                        .bind("collection", BOOKS_OF_AUTHOR + authorId)
+                        .then())
+                .then(advanced(AUTHORS));
+    }
+
+    public Mono<Void> authorUpdated(long authorId) {
+        return changed(AUTHOR, authorId)
+                .then(advanced(AUTHORS));
+    }
+
+    public Mono<Void> genreCreated(long genreId) {
+        return changed(GENRE, genreId)
+                .then(databaseClient.sql("INSERT INTO collection_version (collection) VALUES (:collection)")
+                        .bind("collection", BOOKS_OF_GENRE + genreId)
+                        .then())
+                .then(advanced(GENRES));
+    }
+
+    public Mono<Void> genreUpdated(long genreId) {
+        return changed(GENRE, genreId)
+                .then(advanced(GENRES));
+    }
+
+    /**
+     * Created or deleted Book, counters of its Author and Genre are changed too. Author or Genre may be missing for rows
+     * written bypassing the API, then only the Book and the collections it is in are recorded.
+     */
+    public Mono<Void> bookChanged(long bookId, Long authorId, Long genreId) {
+        return changed(BOOK, bookId)
+                .then(authorId != null ? changed(AUTHOR, authorId) : Mono.empty())
+                .then(genreId != null ? changed(GENRE, genreId) : Mono.empty())
+                .then(advanced(collectionsOf(authorId, genreId, AUTHORS, BOOKS, GENRES)));
+    }
+
+    public Mono<Void> bookUpdated(long bookId, Long authorId, Long genreId) {
+        return changed(BOOK, bookId)
+                .then(advanced(collectionsOf(authorId, genreId, BOOKS)));
+    }
+
+    /**
+     * Deleted Author with its Books and Genres whose counters they change.
+     */
+    public Mono<Void> authorRemoved(long authorId) {
+        return booksOfAuthorChanged(authorId)
+                .then(changed(AUTHOR, authorId))
+                .then(advanced(AUTHORS, BOOKS))
+                .then(databaseClient.sql("DELETE FROM collection_version WHERE collection = :collection")
+                        .bind("collection", BOOKS_OF_AUTHOR + authorId)
+                        .then())
+                .then(executed(ADVANCE + "IN (SELECT DISTINCT CONCAT('" + BOOKS_OF_GENRE + "', genre_id) FROM book " +
+                        "WHERE author_id = :id)", authorId))
+                .then(advanced(GENRES));
+    }
+
+    /**
+     * Deleted Genre with its Books and Authors whose counters they change.
+     */
+    public Mono<Void> genreRemoved(long genreId) {
+        return booksOfGenreChanged(genreId)
+                .then(changed(GENRE, genreId))
+                .then(advanced(AUTHORS, BOOKS))
+                .then(executed(ADVANCE + "IN (SELECT DISTINCT CONCAT('" + BOOKS_OF_AUTHOR + "', author_id) FROM book " +
+                        "WHERE genre_id = :id)", genreId))
+                .then(databaseClient.sql("DELETE FROM collection_version WHERE collection = :collection")
+                        .bind("collection", BOOKS_OF_GENRE + genreId)
+                        .then())
+                .then(advanced(GENRES));
+    }
+
+    /**
+     * Books of the Author and Genres whose counters they change.
+     */
+    private Mono<Void> booksOfAuthorChanged(long authorId) {
+        return executed(INSERT + "SELECT '" + BOOK + "', book_id FROM book WHERE author_id = :id", authorId)
+                .then(executed(INSERT + "SELECT DISTINCT '" + GENRE + "', genre_id FROM book WHERE author_id = :id", authorId));
+    }
+
+    /**
+     * Books of the Genre and Authors whose counters they change.
+     */
+    private Mono<Void> booksOfGenreChanged(long genreId) {
+        return executed(INSERT + "SELECT '" + BOOK + "', book_id FROM book WHERE genre_id = :id", genreId)
+                .then(executed(INSERT + "SELECT DISTINCT '" + AUTHOR + "', author_id FROM book WHERE genre_id = :id", genreId));
+    }
+
+    private static List<String> collectionsOf(Long authorId, Long genreId, String... collections) {
+        List<String> result = new ArrayList<>(List.of(collections));
+        if (authorId != null) {
+            result.add(BOOKS_OF_AUTHOR + authorId);
+        }
+        if (genreId != null) {
+            result.add(BOOKS_OF_GENRE + genreId);
+        }
+        return result;
+    }
+
+    private Mono<Void> advanced(String... collections) {
+        return advanced(List.of(collections));
+    }
+
+    private Mono<Void> advanced(List<String> collections) {
+        return Flux.fromIterable(new TreeSet<>(collections))
+                .concatMap(collection -> databaseClient.sql(ADVANCE + "= :collection")
+                        .bind("collection", collection)
+                        .then())
+                .then();
+    }
+
+    private Mono<Void> executed(String sql, long id) {
+        return databaseClient.sql(sql)
+                .bind("id", id)
+                .then();
+    }
+}
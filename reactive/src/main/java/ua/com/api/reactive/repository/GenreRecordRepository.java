@@ -0,0 +1,38 @@
+package ua.com.api.reactive.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ua.com.api.reactive.entity.GenreRecord;
+
+import java.util.Collection;
+
+@Repository
+public interface GenreRecordRepository extends R2dbcRepository<GenreRecord, Long> {
+
+    Flux<GenreRecord> findAllBy(Pageable pageable);
+
+    Flux<GenreRecord> findAllByGenreIdIn(Collection<Long> genreIds, Sort sort);
+
+    Mono<Boolean> existsByGenreName(String genreName);
+
+    Mono<Boolean> existsByGenreNameAndGenreIdNot(String genreName, Long genreId);
+
+    @Modifying
+    @Query("UPDATE genre SET books_count = books_count + :delta WHERE genre_id = :genreId")
+    Mono<Integer> addToBooksCount(Long genreId, long delta);
+
+    /**
+     * Subtracts Books of the Author from counters of their Genres, called before the Author and its Books are deleted.
+     */
+    @Modifying
+    @Query("UPDATE genre g SET books_count = books_count - " +
+            "(SELECT COUNT(*) FROM book b WHERE b.genre_id = g.genre_id AND b.author_id = :authorId) " +
+            "WHERE g.genre_id IN (SELECT b.genre_id FROM book b WHERE b.author_id = :authorId)")
+    Mono<Integer> subtractBooksOfAuthor(Long authorId);
+}
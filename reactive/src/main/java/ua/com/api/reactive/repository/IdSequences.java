@@ -0,0 +1,45 @@
+package ua.com.api.reactive.repository;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * IDs from the same sequences Hibernate of the servlet API uses ('V4__id_sequences.sql'), so both APIs can write
+ * to one database. Every sequence call reserves 50 IDs for pooled optimizer, only the first of them is used here.
+ */
+@Repository
+public class IdSequences {
+    public static final String AUTHOR_SEQ = "author_seq";
+    public static final String GENRE_SEQ = "genre_seq";
+    public static final String BOOK_SEQ = "book_seq";
+
+    private static final int INCREMENT = 50;
+
+    private final DatabaseClient databaseClient;
+    private final boolean mysql;
+
+    @Autowired
+    public IdSequences(DatabaseClient databaseClient, ConnectionFactory connectionFactory) {
+        this.databaseClient = databaseClient;
+        this.mysql = connectionFactory.getMetadata().getName().toLowerCase().contains("mysql");
+    }
+
+    public Mono<Long> next(String sequence) {
+        if (!mysql) {
+            return databaseClient.sql("SELECT NEXT VALUE FOR " + sequence)
+                    .map(row -> row.get(0, Long.class))
+                    .one();
+        }
+
+        // MySQL has no sequences, Hibernate emulates them with one-row tables
+        return databaseClient.inConnection(connection ->
+                Mono.from(connection.createStatement("UPDATE " + sequence
+                                + " SET next_val = LAST_INSERT_ID(next_val + " + INCREMENT + ")").execute())
+                        .flatMap(result -> Mono.from(result.getRowsUpdated()))
+                        .then(Mono.from(connection.createStatement("SELECT LAST_INSERT_ID() - " + INCREMENT).execute()))
+                        .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, Long.class)))));
+    }
+}
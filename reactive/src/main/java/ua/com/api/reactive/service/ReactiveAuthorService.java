@@ -0,0 +1,136 @@
+package ua.com.api.reactive.service;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ua.com.api.entity.Author;
+import ua.com.api.entity.dto.LookupResultDto;
+import ua.com.api.entity.dto.SortByPropertiesDto;
+import ua.com.api.entity.dto.author.AuthorDto;
+import ua.com.api.entity.dto.author.AuthorWithoutIdDto;
+import ua.com.api.exception.entity.author.AuthorAlreadyExistsException;
+import ua.com.api.exception.entity.author.AuthorNotFoundException;
+import ua.com.api.exception.entity.author.BooksInAuthorArePresentException;
+import ua.com.api.exception.entity.book.BookNotFoundException;
+import ua.com.api.exception.entity.genre.GenreNotFoundException;
+import ua.com.api.reactive.entity.AuthorRecord;
+
+import java.util.List;
+
+import static ua.com.api.reactive.repository.IdSequences.AUTHOR_SEQ;
+
+@Service
+public class ReactiveAuthorService extends ReactiveBaseService {
+
+    private AuthorDto toDto(AuthorRecord record) {
+        return toDtoMapper.mapAuthorToAuthorDto(record.toModel());
+    }
+
+    public Mono<AuthorDto> findAuthor(long authorId) {
+        return authorRepository.findById(authorId)
+                .switchIfEmpty(Mono.error(() -> new AuthorNotFoundException(authorId)))
+                .map(this::toDto);
+    }
+
+    public Mono<LookupResultDto<AuthorDto>> findAuthors(List<Long> authorIds) {
+        return findAllByIds(authorIds, authorRepository::findAllById, AuthorRecord::getAuthorId, this::toDto);
+    }
+
+    public Mono<AuthorDto> findAuthorOfBook(long bookId) {
+        return bookRepository.findById(bookId)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException(bookId)))
+                .flatMap(book -> authorRepository.findById(book.getAuthorId()))
+                .map(this::toDto);
+    }
+
+    public Flux<SortByPropertiesDto> getSortByParameterValues() {
+        return Flux.fromIterable(getSortByParameterValues(Author.class));
+    }
+
+    public Flux<AuthorDto> findAllAuthors(String sortBy, String order, int page, int size, boolean pageable) {
+        Sort sorter = resolveSort(sortBy, order, Author.class);
+
+        Flux<AuthorRecord> authors = pageable
+                ? authorRepository.findAllBy(pageOf(page, size, sorter))
+                : authorRepository.findAll(sorter);
+
+        return authors.map(this::toDto);
+    }
+
+    /**
+     * IDs of Authors are selected from Books of the Genre first, then the page of Authors is selected by them.
+     */
+    public Flux<AuthorDto> findAllAuthorsInGenre(long genreId, String sortBy, String order, int page, int size, boolean pageable) {
+        Sort sorter = resolveSort(sortBy, order, Author.class);
+
+        return bookRepository.findAuthorIdsOfGenre(genreId)
+                .collectList()
+                .flatMapMany(authorIds -> {
+                    if (authorIds.isEmpty()) {
+                        return genreRepository.existsById(genreId)
+                                .flatMapMany(exists -> exists
+                                        ? Flux.<AuthorRecord>empty()
+                                        : Flux.<AuthorRecord>error(new GenreNotFoundException(genreId)));
+                    }
+                    return pageable
+                            ? authorRepository.findAllByAuthorIdIn(authorIds, pageOf(page, size, sorter))
+                            : authorRepository.findAllByAuthorIdIn(authorIds, sorter);
+                })
+                .map(this::toDto);
+    }
+
+    @Transactional
+    public Mono<AuthorDto> addNewAuthor(AuthorWithoutIdDto author) {
+        Author toPost = toModelMapper.mapAuthorWithoutIdDtoToAuthor(author);
+
+        return authorRepository.existsByFullName(toPost.getFullName())
+                .flatMap(exists -> exists
+                        ? Mono.<Long>error(new AuthorAlreadyExistsException())
+                        : idSequences.next(AUTHOR_SEQ))
+                .flatMap(authorId -> {
+                    AuthorRecord record = AuthorRecord.of(toPost);
+                    record.setAuthorId(authorId);
+                    return authorRepository.save(record)
+                            .flatMap(saved -> entityChanges.authorCreated(authorId).thenReturn(saved));
+                })
+                .map(this::toDto);
+    }
+
+    @Transactional
+    public Mono<AuthorDto> updateExistedAuthor(long authorId, AuthorWithoutIdDto author) {
+        Author updated = toModelMapper.mapAuthorWithoutIdDtoToAuthor(author);
+
+        return authorRepository.findById(authorId)
+                .switchIfEmpty(Mono.error(() -> new AuthorNotFoundException(authorId)))
+                .flatMap(toUpdate -> authorRepository.existsByFullNameAndAuthorIdNot(updated.getFullName(), authorId)
+                        .flatMap(exists -> {
+                            if (exists) {
+                                return Mono.error(new AuthorAlreadyExistsException());
+                            }
+                            toUpdate.copyFrom(updated);
+                            return authorRepository.save(toUpdate)
+                                    .flatMap(saved -> entityChanges.authorUpdated(authorId).thenReturn(saved));
+                        }))
+                .map(this::toDto);
+    }
+
+    @Transactional
+    public Mono<Void> deleteExistedAuthor(long authorId, boolean forcibly) {
+        return authorRepository.findById(authorId)
+                .switchIfEmpty(Mono.error(() -> new AuthorNotFoundException(authorId)))
+                .flatMap(toDelete -> {
+                    long booksCount = toDelete.getBooksCount();
+
+                    if (booksCount > 0 && !forcibly) {
+                        return Mono.error(new BooksInAuthorArePresentException(authorId, booksCount));
+                    }
+
+                    return genreRepository.subtractBooksOfAuthor(authorId)
+                            .then(entityChanges.authorRemoved(authorId))
+                            .then(bookRepository.deleteAllOfAuthor(authorId))
+                            .then(authorRepository.delete(toDelete));
+                });
+    }
+}
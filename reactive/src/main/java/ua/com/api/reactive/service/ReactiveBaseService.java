@@ -0,0 +1,97 @@
+package ua.com.api.reactive.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ua.com.api.entity.dto.LookupResultDto;
+import ua.com.api.entity.dto.SortByPropertiesDto;
+import ua.com.api.reactive.repository.AuthorRecordRepository;
+import ua.com.api.reactive.repository.BookRecordRepository;
+import ua.com.api.reactive.repository.EntityChanges;
+import ua.com.api.reactive.repository.GenreRecordRepository;
+import ua.com.api.reactive.repository.IdSequences;
+import ua.com.api.service.mapper.DtoToModelMapper;
+import ua.com.api.service.mapper.ModelToDtoMapper;
+import ua.com.api.service.sort.SortRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class ReactiveBaseService {
+
+    @Autowired
+    protected GenreRecordRepository genreRepository;
+
+    @Autowired
+    protected AuthorRecordRepository authorRepository;
+
+    @Autowired
+    protected BookRecordRepository bookRepository;
+
+    @Autowired
+    protected IdSequences idSequences;
+
+    @Autowired
+    protected EntityChanges entityChanges;
+
+    @Autowired
+    protected SortRegistry sortRegistry;
+
+    @Autowired
+    protected ModelToDtoMapper toDtoMapper;
+
+    @Autowired
+    protected DtoToModelMapper toModelMapper;
+
+    /**
+     * @param clazz servlet API entity, 'sortBy' values are registered for it
+     */
+    protected Sort resolveSort(String sortBy, String order, Class<?> clazz) {
+        return sortRegistry.resolve(clazz, sortBy).sort(Sort.Direction.fromString(order));
+    }
+
+    protected static PageRequest pageOf(int page, int size, Sort sorter) {
+        return PageRequest.of(page - 1, size, sorter);
+    }
+
+    protected List<SortByPropertiesDto> getSortByParameterValues(Class<?> clazz) {
+        return sortRegistry.sorters(clazz);
+    }
+
+    /**
+     * Loads records by ids with one IN query. Found records keep order of requested ids, repeated ids are returned once.
+     */
+    protected <T, D> Mono<LookupResultDto<D>> findAllByIds(List<Long> ids, Function<List<Long>, Flux<T>> loader,
+                                                          Function<T, Long> idOf, Function<T, D> mapper) {
+        List<Long> uniqueIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        if (uniqueIds.isEmpty()) {
+            return Mono.just(new LookupResultDto<>(List.of(), List.of()));
+        }
+
+        return loader.apply(uniqueIds)
+                .collectMap(idOf)
+                .map(loaded -> {
+                    List<D> found = new ArrayList<>(loaded.size());
+                    List<Long> missing = new ArrayList<>();
+
+                    for (Long id : uniqueIds) {
+                        T record = loaded.get(id);
+                        if (record == null) {
+                            missing.add(id);
+                        } else {
+                            found.add(mapper.apply(record));
+                        }
+                    }
+                    return new LookupResultDto<>(found, missing);
+                });
+    }
+}
@@ -0,0 +1,151 @@
+package ua.com.api.reactive.service;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ua.com.api.entity.Book;
+import ua.com.api.entity.dto.LookupResultDto;
+import ua.com.api.entity.dto.SortByPropertiesDto;
+import ua.com.api.entity.dto.book.BookDto;
+import ua.com.api.entity.dto.book.BookWithoutIdDto;
+import ua.com.api.exception.entity.author.AuthorNotFoundException;
+import ua.com.api.exception.entity.book.BookAlreadyExistsException;
+import ua.com.api.exception.entity.book.BookNotFoundException;
+import ua.com.api.exception.entity.genre.GenreNotFoundException;
+import ua.com.api.reactive.entity.BookRecord;
+
+import java.util.List;
+
+import static ua.com.api.reactive.repository.IdSequences.BOOK_SEQ;
+
+@Service
+public class ReactiveBookService extends ReactiveBaseService {
+
+    private BookDto toDto(BookRecord record) {
+        return toDtoMapper.mapBookRowToBookDto(record.toRow());
+    }
+
+    public Mono<BookDto> findBook(long bookId) {
+        return bookRepository.findById(bookId)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException(bookId)))
+                .map(this::toDto);
+    }
+
+    public Mono<LookupResultDto<BookDto>> findBooks(List<Long> bookIds) {
+        return findAllByIds(bookIds, bookRepository::findAllById, BookRecord::getBookId, this::toDto);
+    }
+
+    public Flux<BookDto> findAllBooks(String sortBy, String order, int page, int size, boolean pageable) {
+        Sort sorter = resolveSort(sortBy, order, Book.class);
+
+        Flux<BookRecord> books = pageable
+                ? bookRepository.findAllBy(pageOf(page, size, sorter))
+                : bookRepository.findAll(sorter);
+
+        return books.map(this::toDto);
+    }
+
+    public Flux<BookDto> findBooksInGenre(long genreId, String sortBy, String order, int page, int size, boolean pageable) {
+        Sort sorter = resolveSort(sortBy, order, Book.class);
+
+        Flux<BookRecord> books = pageable
+                ? bookRepository.findAllByGenreId(genreId, pageOf(page, size, sorter))
+                : bookRepository.findAllByGenreId(genreId, sorter);
+
+        return books.switchIfEmpty(genreRepository.existsById(genreId)
+                        .flatMapMany(exists -> exists
+                                ? Flux.<BookRecord>empty()
+                                : Flux.<BookRecord>error(new GenreNotFoundException(genreId))))
+                .map(this::toDto);
+    }
+
+    public Flux<BookDto> findAuthorBooks(long authorId, String sortBy, String order) {
+        Sort sorter = resolveSort(sortBy, order, Book.class);
+
+        return bookRepository.findAllByAuthorId(authorId, sorter)
+                .switchIfEmpty(authorRepository.existsById(authorId)
+                        .flatMapMany(exists -> exists
+                                ? Flux.<BookRecord>empty()
+                                : Flux.<BookRecord>error(new AuthorNotFoundException(authorId))))
+                .map(this::toDto);
+    }
+
+    public Flux<BookDto> findBooksOfAuthorInGenre(long authorId, long genreId) {
+        Mono<Void> checkExist = authorRepository.existsById(authorId)
+                .flatMap(authorExists -> authorExists
+                        ? genreRepository.existsById(genreId)
+                        : Mono.<Boolean>error(new AuthorNotFoundException(authorId)))
+                .flatMap(genreExists -> genreExists
+                        ? Mono.<Void>empty()
+                        : Mono.<Void>error(new GenreNotFoundException(genreId)));
+
+        return bookRepository.findAllByAuthorIdAndGenreId(authorId, genreId)
+                .switchIfEmpty(checkExist.thenMany(Flux.empty()))
+                .map(this::toDto);
+    }
+
+    public Flux<SortByPropertiesDto> getSortByParameterValues() {
+        return Flux.fromIterable(getSortByParameterValues(Book.class));
+    }
+
+    @Transactional
+    public Mono<BookDto> addNewBook(long authorId, long genreId, BookWithoutIdDto newBook) {
+        return authorRepository.existsById(authorId)
+                .flatMap(exists -> exists
+                        ? genreRepository.existsById(genreId)
+                        : Mono.<Boolean>error(new AuthorNotFoundException(authorId)))
+                .flatMap(exists -> exists
+                        ? bookRepository.existsByBookNameAndBookDescription(newBook.getBookName(), newBook.getBookDescription())
+                        : Mono.<Boolean>error(new GenreNotFoundException(genreId)))
+                .flatMap(exists -> exists
+                        ? Mono.<Long>error(new BookAlreadyExistsException())
+                        : idSequences.next(BOOK_SEQ))
+                .flatMap(bookId -> {
+                    BookRecord toPost = BookRecord.of(toModelMapper.mapBookWithoutIdToBook(newBook), authorId, genreId);
+                    toPost.setBookId(bookId);
+                    return bookRepository.save(toPost);
+                })
+                .flatMap(saved -> addToBooksCounts(authorId, genreId, 1)
+                        .then(entityChanges.bookChanged(saved.getBookId(), authorId, genreId))
+                        .thenReturn(saved))
+                .map(this::toDto);
+    }
+
+    @Transactional
+    public Mono<BookDto> updateExistedBook(long bookId, BookWithoutIdDto bookDto) {
+        return bookRepository.findById(bookId)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException(bookId)))
+                .flatMap(toUpdate -> bookRepository.existsByBookNameAndBookDescriptionAndBookIdNot(bookDto.getBookName(),
+                                bookDto.getBookDescription(), bookId)
+                        .flatMap(exists -> {
+                            if (exists) {
+                                return Mono.error(new BookAlreadyExistsException());
+                            }
+                            toUpdate.copyFrom(toModelMapper.mapBookWithoutIdToBook(bookDto));
+                            return bookRepository.save(toUpdate)
+                                    .flatMap(saved -> entityChanges.bookUpdated(bookId, saved.getAuthorId(), saved.getGenreId())
+                                            .thenReturn(saved));
+                        }))
+                .map(this::toDto);
+    }
+
+    @Transactional
+    public Mono<Void> deleteExistedBook(long bookId) {
+        return bookRepository.findById(bookId)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException(bookId)))
+                .flatMap(toDelete -> bookRepository.delete(toDelete)
+                        .then(addToBooksCounts(toDelete.getAuthorId(), toDelete.getGenreId(), -1))
+                        .then(entityChanges.bookChanged(bookId, toDelete.getAuthorId(), toDelete.getGenreId())))
+                .then();
+    }
+
+    /**
+     * Counters of the Book's Author and Genre, skipping a relation missing in a row written bypassing the API.
+     */
+    private Mono<Void> addToBooksCounts(Long authorId, Long genreId, long delta) {
+        return (authorId != null ? authorRepository.addToBooksCount(authorId, delta).then() : Mono.<Void>empty())
+                .then(genreId != null ? genreRepository.addToBooksCount(genreId, delta).then() : Mono.<Void>empty());
+    }
+}
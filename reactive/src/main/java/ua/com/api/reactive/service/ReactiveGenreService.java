@@ -0,0 +1,124 @@
+package ua.com.api.reactive.service;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ua.com.api.entity.Genre;
+import ua.com.api.entity.dto.LookupResultDto;
+import ua.com.api.entity.dto.SortByPropertiesDto;
+import ua.com.api.entity.dto.genre.GenreDto;
+import ua.com.api.entity.dto.genre.GenreWithoutIdDto;
+import ua.com.api.exception.entity.author.AuthorNotFoundException;
+import ua.com.api.exception.entity.book.BookNotFoundException;
+import ua.com.api.exception.entity.genre.BooksInGenreArePresentException;
+import ua.com.api.exception.entity.genre.GenreAlreadyExistsException;
+import ua.com.api.exception.entity.genre.GenreNotFoundException;
+import ua.com.api.reactive.entity.GenreRecord;
+
+import java.util.List;
+
+import static ua.com.api.reactive.repository.IdSequences.GENRE_SEQ;
+
+@Service
+public class ReactiveGenreService extends ReactiveBaseService {
+
+    private GenreDto toDto(GenreRecord record) {
+        return toDtoMapper.mapGenreToGenreDto(record.toModel());
+    }
+
+    public Mono<GenreDto> findGenre(long genreId) {
+        return genreRepository.findById(genreId)
+                .switchIfEmpty(Mono.error(() -> new GenreNotFoundException(genreId)))
+                .map(this::toDto);
+    }
+
+    public Mono<LookupResultDto<GenreDto>> findGenres(List<Long> genreIds) {
+        return findAllByIds(genreIds, genreRepository::findAllById, GenreRecord::getGenreId, this::toDto);
+    }
+
+    public Mono<GenreDto> findGenreOfBook(long bookId) {
+        return bookRepository.findById(bookId)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException(bookId)))
+                .flatMap(book -> genreRepository.findById(book.getGenreId()))
+                .map(this::toDto);
+    }
+
+    public Flux<GenreDto> findAllGenres(String sortBy, String order, int page, int size, boolean pageable) {
+        Sort sorter = resolveSort(sortBy, order, Genre.class);
+
+        Flux<GenreRecord> genres = pageable
+                ? genreRepository.findAllBy(pageOf(page, size, sorter))
+                : genreRepository.findAll(sorter);
+
+        return genres.map(this::toDto);
+    }
+
+    public Flux<GenreDto> findAllGenresOfAuthor(long authorId, String sortBy, String order) {
+        Sort sorter = resolveSort(sortBy, order, Genre.class);
+
+        return bookRepository.findGenreIdsOfAuthor(authorId)
+                .collectList()
+                .flatMapMany(genreIds -> genreIds.isEmpty()
+                        ? authorRepository.existsById(authorId)
+                                .flatMapMany(exists -> exists
+                                        ? Flux.<GenreRecord>empty()
+                                        : Flux.<GenreRecord>error(new AuthorNotFoundException(authorId)))
+                        : genreRepository.findAllByGenreIdIn(genreIds, sorter))
+                .map(this::toDto);
+    }
+
+    public Flux<SortByPropertiesDto> getSortByParameterValues() {
+        return Flux.fromIterable(getSortByParameterValues(Genre.class));
+    }
+
+    @Transactional
+    public Mono<GenreDto> addNewGenre(GenreWithoutIdDto genre) {
+        return genreRepository.existsByGenreName(genre.getName())
+                .flatMap(exists -> exists
+                        ? Mono.<Long>error(new GenreAlreadyExistsException())
+                        : idSequences.next(GENRE_SEQ))
+                .flatMap(genreId -> {
+                    GenreRecord toPost = GenreRecord.of(toModelMapper.mapGenreWithoutIdToGenre(genre));
+                    toPost.setGenreId(genreId);
+                    return genreRepository.save(toPost)
+                            .flatMap(saved -> entityChanges.genreCreated(genreId).thenReturn(saved));
+                })
+                .map(this::toDto);
+    }
+
+    @Transactional
+    public Mono<GenreDto> updateExistedGenre(long genreId, GenreWithoutIdDto genre) {
+        return genreRepository.findById(genreId)
+                .switchIfEmpty(Mono.error(() -> new GenreNotFoundException(genreId)))
+                .flatMap(toUpdate -> genreRepository.existsByGenreNameAndGenreIdNot(genre.getName(), genreId)
+                        .flatMap(exists -> {
+                            if (exists) {
+                                return Mono.error(new GenreAlreadyExistsException());
+                            }
+                            toUpdate.copyFrom(toModelMapper.mapGenreWithoutIdToGenre(genre));
+                            return genreRepository.save(toUpdate)
+                                    .flatMap(saved -> entityChanges.genreUpdated(genreId).thenReturn(saved));
+                        }))
+                .map(this::toDto);
+    }
+
+    @Transactional
+    public Mono<Void> deleteExistedGenre(long genreId, boolean forcibly) {
+        return genreRepository.findById(genreId)
+                .switchIfEmpty(Mono.error(() -> new GenreNotFoundException(genreId)))
+                .flatMap(toDelete -> {
+                    long booksCount = toDelete.getBooksCount();
+
+                    if (booksCount > 0 && !forcibly) {
+                        return Mono.error(new BooksInGenreArePresentException(genreId, booksCount));
+                    }
+
+                    return authorRepository.subtractBooksOfGenre(genreId)
+                            .then(entityChanges.genreRemoved(genreId))
+                            .then(bookRepository.deleteAllOfGenre(genreId))
+                            .then(genreRepository.delete(toDelete));
+                });
+    }
+}
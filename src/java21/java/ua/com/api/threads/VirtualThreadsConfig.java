@@ -0,0 +1,30 @@
+package ua.com.api.threads;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Runs every Tomcat request and async request processing (NDJSON export and import streams) on its own virtual
+ * thread, so thread blocked on JDBC costs only its stack on heap. Compiled only with 'java21' profile, number of
+ * requests using database at the same time is limited by {@link ConnectionPermitFilter}.
+ */
+@Configuration
+@ConditionalOnProperty(name = RequestThreadsConfig.MODE, havingValue = RequestThreadsConfig.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = "applicationTaskExecutor")
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -0,0 +1,81 @@
+package ua.com.api.benchmark;
+
+import ua.com.api.entity.Author;
+import ua.com.api.entity.Book;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic datasets: the same seed and size always produce the same rows.
+ */
+public final class BenchmarkData {
+    public static final long SEED = 20220801L;
+
+    private static final String[] WORDS = {"the", "lord", "rings", "harry", "potter", "stone", "secret", "garden",
+            "war", "peace", "crime", "punishment", "little", "prince", "old", "man", "sea", "great", "gatsby",
+            "brave", "new", "world", "animal", "farm", "catcher", "rye", "moby", "dick", "pride", "prejudice",
+            "master", "margarita", "shadow", "wind", "name", "rose", "hundred", "years", "solitude", "kobzar"};
+
+    private static final String[] FIRST_NAMES = {"Taras", "Lesya", "Ivan", "George", "Jane", "Mark", "Leo",
+            "Fyodor", "Virginia", "Ernest", "Agatha", "Stephen", "Joanne", "Mikhail", "Umberto", "Gabriel"};
+
+    private static final String[] LAST_NAMES = {"Shevchenko", "Ukrainka", "Franko", "Orwell", "Austen", "Twain",
+            "Tolstoy", "Dostoevsky", "Woolf", "Hemingway", "Christie", "King", "Rowling", "Bulgakov", "Eco", "Marquez"};
+
+    private BenchmarkData() {
+    }
+
+    public static List<Book> books(int count) {
+        Random random = new Random(SEED);
+        List<Book> books = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Book b = new Book();
+            b.setBookId((long) i + 1);
+            b.setBookName(title(random));
+            b.setBookLanguage(random.nextBoolean() ? "english" : "ukrainian");
+            b.setBookDescription(title(random) + " " + title(random));
+            b.setPagesCount(50 + random.nextInt(1500));
+            b.setBookHeight(10 + random.nextInt(300) / 10.0);
+            b.setBookWidth(8 + random.nextInt(200) / 10.0);
+            b.setBookLength(1 + random.nextInt(80) / 10.0);
+            b.setPublicationYear(1800 + random.nextInt(222));
+            books.add(b);
+        }
+
+        return books;
+    }
+
+    public static List<Author> authors(int count) {
+        Random random = new Random(SEED);
+        List<Author> authors = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Author a = new Author();
+            a.setAuthorId((long) i + 1);
+            a.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            a.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)] + (i / LAST_NAMES.length));
+            a.setFullName(a.getFirstName() + " " + a.getLastName());
+            authors.add(a);
+        }
+
+        return authors;
+    }
+
+    private static String title(Random random) {
+        int words = 1 + random.nextInt(4);
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+
+        return sb.toString();
+    }
+}
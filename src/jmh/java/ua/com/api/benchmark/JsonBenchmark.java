@@ -0,0 +1,60 @@
+package ua.com.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import ua.com.api.entity.dto.book.BookDto;
+import ua.com.api.entity.dto.book.BookWithoutIdDto;
+import ua.com.api.service.mapper.ModelToDtoMapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of Book DTOs, including custom deserializers from 'service.util.deserializer'.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    private ObjectWriter bookWriter;
+    private ObjectReader bookReader;
+    private ObjectReader bookWithoutIdReader;
+
+    private BookDto book;
+    private byte[] bookJson;
+    private byte[] bookWithoutIdJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        bookWriter = mapper.writerFor(BookDto.class);
+        bookReader = mapper.readerFor(BookDto.class);
+        bookWithoutIdReader = mapper.readerFor(BookWithoutIdDto.class);
+
+        book = new ModelToDtoMapper().mapBookToBookDto(BenchmarkData.books(1).get(0));
+        bookJson = bookWriter.writeValueAsBytes(book);
+        bookWithoutIdJson = mapper.writeValueAsBytes(new BookWithoutIdDto(book.getBookName(),
+                book.getBookDescription(), book.getBookLanguage(), book.getAdditional(), book.getPublicationYear()));
+    }
+
+    @Benchmark
+    public byte[] serializeBookDto() throws IOException {
+        return bookWriter.writeValueAsBytes(book);
+    }
+
+    @Benchmark
+    public BookDto deserializeBookDto() throws IOException {
+        return bookReader.readValue(bookJson);
+    }
+
+    @Benchmark
+    public BookWithoutIdDto deserializeBookWithoutIdDto() throws IOException {
+        return bookWithoutIdReader.readValue(bookWithoutIdJson);
+    }
+}
@@ -0,0 +1,105 @@
+package ua.com.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import ua.com.api.DataGenerator;
+import ua.com.api.app.App;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of existing GET endpoints with more concurrent clients than Tomcat has threads, in 'platform' and
+ * 'virtual' request execution modes. The API is started in benchmark JVM on random port with in-memory H2 filled
+ * by {@link DataGenerator}. 'virtual' mode needs 'java21' profile: ./mvnw -Pbenchmark,java21 test-compile exec:exec
+ * -Dbenchmark.includes=LoadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400)
+@Fork(1)
+public class LoadBenchmark {
+    private static final int AUTHORS = 1_000;
+    private static final int GENRES = 50;
+    private static final int BOOKS = 50_000;
+    private static final int PAGE_SIZE = 20;
+    private static final String[] SORT_BY = {"name", "year", "pagesCount", "volume"};
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        String url = "jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1";
+        context = SpringApplication.run(App.class,
+                "--server.port=0",
+                "--library.threads.mode=" + mode,
+                "--spring.datasource.url=" + url,
+                "--library.schema.check-query-plans=false",
+                "--logging.level.root=WARN");
+
+        DataGenerator.main(new String[]{"format=jdbc", "url=" + url,
+                "authors=" + AUTHORS, "genres=" + GENRES, "books=" + BOOKS});
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + context.getEnvironment().getProperty("server.base.url");
+        authorization = "Basic " + Base64.getEncoder()
+                .encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+        client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int booksPage() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return get("/books?page=" + (random.nextInt(BOOKS / PAGE_SIZE) + 1) + "&size=" + PAGE_SIZE
+                + "&sortBy=" + SORT_BY[random.nextInt(SORT_BY.length)]);
+    }
+
+    @Benchmark
+    public int authorBooks() throws IOException, InterruptedException {
+        return get("/author/" + (ThreadLocalRandom.current().nextInt(AUTHORS) + 1) + "/books");
+    }
+
+    @Benchmark
+    public int genreAuthors() throws IOException, InterruptedException {
+        return get("/genre/" + (ThreadLocalRandom.current().nextInt(GENRES) + 1) + "/authors?page=1&size=" + PAGE_SIZE);
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
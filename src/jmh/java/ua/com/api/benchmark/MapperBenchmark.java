@@ -0,0 +1,65 @@
+package ua.com.api.benchmark;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import ua.com.api.entity.Book;
+import ua.com.api.entity.dto.book.BookDto;
+import ua.com.api.service.mapper.ModelToDtoMapper;
+import ua.com.api.service.mapper.converter.book.Book_to_BookDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares hand-compiled {@link ModelToDtoMapper} with the same converter called through ModelMapper,
+ * as it was done before (converter lookup and MappingContext allocation per object).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class MapperBenchmark {
+
+    private final ModelToDtoMapper compiled = new ModelToDtoMapper();
+    private final ModelMapper reflective = new ModelMapper();
+    private Book book;
+    private List<Book> page;
+
+    @Setup
+    public void setUp() {
+        Book_to_BookDto converter = new Book_to_BookDto();
+        reflective.addConverter(ctx -> converter.convert(ctx.getSource()), Book.class, BookDto.class);
+
+        page = BenchmarkData.books(500);
+        book = page.get(0);
+    }
+
+    @Benchmark
+    public BookDto compiledMapper() {
+        return compiled.mapBookToBookDto(book);
+    }
+
+    @Benchmark
+    public BookDto modelMapper() {
+        return reflective.map(book, BookDto.class);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<BookDto> compiledMapperPageOf500() {
+        return page.stream()
+                .map(compiled::mapBookToBookDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<BookDto> modelMapperPageOf500() {
+        return page.stream()
+                .map(b -> reflective.map(b, BookDto.class))
+                .collect(Collectors.toList());
+    }
+}
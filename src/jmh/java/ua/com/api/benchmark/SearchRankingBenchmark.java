@@ -0,0 +1,47 @@
+package ua.com.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ua.com.api.entity.Author;
+import ua.com.api.entity.Book;
+import ua.com.api.service.util.ranking.SearchRanking;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking of search candidates as done by BookService.searchForExistedBooks and
+ * AuthorService.searchForExistedAuthors; 'candidates' is the number of rows matched by the search engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchRankingBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int candidates;
+
+    private List<Book> books;
+    private List<Author> authors;
+    private final List<String> bookQuery = Arrays.asList("Harry", "Potter", "Stone");
+    private final List<String> authorQuery = Arrays.asList("Taras", "Shev");
+
+    @Setup
+    public void setUp() {
+        books = BenchmarkData.books(candidates);
+        authors = BenchmarkData.authors(candidates);
+    }
+
+    @Benchmark
+    public List<Book> rankBooks() {
+        return SearchRanking.rankBooks(books, bookQuery, 5);
+    }
+
+    @Benchmark
+    public List<Author> rankAuthors() {
+        return SearchRanking.rankAuthors(authors, authorQuery, 5);
+    }
+}
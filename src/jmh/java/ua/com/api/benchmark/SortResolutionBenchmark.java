@@ -0,0 +1,44 @@
+package ua.com.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Sort;
+import ua.com.api.entity.Author;
+import ua.com.api.entity.Book;
+import ua.com.api.service.BaseService;
+import ua.com.api.service.sort.SortRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortResolutionBenchmark {
+
+    @Param({"bookId", "nameOfBook", "numberOfPages", "pubYear"})
+    public String sortBy;
+
+    private final Sorts sorts = new Sorts();
+
+    @Benchmark
+    public Sort resolveBookSort() {
+        return sorts.resolve(sortBy, Book.class);
+    }
+
+    @Benchmark
+    public Sort resolveAuthorSort() {
+        return sorts.resolve("authorFullName", Author.class);
+    }
+
+    private static class Sorts extends BaseService {
+        Sorts() {
+            sortRegistry = new SortRegistry();
+        }
+
+        Sort resolve(String sortBy, Class<?> clazz) {
+            return resolveSort(sortBy, "desc", clazz);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ua.com.api.repository;
+
+import org.openjdk.jmh.annotations.*;
+import ua.com.api.benchmark.BenchmarkData;
+import ua.com.api.entity.Book;
+import ua.com.api.repository.search.TrigramIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search query building in {@link SearchFor} and candidates lookup in trigram index over 'books' rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SearchQueryBenchmark {
+
+    @Param({"10000", "100000"})
+    public int books;
+
+    private final SearchFor searchFor = new SearchFor();
+    private final TrigramIndex<Book> index = new TrigramIndex<>(Book::getBookId, Book::getBookName);
+
+    private final String query = "harry potter stone";
+    private final List<String> keywords = Arrays.asList(query.split(" "));
+    private List<String> terms;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.books(books).forEach(index::put);
+
+        terms = new ArrayList<>(keywords);
+        terms.add(0, query);
+    }
+
+    @Benchmark
+    public String buildLikeQuery() {
+        List<String> columns = Collections.singletonList("bookName");
+        return String.join(" OR ",
+                searchFor.buildSearchQuery(columns, Collections.singletonList(query)),
+                searchFor.buildSearchQuery(columns, keywords));
+    }
+
+    @Benchmark
+    public List<Book> trigramIndexSearch() {
+        return index.search(terms);
+    }
+}
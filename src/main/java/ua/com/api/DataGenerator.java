@@ -2,118 +2,388 @@ package ua.com.api;
 
 import com.github.javafaker.Faker;
 
-import java.io.File;
+import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.time.Year;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
 import java.util.*;
-import java.util.function.Supplier;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
+/**
+ * Generates random Authors, Genres and Books with explicit ids into SQL script, CSV files (one per table)
+ * or straight into database by JDBC batches. Run with 'key=value' arguments, all of them are optional:
+ * <pre>
+ * authors=150 genres=30 books=1000   - number of rows, any of them can be millions
+ * seed=42                            - the same seed and counts give the same data
+ * format=sql|csv|jdbc                - output kind
+ * out=src/main/resources/fillDB.sql  - SQL file or directory for CSV files
+ * url=... user=... password=...      - connection for 'jdbc' format, tables must be empty
+ * chunk=10000                        - rows generated by one task
+ * </pre>
+ * Rows are generated in chunks in parallel, every chunk has its own seeded random, and chunks are written
+ * in order as soon as they are ready, so output doesn't depend on number of threads and only a few chunks
+ * are held in memory.
+ */
 public class DataGenerator {
-    private final static String fileName = "fillDB.sql";
-    private final static String fileLocation = "src/main/resources/scripts";
-
-    private final static int authorsCount = 150; // 9999 - is maximum (if set to max it greatly increase generation time)
-    private final static int genresCount = 30;   // 30 is maximum; if set more, will work endlessly!!!
-    private final static int booksCount = 1000;  // 9999 - is maximum (if set to max it greatly increase generation time)
-    private static final Faker f = new Faker();
-
-    private final static String insertAuthor = "insert into author (first_name,last_name,full_name,birth_city,birth_country,birth_date,nationality,description) values (\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\");";
-    private final static String insertGenre = "insert into genre (genre_name,genre_description) values (\"%s\",\"%s\");";
-    private final static String insertBook = "insert into book (book_name,book_description,book_language,pages_count,book_height,book_width,book_length,publication_year,author_id,genre_id) values (\"%s\",\"%s\",\"%s\",\"%d\",\"%s\",\"%s\",\"%s\",\"%d\",\"%d\",\"%d\");";
-
-    private static List<String> createAuthors() {
-        String[] nationalities = {"Albanian", "American", "Australian", "Austrian", "Belgian", "British", "Bulgarian",
-                "Canadian", "Chinese", "Czech", "Dutch", "Egyptian", "French", "German", "Greek", "Indian", "Irish",
-                "Lithuanian", "Malaysian", "Mexican", "Moldovan", "New Zealander", "Romanian", "Scottish", "Spanish",
-                "Swedish", "Turkish", "Ukrainian", "Welsh", "Syrian", "Slovenian", "Slovakian", "Polish", "Peruvian",
-                "Namibian", "Nepalese", "Afghan", "Andorran", "Angolan", "Armenian", "Bahamian", "Cambodian",
-                "Central African", "Colombian", "Cuban", "Equatorial Guinean", "Icelander", "Indonesian",
-                "Kittian and Nevisian", "Liechtensteiner", "Lithuanian", "Luxembourger", "Maldivan", "Mongolian"};
-
-        SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd");
-        Date from;
-        Date to;
-
-        try {
-            from = formatter.parse("1920-01-01");
-            to = formatter.parse("1999-12-31");
-        } catch (ParseException e) {
-            throw new RuntimeException(e);
-        }
-
-        return IntStream.range(0, authorsCount)
-                .mapToObj(i -> {
-                    String firstName = f.name().firstName();
-                    String lastName = f.name().lastName();
-                    return String.format(insertAuthor, firstName, lastName,
-                            firstName + " " + lastName,
-                            f.address().city(), f.address().country(),
-                            formatter.format(f.date().between(from, to)),
-                            nationalities[new Random().nextInt(nationalities.length)],
-                            f.lorem().paragraph());
-                }).collect(Collectors.toList());
-    }
-
-    private static List<String> createGenres() {
-        List<String> genreNames = new ArrayList<>();
-        while (genreNames.size() < genresCount) {
-            String name = f.book().genre();
-            if (!genreNames.contains(name)) genreNames.add(name);
-        }
-
-        return IntStream.range(0, genresCount)
-                .mapToObj(i -> String.format(insertGenre, genreNames.get(i), f.lorem().paragraph()))
-                .collect(Collectors.toList());
-    }
-
-    private static List<String> createBooks() {
-        String[] languages = {"ukrainian", "german", "polish", "spanish", "chinese", "english", "portuguese",
-                "croatian", "french", "arabic", "armenian", "urdu", "farsi", "japanese", "turkish", "georgian"};
-        Supplier<String> bookName = () -> {
-            List<String> words = new ArrayList<>();
-            IntStream.rangeClosed(0, f.number().numberBetween(2, 5))
-                    .forEach(i -> words.add(f.lorem().word()));
-            Collections.shuffle(words);
-            String first = words.get(0);
-            words.set(0, first.substring(0, 1).toUpperCase() + first.substring(1));
-            return String.join(" ", words);
+    private static final String[] NATIONALITIES = {"Albanian", "American", "Australian", "Austrian", "Belgian",
+            "British", "Bulgarian", "Canadian", "Chinese", "Czech", "Dutch", "Egyptian", "French", "German", "Greek",
+            "Indian", "Irish", "Lithuanian", "Malaysian", "Mexican", "Moldovan", "New Zealander", "Romanian",
+            "Scottish", "Spanish", "Swedish", "Turkish", "Ukrainian", "Welsh", "Syrian", "Slovenian", "Slovakian",
+            "Polish", "Peruvian", "Namibian", "Nepalese", "Afghan", "Andorran", "Angolan", "Armenian", "Bahamian",
+            "Cambodian", "Central African", "Colombian", "Cuban", "Equatorial Guinean", "Icelander", "Indonesian",
+            "Kittian and Nevisian", "Liechtensteiner", "Luxembourger", "Maldivan", "Mongolian"};
+    private static final String[] LANGUAGES = {"ukrainian", "german", "polish", "spanish", "chinese", "english",
+            "portuguese", "croatian", "french", "arabic", "armenian", "urdu", "farsi", "japanese", "turkish", "georgian"};
+    private static final long BIRTH_FROM = LocalDate.of(1920, 1, 1).toEpochDay();
+    private static final long BIRTH_TO = LocalDate.of(1999, 12, 31).toEpochDay();
+    private static final int PUBLICATION_FROM = 1970;
+    private static final int PUBLICATION_TO = 2022;
+    // the same as 'afterMigrate.sql' and end of 'fillDB.sql', see Versions
+    private static final List<String> ADVANCE_COLLECTION_VERSIONS = List.of(
+            "insert into collection_version (collection) select concat('books:author:', a.author_id) from author a " +
+                    "where not exists (select 1 from collection_version v where v.collection = concat('books:author:', a.author_id))",
+            "insert into collection_version (collection) select concat('books:genre:', g.genre_id) from genre g " +
+                    "where not exists (select 1 from collection_version v where v.collection = concat('books:genre:', g.genre_id))",
+            "update collection_version set version = version + 1");
+
+    private enum Table {
+        AUTHOR("author", "author_id", "first_name", "last_name", "full_name", "birth_city", "birth_country",
+                "birth_date", "nationality", "description"),
+        GENRE("genre", "genre_id", "genre_name", "genre_description"),
+        BOOK("book", "book_id", "book_name", "book_description", "book_language", "pages_count", "book_height",
+                "book_width", "book_length", "book_volume", "book_square", "publication_year", "author_id", "genre_id");
+
+        private final String name;
+        private final List<String> columns;
+
+        Table(String name, String... columns) {
+            this.name = name;
+            this.columns = List.of(columns);
+        }
+    }
+
+    private interface RowFactory {
+        Object[] create(long id, Faker faker, SplittableRandom random);
+    }
+
+    private final long authorsCount;
+    private final long genresCount;
+    private final long booksCount;
+    private final long seed;
+    private final int chunkSize;
+    private final int window = Math.max(2, ForkJoinPool.getCommonPoolParallelism() * 2);
+
+    private final List<String> firstNames;
+    private final List<String> lastNames;
+    private final List<String> genreNames;
+    private final long nameStep;
+    private final long nameOffset;
+
+    @SuppressWarnings("unchecked")
+    private DataGenerator(long authorsCount, long genresCount, long booksCount, long seed, int chunkSize) {
+        this.authorsCount = authorsCount;
+        this.genresCount = genresCount;
+        this.booksCount = booksCount;
+        this.seed = seed;
+        this.chunkSize = chunkSize;
+
+        Faker faker = new Faker(new Random(seed));
+        this.firstNames = distinct((List<String>) faker.fakeValuesService().fetchObject("name.first_name"));
+        this.lastNames = distinct((List<String>) faker.fakeValuesService().fetchObject("name.last_name"));
+        this.genreNames = distinct((List<String>) faker.fakeValuesService().fetchObject("book.genre"));
+
+        long combinations = (long) firstNames.size() * lastNames.size();
+        long step = 1_000_003;
+        while (gcd(step, combinations) != 1) {
+            step += 2;
+        }
+        this.nameStep = step;
+        this.nameOffset = Math.floorMod(seed, combinations);
+    }
+
+    private static List<String> distinct(List<String> values) {
+        return new ArrayList<>(new LinkedHashSet<>(values));
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static String cut(String value, int length) {
+        return value.length() > length ? value.substring(0, length) : value;
+    }
+
+    private static double dimension(SplittableRandom random, double from, double to) {
+        return Math.round(random.nextDouble(from, to) * 10) / 10.0;
+    }
+
+    /**
+     * Every id gets its own pair of first and last names: ids are spread over all pairs by multiplying
+     * by a step coprime with the number of pairs, and ordinal suffix is added only after all pairs are used.
+     */
+    private Object[] author(long id, Faker faker, SplittableRandom random) {
+        long combinations = (long) firstNames.size() * lastNames.size();
+        long index = id - 1;
+        long pair = ((index % combinations) * nameStep + nameOffset) % combinations;
+        String firstName = firstNames.get((int) (pair % firstNames.size()));
+        String lastName = lastNames.get((int) (pair / firstNames.size()));
+        if (index >= combinations) {
+            lastName = lastName + " " + (index / combinations + 1);
+        }
+
+        return new Object[]{id, firstName, lastName, firstName + " " + lastName,
+                cut(faker.address().city(), 50),
+                cut(faker.address().country(), 60),
+                LocalDate.ofEpochDay(random.nextLong(BIRTH_FROM, BIRTH_TO + 1)),
+                NATIONALITIES[random.nextInt(NATIONALITIES.length)],
+                cut(faker.lorem().paragraph(), 1000)};
+    }
+
+    private Object[] genre(long id, Faker faker, SplittableRandom random) {
+        long index = id - 1;
+        String name = genreNames.get((int) (index % genreNames.size()));
+        if (index >= genreNames.size()) {
+            name = name + " " + (index / genreNames.size() + 1);
+        }
+        return new Object[]{id, cut(name, 50), cut(faker.lorem().paragraph(), 1000)};
+    }
+
+    private Object[] book(long id, Faker faker, SplittableRandom random) {
+        List<String> words = faker.lorem().words(random.nextInt(3, 7));
+        String first = words.get(0);
+        words.set(0, first.substring(0, 1).toUpperCase() + first.substring(1));
+
+        double height = dimension(random, 5, 40);
+        double width = dimension(random, 1, 5);
+        double length = dimension(random, 5, 40);
+
+        return new Object[]{id, cut(String.join(" ", words), 255), cut(faker.lorem().paragraph(), 1000),
+                LANGUAGES[random.nextInt(LANGUAGES.length)],
+                random.nextInt(100, 1000),
+                height, width, length, height * width * length, width * length,
+                random.nextInt(PUBLICATION_FROM, PUBLICATION_TO),
+                random.nextLong(authorsCount) + 1,
+                random.nextLong(genresCount) + 1};
+    }
+
+    private List<Object[]> generateChunk(Table table, long chunk, long count, RowFactory factory) {
+        SplittableRandom random = new SplittableRandom(seed * 31 + table.ordinal() * 1_000_003L + chunk * 0x9E3779B97F4A7C15L);
+        Faker faker = new Faker(new Random(random.nextLong()));
+
+        long from = chunk * chunkSize + 1;
+        long to = Math.min(count, from + chunkSize - 1);
+        List<Object[]> rows = new ArrayList<>((int) (to - from + 1));
+        for (long id = from; id <= to; id++) {
+            rows.add(factory.create(id, faker, random));
+        }
+        return rows;
+    }
+
+    private void generate(Table table, long count, RowFactory factory, RowSink sink) throws IOException, SQLException {
+        long chunks = (count + chunkSize - 1) / chunkSize;
+
+        for (long first = 0; first < chunks; first += window) {
+            long from = first;
+            long to = Math.min(chunks, from + window);
+            List<List<Object[]>> generated = IntStream.range(0, (int) (to - from))
+                    .parallel()
+                    .mapToObj(i -> generateChunk(table, from + i, count, factory))
+                    .collect(Collectors.toList());
+
+            for (List<Object[]> rows : generated) {
+                sink.write(table, rows);
+            }
+            System.out.println(table.name + ": " + Math.min(count, to * chunkSize) + " of " + count);
+        }
+    }
+
+    private void generate(RowSink sink) throws IOException, SQLException {
+        generate(Table.AUTHOR, authorsCount, this::author, sink);
+        generate(Table.GENRE, genresCount, this::genre, sink);
+        generate(Table.BOOK, booksCount, this::book, sink);
+    }
+
+    private interface RowSink extends Closeable {
+        void write(Table table, List<Object[]> rows) throws IOException, SQLException;
+    }
+
+    /**
+     * Multi-row INSERT statements, loadable by both H2 and MySQL.
+     */
+    private static class SqlSink implements RowSink {
+        private static final int ROWS_PER_INSERT = 500;
+        private final Writer writer;
+
+        private SqlSink(Path file) throws IOException {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.writer = Files.newBufferedWriter(file);
+        }
+
+        @Override
+        public void write(Table table, List<Object[]> rows) throws IOException {
+            String insert = "insert into " + table.name + " (" + String.join(",", table.columns) + ") values\n";
+
+            for (int i = 0; i < rows.size(); i++) {
+                writer.write(i % ROWS_PER_INSERT == 0 ? insert : ",\n");
+                writer.write('(');
+                Object[] row = rows.get(i);
+                for (int j = 0; j < row.length; j++) {
+                    if (j > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(literal(row[j]));
+                }
+                writer.write(')');
+                if (i % ROWS_PER_INSERT == ROWS_PER_INSERT - 1 || i == rows.size() - 1) {
+                    writer.write(";\n");
+                }
+            }
+        }
+
+        private static String literal(Object value) {
+            if (value == null) {
+                return "null";
+            }
+            if (value instanceof Number) {
+                return value.toString();
+            }
+            return "'" + value.toString().replace("'", "''") + "'";
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * One file with header per table.
+     */
+    private static class CsvSink implements RowSink {
+        private final Path directory;
+        private final Map<Table, BufferedWriter> writers = new EnumMap<>(Table.class);
+
+        private CsvSink(Path directory) throws IOException {
+            this.directory = Files.createDirectories(directory);
+        }
+
+        @Override
+        public void write(Table table, List<Object[]> rows) throws IOException {
+            BufferedWriter writer = writers.get(table);
+            if (writer == null) {
+                writer = Files.newBufferedWriter(directory.resolve(table.name + ".csv"));
+                writer.write(String.join(",", table.columns));
+                writer.newLine();
+                writers.put(table, writer);
+            }
+
+            for (Object[] row : rows) {
+                for (int j = 0; j < row.length; j++) {
+                    if (j > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(field(row[j]));
+                }
+                writer.newLine();
+            }
+        }
+
+        private static String field(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            if (text.contains(",") || text.contains("\"") || text.contains("\n")) {
+                return "\"" + text.replace("\"", "\"\"") + "\"";
+            }
+            return text;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (BufferedWriter writer : writers.values()) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * JDBC batch per chunk, every chunk is committed separately. Versions of collections are advanced on close, so
+     * ETags given out before the load are not answered as not modified.
+     */
+    private static class JdbcSink implements RowSink {
+        private final Connection connection;
+
+        private JdbcSink(String url, String user, String password) throws SQLException {
+            this.connection = DriverManager.getConnection(url, user, password);
+            this.connection.setAutoCommit(false);
+        }
+
+        @Override
+        public void write(Table table, List<Object[]> rows) throws SQLException {
+            String sql = "insert into " + table.name + " (" + String.join(",", table.columns) + ") values ("
+                    + String.join(",", Collections.nCopies(table.columns.size(), "?")) + ")";
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (Object[] row : rows) {
+                    for (int j = 0; j < row.length; j++) {
+                        statement.setObject(j + 1, row[j]);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            connection.commit();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (connection; Statement statement = connection.createStatement()) {
+                for (String sql : ADVANCE_COLLECTION_VERSIONS) {
+                    statement.execute(sql);
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException, SQLException {
+        Map<String, String> params = Arrays.stream(args)
+                .map(arg -> arg.split("=", 2))
+                .collect(Collectors.toMap(pair -> pair[0], pair -> pair.length > 1 ? pair[1] : ""));
+
+        DataGenerator generator = new DataGenerator(
+                Long.parseLong(params.getOrDefault("authors", "150")),
+                Long.parseLong(params.getOrDefault("genres", "30")),
+                Long.parseLong(params.getOrDefault("books", "1000")),
+                Long.parseLong(params.getOrDefault("seed", "42")),
+                Integer.parseInt(params.getOrDefault("chunk", "10000")));
+
+        String format = params.getOrDefault("format", "sql");
+        RowSink sink = switch (format) {
+            case "sql" -> new SqlSink(Path.of(params.getOrDefault("out", "src/main/resources/fillDB.sql")));
+            case "csv" -> new CsvSink(Path.of(params.getOrDefault("out", "target/dataset")));
+            case "jdbc" -> new JdbcSink(params.get("url"), params.getOrDefault("user", "sa"),
+                    params.getOrDefault("password", "password"));
+            default -> throw new IllegalArgumentException("Unknown format '" + format + "', use sql, csv or jdbc");
         };
 
-        return IntStream.range(0, booksCount)
-                .mapToObj(i -> String.format(insertBook,
-                        bookName.get(),
-                        f.lorem().paragraph(),
-                        languages[new Random().nextInt(languages.length)],
-                        f.number().numberBetween(100, 1000),
-                        f.number().randomDouble(1, 5, 40),
-                        f.number().randomDouble(1, 1, 5),
-                        f.number().randomDouble(1, 5, 40),
-                        f.number().numberBetween(1970, Year.now().getValue()),
-                        new Random().nextInt(authorsCount) + 1,
-                        new Random().nextInt(genresCount) + 1))
-                .collect(Collectors.toList());
-    }
-
-    public static void main(String[] args) {
-        List<String> inserts = Stream.of(createAuthors(), createGenres(), createBooks())
-                .peek(l -> System.out.println(l.size()))
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
-
-        File script = new File(Path.of(fileLocation, fileName).toString());
-        try {
-            script.createNewFile();
-            Files.write(script.toPath(), inserts);
-            System.out.println("File " + fileName + " created in: " + fileLocation + "!");
-        } catch (IOException e) {
-            e.printStackTrace();
+        long start = System.currentTimeMillis();
+        try (sink) {
+            generator.generate(sink);
         }
+        System.out.println("Done in " + (System.currentTimeMillis() - start) + " ms");
     }
 }
@@ -6,11 +6,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @ComponentScan(basePackages = "ua.com.api")
 @EnableJpaRepositories("ua.com.api.repository")
 @EntityScan("ua.com.api.entity")
 @SpringBootApplication
+@EnableScheduling
 @OpenAPIDefinition
 public class App {
     public static void main(String[] args) {
@@ -9,20 +9,31 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ua.com.api.entity.dto.LookupResultDto;
 import ua.com.api.entity.dto.SortByPropertiesDto;
 import ua.com.api.entity.dto.author.AuthorDto;
 import ua.com.api.entity.dto.author.AuthorWithoutIdDto;
+import ua.com.api.entity.dto.importer.ImportRowErrorDto;
 import ua.com.api.exception.model.ExceptionResponse;
+import ua.com.api.repository.keyset.KeysetPage;
 import ua.com.api.service.AuthorService;
 import ua.com.api.service.util.annotation.AllowableValues;
+import ua.com.api.service.version.ResponseCache;
+import ua.com.api.service.version.Versions;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.io.InputStream;
 import java.util.List;
 
 import static ua.com.api.service.constants.Constants.*;
@@ -37,6 +48,12 @@ public class AuthorController {
     @Autowired
     private AuthorService authorService;
 
+    @Autowired
+    private Versions versions;
+
+    @Autowired
+    private ResponseCache responseCache;
+
     @Operation(summary = "Get one Author object by it 'authorId'")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Special Author object in JSON",
@@ -50,8 +67,29 @@ public class AuthorController {
     public ResponseEntity<?> getAuthor(
             @Parameter(required = true, description = "existed Author ID")
             @PathVariable
-            Long authorId) {
-        AuthorDto response = authorService.findAuthor(authorId);
+            Long authorId,
+
+            WebRequest request) {
+        String version = versions.ofAuthor(authorId);
+        return responseCache.get(AuthorDto.class, authorId, version, () -> authorService.findAuthor(version, authorId), request);
+    }
+
+
+    @Operation(summary = "Get many Author objects by list of 'authorId' with one query")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "found Author objects in order of requested IDs and IDs which are not found",
+                    content = @Content(schema = @Schema(implementation = LookupResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Something wrong...",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    @GetMapping(value = "/authors/lookup", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getAuthors(
+            @Parameter(description = "IDs of Authors separated by comma, up to " + BATCH_MAX_SIZE, required = true)
+            @RequestParam(name = IDS)
+            @NotEmpty(message = "Value of '" + IDS + "' parameter cannot be empty!")
+            @Size(max = BATCH_MAX_SIZE, message = "Value of '" + IDS + "' parameter cannot contain more than " + BATCH_MAX_SIZE + " IDs!")
+            List<Long> ids) {
+        LookupResultDto<AuthorDto> response = authorService.findAuthors(ids);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
@@ -69,7 +107,12 @@ public class AuthorController {
     public ResponseEntity<?> getAuthorOfBook(
             @Parameter(required = true, description = "existed Book ID")
             @PathVariable
-            Long bookId) {
+            Long bookId,
+
+            WebRequest request) {
+        if (request.checkNotModified(versions.eTag(versions.ofBook(bookId)))) {
+            return null;
+        }
         AuthorDto response = authorService.findAuthorOfBook(bookId);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -105,12 +148,63 @@ public class AuthorController {
             @Parameter(description = "sorting order")
             @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
             @AllowableValues(values = {ASC, DESC}, message = "Value of " + ORDER_TYPE + " parameter must be '" + ASC + "' or '" + DESC + "'")
-            String orderType) {
-        List<AuthorDto> response = authorService.findAllAuthors(sortBy, orderType, page, size, pagination);
+            String orderType,
+
+            @Parameter(description = "keyset pagination cursor: empty value for the first page, then value of '" + NEXT_CURSOR + "' response header; 'page' is ignored if set")
+            @RequestParam(name = CURSOR, required = false)
+            String cursor,
+
+            WebRequest request) {
+        String version = versions.ofAuthors();
+        if (request.checkNotModified(versions.eTag(version))) {
+            return null;
+        }
+        if (cursor != null) {
+            KeysetPage<AuthorDto> keysetPage = authorService.findAllAuthors(sortBy, orderType, cursor, size);
+            HttpHeaders headers = new HttpHeaders();
+            if (keysetPage.getNextCursor() != null) {
+                headers.set(NEXT_CURSOR, keysetPage.getNextCursor());
+            }
+            return new ResponseEntity<>(keysetPage.getItems(), headers, HttpStatus.OK);
+        }
+
+        if (!pagination) {
+            StreamingResponseBody stream = authorService.streamAllAuthors(sortBy, orderType);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(stream);
+        }
+
+        List<AuthorDto> response = authorService.findAllAuthors(version, sortBy, orderType, page, size);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
 
+    @Operation(summary = "Export all Authors as NDJSON stream (one JSON object per line)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream of Author objects",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = AuthorDto.class))),
+            @ApiResponse(responseCode = "400", description = "Something wrong...",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    @GetMapping(value = "/authors", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllAuthors(
+            @Parameter(description = "Custom sort parameter. Try '/author/sorters' endpoint")
+            @RequestParam(name = SORT_BY, defaultValue = AUTHOR_ID)
+            String sortBy,
+
+            @Schema(allowableValues = {ASC, DESC})
+            @Parameter(description = "sorting order")
+            @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
+            @AllowableValues(values = {ASC, DESC}, message = "Value of '" + ORDER_TYPE + "' parameter must be '" + ASC + "' or '" + DESC + "'")
+            String orderType) {
+        StreamingResponseBody response = authorService.exportAllAuthors(sortBy, orderType);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(response);
+    }
+
+
     @Operation(summary = "Search for Author by it name")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Array of Authors objects",
@@ -165,7 +259,12 @@ public class AuthorController {
             @Parameter(description = "sorting order")
             @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
             @AllowableValues(values = {ASC, DESC}, message = "Value of 'orderType' parameter must be '" + ASC + "' or '" + DESC + "'")
-            String orderType) {
+            String orderType,
+
+            WebRequest request) {
+        if (request.checkNotModified(versions.eTag(versions.ofGenre(genreId), versions.ofBooksOfGenre(genreId), versions.ofAuthors()))) {
+            return null;
+        }
         List<AuthorDto> response = authorService.findAllAuthorsInGenre(genreId, sortBy, orderType, page, size, pagination);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -203,6 +302,55 @@ public class AuthorController {
     }
 
 
+    @Operation(summary = "Create many Authors at once",
+            description = "Whole batch is validated before insert: if any Author is invalid or has not unique " +
+                    "first and last names, nothing is created")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "newly created Authors in the same order",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = AuthorDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Something wrong...",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Author with such name already exists",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    @ResponseStatus(value = HttpStatus.CREATED)
+    @PostMapping(value = "/authors/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> addNewAuthors(
+            @Parameter(required = true, description = "Authors to add", name = "Author objects")
+            @RequestBody
+            @NotEmpty(message = "Batch cannot be empty!")
+            @Size(max = BATCH_MAX_SIZE, message = "Batch cannot contain more than " + BATCH_MAX_SIZE + " objects!")
+            List<@Valid AuthorWithoutIdDto> postAuthors) {
+        List<AuthorDto> response = authorService.addNewAuthors(postAuthors);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+
+    @Operation(summary = "Import Authors from NDJSON or CSV upload of any size",
+            description = "CSV header holds property paths, e.g. 'name.first,name.last,nationality,birth.date,description'. " +
+                    "Rows are committed in chunks, rows that can't be saved are reported and skipped",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, content = {
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = AuthorWithoutIdDto.class)),
+                    @Content(mediaType = TEXT_CSV)
+            }))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream of failed rows, summary is the last line",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ImportRowErrorDto.class)))
+    })
+    @PostMapping(value = "/authors/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importAuthors(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE)
+            String contentType,
+
+            InputStream body) {
+        boolean csv = MediaType.valueOf(contentType).isCompatibleWith(MediaType.valueOf(TEXT_CSV));
+        StreamingResponseBody response = authorService.importAuthors(body, csv);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(response);
+    }
+
+
     @Operation(summary = "Update existed Author")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "updated Author object",
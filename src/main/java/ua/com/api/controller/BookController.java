@@ -9,20 +9,37 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ua.com.api.entity.dto.LookupResultDto;
 import ua.com.api.entity.dto.SortByPropertiesDto;
+import ua.com.api.entity.dto.book.BookBatchItemDto;
 import ua.com.api.entity.dto.book.BookDto;
 import ua.com.api.entity.dto.book.BookWithoutIdDto;
+import ua.com.api.entity.dto.facet.BookFilterResultDto;
+import ua.com.api.entity.dto.importer.ImportRowErrorDto;
 import ua.com.api.exception.model.ExceptionResponse;
+import ua.com.api.repository.facet.BookFilter;
+import ua.com.api.repository.keyset.KeysetPage;
 import ua.com.api.service.BookService;
 import ua.com.api.service.util.annotation.AllowableValues;
+import ua.com.api.service.version.ResponseCache;
+import ua.com.api.service.version.Versions;
 
+import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.io.InputStream;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import static ua.com.api.service.constants.Constants.*;
 
@@ -36,6 +53,12 @@ public class BookController {
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private Versions versions;
+
+    @Autowired
+    private ResponseCache responseCache;
+
     @Operation(summary = "Get one Book object by it 'bookId'")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Special Book object in JSON",
@@ -49,8 +72,44 @@ public class BookController {
     public ResponseEntity<?> getBook(
             @Parameter(description = "existed Book ID", required = true)
             @PathVariable
-            Long bookId) {
-        BookDto response = bookService.findBook(bookId);
+            Long bookId,
+
+            @Parameter(description = "embed related objects into Book: '" + INCLUDE_AUTHOR + "', '" + INCLUDE_GENRE + "' or both separated by comma")
+            @RequestParam(name = INCLUDE, defaultValue = "")
+            Set<@AllowableValues(values = {INCLUDE_AUTHOR, INCLUDE_GENRE}, message = "Values of '" + INCLUDE + "' parameter must be '" + INCLUDE_AUTHOR + "' or '" + INCLUDE_GENRE + "'") String> include,
+
+            WebRequest request) {
+        String version = versions.ofBook(bookId);
+        if (include.isEmpty()) {
+            return responseCache.get(BookDto.class, bookId, version, () -> bookService.findBook(version, bookId, include), request);
+        }
+        if (request.checkNotModified(versions.eTag(version))) {
+            return null;
+        }
+        BookDto response = bookService.findBook(version, bookId, include);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+
+    @Operation(summary = "Get many Book objects by list of 'bookId' with one query")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "found Book objects in order of requested IDs and IDs which are not found",
+                    content = @Content(schema = @Schema(implementation = LookupResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Something wrong...",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    @GetMapping(value = "/books/lookup", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getBooks(
+            @Parameter(description = "IDs of Books separated by comma, up to " + BATCH_MAX_SIZE, required = true)
+            @RequestParam(name = IDS)
+            @NotEmpty(message = "Value of '" + IDS + "' parameter cannot be empty!")
+            @Size(max = BATCH_MAX_SIZE, message = "Value of '" + IDS + "' parameter cannot contain more than " + BATCH_MAX_SIZE + " IDs!")
+            List<Long> ids,
+
+            @Parameter(description = "embed related objects into Book: '" + INCLUDE_AUTHOR + "', '" + INCLUDE_GENRE + "' or both separated by comma")
+            @RequestParam(name = INCLUDE, defaultValue = "")
+            Set<@AllowableValues(values = {INCLUDE_AUTHOR, INCLUDE_GENRE}, message = "Values of '" + INCLUDE + "' parameter must be '" + INCLUDE_AUTHOR + "' or '" + INCLUDE_GENRE + "'") String> include) {
+        LookupResultDto<BookDto> response = bookService.findBooks(ids, include);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
@@ -86,12 +145,158 @@ public class BookController {
             @Parameter(description = "sorting order")
             @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
             @AllowableValues(values = {ASC, DESC}, message = "Value of 'orderType' parameter must be '" + ASC + "' or '"+ DESC + "'")
-            String orderType) {
-        List<BookDto> response = bookService.findAllBooks(sortBy, orderType, page, size, pagination);
+            String orderType,
+
+            @Parameter(description = "keyset pagination cursor: empty value for the first page, then value of '" + NEXT_CURSOR + "' response header; 'page' is ignored if set")
+            @RequestParam(name = CURSOR, required = false)
+            String cursor,
+
+            @Parameter(description = "embed related objects into Book: '" + INCLUDE_AUTHOR + "', '" + INCLUDE_GENRE + "' or both separated by comma")
+            @RequestParam(name = INCLUDE, defaultValue = "")
+            Set<@AllowableValues(values = {INCLUDE_AUTHOR, INCLUDE_GENRE}, message = "Values of '" + INCLUDE + "' parameter must be '" + INCLUDE_AUTHOR + "' or '" + INCLUDE_GENRE + "'") String> include,
+
+            WebRequest request) {
+        String eTag = eTagOf(include, versions.ofBooks());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        if (cursor != null) {
+            KeysetPage<BookDto> keysetPage = bookService.findAllBooks(sortBy, orderType, cursor, size, include);
+            HttpHeaders headers = new HttpHeaders();
+            if (keysetPage.getNextCursor() != null) {
+                headers.set(NEXT_CURSOR, keysetPage.getNextCursor());
+            }
+            return new ResponseEntity<>(keysetPage.getItems(), headers, HttpStatus.OK);
+        }
+
+        if (!pagination) {
+            StreamingResponseBody stream = bookService.streamAllBooks(sortBy, orderType, include);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(stream);
+        }
+
+        List<BookDto> response = bookService.findAllBooks(eTag, sortBy, orderType, page, size, include);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+
+    @Operation(summary = "Filter Books by language, Genre, Author, publication year, pages count and size with counts of every facet")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of matched Books, their total count and facets",
+                    content = @Content(schema = @Schema(implementation = BookFilterResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Something wrong...",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    @GetMapping(value = "/books/filter", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> filterBooks(
+            @Parameter(description = "Book languages separated by comma, case insensitive")
+            @RequestParam(name = LANGUAGE, defaultValue = "")
+            Set<String> language,
+
+            @Parameter(description = "Genre IDs separated by comma")
+            @RequestParam(name = GENRE, defaultValue = "")
+            Set<Long> genre,
+
+            @Parameter(description = "Author IDs separated by comma")
+            @RequestParam(name = AUTHOR, defaultValue = "")
+            Set<Long> author,
+
+            @Parameter(description = "minimal publication year")
+            @RequestParam(name = YEAR_FROM, required = false)
+            Integer yearFrom,
+
+            @Parameter(description = "maximal publication year")
+            @RequestParam(name = YEAR_TO, required = false)
+            Integer yearTo,
+
+            @Parameter(description = "minimal pages count")
+            @RequestParam(name = PAGES_MIN, required = false)
+            Integer pagesMin,
+
+            @Parameter(description = "maximal pages count")
+            @RequestParam(name = PAGES_MAX, required = false)
+            Integer pagesMax,
+
+            @Parameter(description = "minimal height")
+            @RequestParam(name = HEIGHT_MIN, required = false)
+            Double heightMin,
+
+            @Parameter(description = "maximal height")
+            @RequestParam(name = HEIGHT_MAX, required = false)
+            Double heightMax,
+
+            @Parameter(description = "minimal width")
+            @RequestParam(name = WIDTH_MIN, required = false)
+            Double widthMin,
+
+            @Parameter(description = "maximal width")
+            @RequestParam(name = WIDTH_MAX, required = false)
+            Double widthMax,
+
+            @Parameter(description = "minimal length")
+            @RequestParam(name = LENGTH_MIN, required = false)
+            Double lengthMin,
+
+            @Parameter(description = "maximal length")
+            @RequestParam(name = LENGTH_MAX, required = false)
+            Double lengthMax,
+
+            @Parameter(description = "page number")
+            @RequestParam(name = PAGE, defaultValue = "1")
+            @Min(value = 1, message = "Value of 'page' parameter must be positive and greater than zero!")
+            Integer page,
+
+            @Parameter(description = "count of objects per one page")
+            @RequestParam(name = SIZE, defaultValue = DEFAULT_SIZE)
+            @Min(value = 1, message = "Value of 'size' parameter must be positive and greater than zero!")
+            Integer size,
+
+            @Parameter(description = "count of the most frequent values returned for every facet")
+            @RequestParam(name = FACET_SIZE, defaultValue = DEFAULT_FACET_SIZE)
+            @Min(value = 0, message = "Value of '" + FACET_SIZE + "' parameter must not be negative!")
+            Integer facetSize,
+
+            @Parameter(description = "embed related objects into Book: '" + INCLUDE_AUTHOR + "', '" + INCLUDE_GENRE + "' or both separated by comma")
+            @RequestParam(name = INCLUDE, defaultValue = "")
+            Set<@AllowableValues(values = {INCLUDE_AUTHOR, INCLUDE_GENRE}, message = "Values of '" + INCLUDE + "' parameter must be '" + INCLUDE_AUTHOR + "' or '" + INCLUDE_GENRE + "'") String> include) {
+        BookFilter filter = new BookFilter(language, genre, author,
+                BookFilter.Range.of(yearFrom, yearTo),
+                BookFilter.Range.of(pagesMin, pagesMax),
+                BookFilter.Range.of(heightMin, heightMax),
+                BookFilter.Range.of(widthMin, widthMax),
+                BookFilter.Range.of(lengthMin, lengthMax));
+
+        BookFilterResultDto response = bookService.filterBooks(filter, page, size, facetSize, include);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
 
+    @Operation(summary = "Export all Books as NDJSON stream (one JSON object per line)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream of Book objects",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = BookDto.class))),
+            @ApiResponse(responseCode = "400", description = "Something wrong...",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    @GetMapping(value = "/books", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllBooks(
+            @Parameter(description = "Custom sort parameter. Try '/book/sorters' endpoint")
+            @RequestParam(name = SORT_BY, defaultValue = BOOK_ID)
+            String sortBy,
+
+            @Schema(allowableValues = {ASC, DESC})
+            @Parameter(description = "sorting order")
+            @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
+            @AllowableValues(values = {ASC, DESC}, message = "Value of '" + ORDER_TYPE + "' parameter must be '" + ASC + "' or '" + DESC + "'")
+            String orderType) {
+        StreamingResponseBody response = bookService.exportAllBooks(sortBy, orderType);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(response);
+    }
+
+
     @Operation(summary = "Get Books in special Genre")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Array of Book objects",
@@ -127,9 +332,18 @@ public class BookController {
             @Parameter(description = "sorting order")
             @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
             @AllowableValues(values = {ASC, DESC}, message = "Value of 'orderType' parameter must be '" + ASC + "' or '"+ DESC + "'")
-            String orderType) {
+            String orderType,
+
+            @Parameter(description = "embed related objects into Book: '" + INCLUDE_AUTHOR + "', '" + INCLUDE_GENRE + "' or both separated by comma")
+            @RequestParam(name = INCLUDE, defaultValue = "")
+            Set<@AllowableValues(values = {INCLUDE_AUTHOR, INCLUDE_GENRE}, message = "Values of '" + INCLUDE + "' parameter must be '" + INCLUDE_AUTHOR + "' or '" + INCLUDE_GENRE + "'") String> include,
+
+            WebRequest request) {
+        if (request.checkNotModified(eTagOf(include, versions.ofGenre(genreId), versions.ofBooksOfGenre(genreId)))) {
+            return null;
+        }
 
-        List<BookDto> response = bookService.findBooksInGenre(genreId, sortBy, orderType, page, size, pagination);
+        List<BookDto> response = bookService.findBooksInGenre(genreId, sortBy, orderType, page, size, pagination, include);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
@@ -155,9 +369,18 @@ public class BookController {
             @Parameter(description = "sorting order")
             @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
             @AllowableValues(values = {ASC, DESC}, message = "Value of 'orderType' parameter must be '" + ASC + "' or '"+ DESC + "'")
-            String orderType) {
+            String orderType,
+
+            @Parameter(description = "embed related objects into Book: '" + INCLUDE_AUTHOR + "', '" + INCLUDE_GENRE + "' or both separated by comma")
+            @RequestParam(name = INCLUDE, defaultValue = "")
+            Set<@AllowableValues(values = {INCLUDE_AUTHOR, INCLUDE_GENRE}, message = "Values of '" + INCLUDE + "' parameter must be '" + INCLUDE_AUTHOR + "' or '" + INCLUDE_GENRE + "'") String> include,
+
+            WebRequest request) {
+        if (request.checkNotModified(eTagOf(include, versions.ofAuthor(authorId), versions.ofBooksOfAuthor(authorId)))) {
+            return null;
+        }
 
-        List<BookDto> response = bookService.findAuthorBooks(authorId, sortBy, orderType);
+        List<BookDto> response = bookService.findAuthorBooks(authorId, sortBy, orderType, include);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
@@ -179,8 +402,17 @@ public class BookController {
 
             @Parameter(description = "existed Genre ID", required = true)
             @PathVariable
-            Long genreId) {
-        List<BookDto> response = bookService.findBooksOfAuthorInGenre(authorId, genreId);
+            Long genreId,
+
+            @Parameter(description = "embed related objects into Book: '" + INCLUDE_AUTHOR + "', '" + INCLUDE_GENRE + "' or both separated by comma")
+            @RequestParam(name = INCLUDE, defaultValue = "")
+            Set<@AllowableValues(values = {INCLUDE_AUTHOR, INCLUDE_GENRE}, message = "Values of '" + INCLUDE + "' parameter must be '" + INCLUDE_AUTHOR + "' or '" + INCLUDE_GENRE + "'") String> include,
+
+            WebRequest request) {
+        if (request.checkNotModified(eTagOf(include, versions.ofAuthor(authorId), versions.ofGenre(genreId), versions.ofBooksOfAuthor(authorId)))) {
+            return null;
+        }
+        List<BookDto> response = bookService.findBooksOfAuthorInGenre(authorId, genreId, include);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
@@ -243,6 +475,58 @@ public class BookController {
     }
 
 
+    @Operation(summary = "Create many Books at once",
+            description = "Whole batch is validated before insert: if any Book is invalid, refers to not existed " +
+                    "Author or Genre or duplicates another one, nothing is created")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "newly created Books in the same order",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = BookDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Something wrong...",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Author or Genre not found",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Book with such name and description already exists",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    @ResponseStatus(value = HttpStatus.CREATED)
+    @PostMapping(value = "/books/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> addNewBooks(
+            @Parameter(description = "Books to add with IDs of their Authors and Genres", name = "Book objects", required = true)
+            @RequestBody
+            @NotEmpty(message = "Batch cannot be empty!")
+            @Size(max = BATCH_MAX_SIZE, message = "Batch cannot contain more than " + BATCH_MAX_SIZE + " objects!")
+            List<@Valid BookBatchItemDto> newBooks) {
+        List<BookDto> response = bookService.addNewBooks(newBooks);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+
+    @Operation(summary = "Import Books from NDJSON or CSV upload of any size",
+            description = "Every row is a Book with IDs of its Author and Genre, as in '/books/batch'. CSV header holds " +
+                    "property paths, e.g. 'authorId,genreId,book.bookName,book.bookLanguage,book.additional.size.width'. " +
+                    "Rows are committed in chunks, rows that can't be saved are reported and skipped",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, content = {
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = BookBatchItemDto.class)),
+                    @Content(mediaType = TEXT_CSV)
+            }))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream of failed rows, summary is the last line",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ImportRowErrorDto.class)))
+    })
+    @PostMapping(value = "/books/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE)
+            String contentType,
+
+            InputStream body) {
+        boolean csv = MediaType.valueOf(contentType).isCompatibleWith(MediaType.valueOf(TEXT_CSV));
+        StreamingResponseBody response = bookService.importBooks(body, csv);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(response);
+    }
+
+
     @Operation(summary = "Update existed Book")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "updated Book object",
@@ -281,4 +565,18 @@ public class BookController {
         bookService.deleteExistedBook(bookId);
         return new ResponseEntity<>("", HttpStatus.NO_CONTENT);
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Books with embedded Authors or Genres change together with any of them.
+     */
+    private String eTagOf(Set<String> include, String... versions) {
+        if (include.isEmpty()) {
+            return this.versions.eTag(versions);
+        }
+        String[] all = Arrays.copyOf(versions, versions.length + 2);
+        all[versions.length] = this.versions.ofAuthors();
+        all[versions.length + 1] = this.versions.ofGenres();
+        return this.versions.eTag(all);
+    }
+}
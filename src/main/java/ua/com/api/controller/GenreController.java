@@ -9,19 +9,29 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ua.com.api.entity.dto.LookupResultDto;
 import ua.com.api.entity.dto.SortByPropertiesDto;
 import ua.com.api.entity.dto.genre.GenreDto;
 import ua.com.api.entity.dto.genre.GenreWithoutIdDto;
 import ua.com.api.exception.model.ExceptionResponse;
+import ua.com.api.repository.keyset.KeysetPage;
 import ua.com.api.service.GenreService;
 import ua.com.api.service.util.annotation.AllowableValues;
+import ua.com.api.service.version.ResponseCache;
+import ua.com.api.service.version.Versions;
 
+import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
 import java.util.List;
 
 import static ua.com.api.service.constants.Constants.*;
@@ -36,6 +46,12 @@ public class GenreController {
     @Autowired
     private GenreService genreService;
 
+    @Autowired
+    private Versions versions;
+
+    @Autowired
+    private ResponseCache responseCache;
+
     @Operation(description = "Get one Genre object by it 'genreId'")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Special Genre object in JSON",
@@ -49,8 +65,28 @@ public class GenreController {
     public ResponseEntity<?> getGenre(
             @Parameter(required = true, description = "existed Genre ID")
             @PathVariable
-            Long genreId) {
-        GenreDto response = genreService.findGenre(genreId);
+            Long genreId,
+
+            WebRequest request) {
+        String version = versions.ofGenre(genreId);
+        return responseCache.get(GenreDto.class, genreId, version, () -> genreService.findGenre(version, genreId), request);
+    }
+
+    @Operation(description = "Get many Genre objects by list of 'genreId' with one query")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "found Genre objects in order of requested IDs and IDs which are not found",
+                    content = @Content(schema = @Schema(implementation = LookupResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Something wrong...",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    @GetMapping(value = "/genres/lookup", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getGenres(
+            @Parameter(description = "IDs of Genres separated by comma, up to " + BATCH_MAX_SIZE, required = true)
+            @RequestParam(name = IDS)
+            @NotEmpty(message = "Value of '" + IDS + "' parameter cannot be empty!")
+            @Size(max = BATCH_MAX_SIZE, message = "Value of '" + IDS + "' parameter cannot contain more than " + BATCH_MAX_SIZE + " IDs!")
+            List<Long> ids) {
+        LookupResultDto<GenreDto> response = genreService.findGenres(ids);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
@@ -68,7 +104,12 @@ public class GenreController {
             @Parameter(required = true, description = "existed Book ID")
             @PathVariable
             @Min(value = 0, message = "Value of 'bookId' parameter must be positive!")
-            Long bookId) {
+            Long bookId,
+
+            WebRequest request) {
+        if (request.checkNotModified(versions.eTag(versions.ofBook(bookId)))) {
+            return null;
+        }
         GenreDto response = genreService.findGenreOfBook(bookId);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -104,12 +145,62 @@ public class GenreController {
             @Parameter(description = "count of objects per one page")
             @RequestParam(name = SIZE, defaultValue = DEFAULT_SIZE)
             @Min(value = 1, message = "Value of '" + SIZE + "' parameter must be positive and greater than zero!")
-            Integer size) {
+            Integer size,
+
+            @Parameter(description = "keyset pagination cursor: empty value for the first page, then value of '" + NEXT_CURSOR + "' response header; 'page' is ignored if set")
+            @RequestParam(name = CURSOR, required = false)
+            String cursor,
+
+            WebRequest request) {
+        String version = versions.ofGenres();
+        if (request.checkNotModified(versions.eTag(version))) {
+            return null;
+        }
+
+        if (cursor != null) {
+            KeysetPage<GenreDto> keysetPage = genreService.findAllGenres(sortBy, orderType, cursor, size);
+            HttpHeaders headers = new HttpHeaders();
+            if (keysetPage.getNextCursor() != null) {
+                headers.set(NEXT_CURSOR, keysetPage.getNextCursor());
+            }
+            return new ResponseEntity<>(keysetPage.getItems(), headers, HttpStatus.OK);
+        }
+
+        if (!pagination) {
+            StreamingResponseBody stream = genreService.streamAllGenres(sortBy, orderType);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(stream);
+        }
 
-        List<GenreDto> response = genreService.findAllGenres(sortBy, orderType, page, size, pagination);
+        List<GenreDto> response = genreService.findAllGenres(version, sortBy, orderType, page, size);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @Operation(description = "Export all Genres as NDJSON stream (one JSON object per line)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream of Genre objects",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = GenreDto.class))),
+            @ApiResponse(responseCode = "400", description = "Something wrong...",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    @GetMapping(value = "/genres", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllGenres(
+            @Parameter(description = "Custom sort parameter. Try '/genre/sorters' endpoint")
+            @RequestParam(name = SORT_BY, defaultValue = GENRE_ID)
+            String sortBy,
+
+            @Schema(allowableValues = {ASC, DESC})
+            @Parameter(description = "sorting order")
+            @RequestParam(name = ORDER_TYPE, defaultValue = ASC)
+            @AllowableValues(values = {ASC, DESC}, message = "Value of '" + ORDER_TYPE + "' parameter must be '" + ASC + "' or '" + DESC + "'")
+            String orderType) {
+        StreamingResponseBody response = genreService.exportAllGenres(sortBy, orderType);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(response);
+    }
+
     @Operation(description = "Search for Genre by it name")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Array of Genre objects",
@@ -149,7 +240,12 @@ public class GenreController {
 
             @Parameter(description = "custom sort parameter, try '/genre/sorters' endpoint")
             @RequestParam(name = SORT_BY, defaultValue = GENRE_ID)
-            String sortBy) {
+            String sortBy,
+
+            WebRequest request) {
+        if (request.checkNotModified(versions.eTag(versions.ofAuthor(authorId), versions.ofBooksOfAuthor(authorId), versions.ofGenres()))) {
+            return null;
+        }
 
         List<GenreDto> response = genreService.findAllGenresOfAuthor(authorId, sortBy, orderType);
         return new ResponseEntity<>(response, HttpStatus.OK);
@@ -187,6 +283,28 @@ public class GenreController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @Operation(description = "Create many Genres at once. Whole batch is validated before insert: " +
+            "if any Genre is invalid or has not unique name, nothing is created")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "newly created Genres in the same order",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = GenreDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Something wrong...",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Genre with such name already exists",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+    })
+    @ResponseStatus(value = HttpStatus.CREATED)
+    @PostMapping(value = "/genres/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> addNewGenres(
+            @Parameter(required = true, description = "Genres to add", name = "Genre objects")
+            @RequestBody
+            @NotEmpty(message = "Batch cannot be empty!")
+            @Size(max = BATCH_MAX_SIZE, message = "Batch cannot contain more than " + BATCH_MAX_SIZE + " objects!")
+            List<@Valid GenreWithoutIdDto> postGenres) {
+        List<GenreDto> response = genreService.addNewGenres(postGenres);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
     @Operation(description = "Update existed Genre")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "updated Genre object",
@@ -4,6 +4,13 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.Parameter;
+import ua.com.api.entity.listener.EntityChangeListener;
 import ua.com.api.service.util.annotation.ForSort;
 
 import javax.persistence.*;
@@ -17,11 +24,22 @@ import java.util.List;
 @NoArgsConstructor
 
 @Entity
-@Table(name = "author")
+@EntityListeners(EntityChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
+@Table(name = "author", indexes = {
+        @Index(name = "idx_author_books_count", columnList = "books_count, author_id")
+})
 public class Author implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_seq")
+    @GenericGenerator(name = "author_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "author_seq"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     @Column(name = "author_id", unique = true)
     @ForSort(defaultValue = "authorId",
             aliases = {"id"})
@@ -55,6 +73,20 @@ public class Author implements Serializable {
     @Column(name = "birth_city", length = 50)
     private String birthCity;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Changed by services together with Books of Author under row lock. Its changes don't advance version, so they
+     * never fail concurrent update of other properties, and UPDATE of other properties doesn't write it.
+     */
+    @OptimisticLock(excluded = true)
+    @Column(name = "books_count", insertable = false)
+    @ForSort(defaultValue = "booksCount",
+            aliases = {"books", "countOfBooks", "numberOfBooks"})
+    private Long booksCount;
+
     @OneToMany(mappedBy = "author", orphanRemoval = true)
     private List<Book> books;
 }
@@ -4,8 +4,12 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.Parameter;
+import ua.com.api.entity.listener.EntityChangeListener;
 import ua.com.api.service.util.annotation.ForSort;
 
 import javax.persistence.*;
@@ -17,10 +21,25 @@ import java.io.Serializable;
 @NoArgsConstructor
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "book", indexes = {
+        @Index(name = "idx_book_volume", columnList = "book_volume, book_id"),
+        @Index(name = "idx_book_square", columnList = "book_square, book_id"),
+        @Index(name = "idx_book_author_genre", columnList = "authorId, genreId"),
+        @Index(name = "idx_book_genre_author", columnList = "genreId, authorId"),
+        @Index(name = "idx_book_name_description", columnList = "book_name, book_description")
+})
 public class Book implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @GenericGenerator(name = "book_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "book_seq"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     @Column(name = "book_id", unique = true)
     @ForSort(defaultValue = "bookId",
             aliases = {"id"})
@@ -51,12 +70,12 @@ public class Book implements Serializable {
     @Column(name = "book_length")
     private Double bookLength;
 
-    @Formula(value = "book_height * book_width * book_length")
+    @Column(name = "book_volume")
     @ForSort(defaultValue = "volume",
             aliases = {"bookVolume", "volumeOfBook"})
     private Double volume;
 
-    @Formula(value = "book_width * book_length")
+    @Column(name = "book_square")
     @ForSort(defaultValue = "square",
             aliases = {"squareOfBook", "bookSquare"})
     private Double square;
@@ -66,6 +85,10 @@ public class Book implements Serializable {
             aliases = {"publication", "year", "pubYear"})
     private Integer publicationYear;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "authorId")
     private Author author;
@@ -73,4 +96,11 @@ public class Book implements Serializable {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "genreId")
     private Genre genre;
-}
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    void calculateDimensions() {
+        volume = bookHeight == null || bookWidth == null || bookLength == null ? null : bookHeight * bookWidth * bookLength;
+        square = bookWidth == null || bookLength == null ? null : bookWidth * bookLength;
+    }
+}
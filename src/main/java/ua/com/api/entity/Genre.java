@@ -4,6 +4,13 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.Parameter;
+import ua.com.api.entity.listener.EntityChangeListener;
 import ua.com.api.service.util.annotation.ForSort;
 
 import javax.persistence.*;
@@ -16,11 +23,22 @@ import java.util.List;
 @NoArgsConstructor
 
 @Entity
-@Table(name = "genre")
+@EntityListeners(EntityChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
+@Table(name = "genre", indexes = {
+        @Index(name = "idx_genre_books_count", columnList = "books_count, genre_id")
+})
 public class Genre implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "genre_seq")
+    @GenericGenerator(name = "genre_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "genre_seq"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     @Column(name = "genre_id", unique = true)
     @ForSort(defaultValue = "genreId",
             aliases = {"id"})
@@ -34,6 +52,20 @@ public class Genre implements Serializable {
     @Column(name = "genre_description", length = 1000)
     private String description;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Changed by services together with Books of Genre under row lock. Its changes don't advance version, so they
+     * never fail concurrent update of other properties, and UPDATE of other properties doesn't write it.
+     */
+    @OptimisticLock(excluded = true)
+    @Column(name = "books_count", insertable = false)
+    @ForSort(defaultValue = "booksCount",
+            aliases = {"books", "countOfBooks", "numberOfBooks"})
+    private Long booksCount;
+
     @OneToMany(mappedBy = "genre", orphanRemoval = true)
     private List<Book> books;
 }
@@ -0,0 +1,21 @@
+package ua.com.api.entity.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode
+@AllArgsConstructor
+@Schema(name = "LookupResult")
+public class LookupResultDto<D> {
+
+    @Schema(description = "found objects in order of requested ids")
+    private List<D> found;
+
+    @Schema(description = "requested ids without object")
+    private List<Long> missing;
+}
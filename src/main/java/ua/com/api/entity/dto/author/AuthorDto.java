@@ -1,5 +1,6 @@
 package ua.com.api.entity.dto.author;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.EqualsAndHashCode;
@@ -37,4 +38,8 @@ public class AuthorDto {
     @JsonDeserialize(using = CustomStringDeserializer.class)
     @Size(max = 1000, message = "Value 'description' must not be longer than 1000 characters!")
     private String description = "";
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "count of Books, may be absent in search results")
+    private Long booksCount;
 }
@@ -0,0 +1,29 @@
+package ua.com.api.entity.dto.book;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode
+@AllArgsConstructor
+@Schema(name = "BookToCreateInBatch")
+public class BookBatchItemDto {
+
+    @NotNull(message = "Value 'authorId' is required!")
+    @Positive(message = "Value 'authorId' must be positive")
+    private Long authorId;
+
+    @NotNull(message = "Value 'genreId' is required!")
+    @Positive(message = "Value 'genreId' must be positive")
+    private Long genreId;
+
+    @Valid
+    @NotNull(message = "Object 'book' is required!")
+    private BookWithoutIdDto book;
+}
@@ -0,0 +1,24 @@
+package ua.com.api.entity.dto.book;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ua.com.api.entity.dto.author.AuthorDto;
+import ua.com.api.entity.dto.genre.GenreDto;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Schema(name = "BookWithRelations")
+public class BookDetailsDto extends BookDto {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private AuthorDto author;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private GenreDto genre;
+}
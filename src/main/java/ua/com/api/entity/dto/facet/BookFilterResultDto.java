@@ -0,0 +1,29 @@
+package ua.com.api.entity.dto.facet;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import ua.com.api.entity.dto.book.BookDto;
+
+import java.util.List;
+import java.util.Map;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode
+@AllArgsConstructor
+@Schema(name = "BookFilterResult")
+public class BookFilterResultDto {
+
+    @Schema(description = "count of all matched Books")
+    private long total;
+
+    @Schema(description = "requested page of matched Books in order of their IDs")
+    private List<BookDto> books;
+
+    @Schema(description = "the most frequent values of 'language', 'genre' and 'author' with count of Books")
+    private Map<String, List<FacetValueDto>> facets;
+
+    @Schema(description = "min and max of 'year', 'pages', 'height', 'width' and 'length'")
+    private Map<String, RangeFacetDto> ranges;
+}
@@ -0,0 +1,15 @@
+package ua.com.api.entity.dto.facet;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode
+@AllArgsConstructor
+@Schema(name = "FacetValue")
+public class FacetValueDto {
+    private String value;
+    private long count;
+}
@@ -0,0 +1,15 @@
+package ua.com.api.entity.dto.facet;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode
+@AllArgsConstructor
+@Schema(name = "RangeFacet")
+public class RangeFacetDto {
+    private Double min;
+    private Double max;
+}
@@ -1,5 +1,6 @@
 package ua.com.api.entity.dto.genre;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
@@ -25,4 +26,8 @@ public class GenreDto {
     @JsonDeserialize(using = CustomStringDeserializer.class)
     @Size(max = 1000, message = "Value 'description' cannot be longer than 1000 characters!")
     private String description = "";
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "count of Books, may be absent in search results")
+    private Long booksCount;
 }
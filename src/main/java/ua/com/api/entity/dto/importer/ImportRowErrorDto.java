@@ -0,0 +1,16 @@
+package ua.com.api.entity.dto.importer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode
+@AllArgsConstructor
+@Schema(name = "ImportRowError")
+public class ImportRowErrorDto {
+    @Schema(description = "line of NDJSON or record of CSV (without header), starting from 1")
+    private long row;
+    private String error;
+}
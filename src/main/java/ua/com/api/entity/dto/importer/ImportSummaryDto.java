@@ -0,0 +1,20 @@
+package ua.com.api.entity.dto.importer;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode
+@AllArgsConstructor
+@Schema(name = "ImportSummary")
+public class ImportSummaryDto {
+    private long imported;
+    private long failed;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "present if upload was not read to the end")
+    private String error;
+}
@@ -0,0 +1,32 @@
+package ua.com.api.entity.listener;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Captures every flushed change of Book, Author and Genre (including Books removed as orphans of deleted
+ * Author or Genre) and publishes it as {@link EntityChangedEvent}. Consumers are expected to listen with
+ * {@code @TransactionalEventListener}, so only committed changes are applied to derived structures.
+ */
+@Component
+public class EntityChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        publisher.publishEvent(new EntityChangedEvent(entity, EntityChangedEvent.ChangeType.SAVED));
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        publisher.publishEvent(new EntityChangedEvent(entity, EntityChangedEvent.ChangeType.REMOVED));
+    }
+}
@@ -0,0 +1,20 @@
+package ua.com.api.entity.listener;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EntityChangedEvent {
+
+    public enum ChangeType {
+        SAVED, REMOVED
+    }
+
+    private final Object entity;
+    private final ChangeType type;
+
+    public boolean isRemoved() {
+        return type == ChangeType.REMOVED;
+    }
+}
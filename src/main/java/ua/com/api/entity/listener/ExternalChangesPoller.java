@@ -0,0 +1,209 @@
+package ua.com.api.entity.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.api.entity.Author;
+import ua.com.api.entity.Book;
+import ua.com.api.entity.Genre;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Applies rows changed by reactive API to derived structures of this instance: search and facet indexes and
+ * 2nd-level cache. Reactive API writes ID of every changed row into 'entity_change' table in the same transaction,
+ * they are read every 'library.external-changes.poll-ms'. Every changed entity is evicted from 2nd-level cache,
+ * re-read and published as {@link EntityChangedEvent} (as REMOVED one if it is gone), so it is applied by the same
+ * listeners as changes of this instance.
+ * <p>
+ * Change IDs come from auto-increment and transactions may commit out of order, so IDs skipped by a poll are
+ * re-checked for {@link #GAP_WAIT_MS} before they are taken as rolled back. Skipped IDs are kept as ranges, so a jump
+ * of auto-increment costs one entry, and at most {@link #MAX_GAPS} of them are kept, the oldest are given up first.
+ * Changes older than 'library.external-changes.retention-ms' are deleted every tenth of it. Position is taken on
+ * creation, before indexes are loaded (they depend on this bean), so no change committed after loading is missed.
+ */
+@Slf4j
+@Component
+public class ExternalChangesPoller {
+    public static final String BOOK = "book";
+    public static final String AUTHOR = "author";
+    public static final String GENRE = "genre";
+
+    private static final long GAP_WAIT_MS = 60_000;
+    private static final int MAX_GAPS = 1000;
+    private static final RowMapper<Change> CHANGE = (rs, rowNum) ->
+            new Change(rs.getLong("change_id"), rs.getString("entity"), rs.getLong("entity_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long retentionMs;
+    private final NavigableMap<Long, Gap> gaps = new TreeMap<>();
+    private long lastSeen;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    public ExternalChangesPoller(JdbcTemplate jdbcTemplate,
+                                 @Value("${library.external-changes.retention-ms:3600000}") long retentionMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionMs = retentionMs;
+        this.lastSeen = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(change_id), 0) FROM entity_change", Long.class);
+    }
+
+    @Scheduled(fixedDelayString = "${library.external-changes.poll-ms:1000}")
+    public synchronized void poll() {
+        long now = System.currentTimeMillis();
+        List<Change> changes = new ArrayList<>(jdbcTemplate.query(
+                "SELECT change_id, entity, entity_id FROM entity_change WHERE change_id > ? ORDER BY change_id", CHANGE, lastSeen));
+
+        if (!gaps.isEmpty()) {
+            jdbcTemplate.query("SELECT change_id, entity, entity_id FROM entity_change WHERE change_id BETWEEN ? AND ?",
+                            CHANGE, gaps.firstKey(), gaps.lastEntry().getValue().to()).stream()
+                    .filter(change -> filled(change.id()))
+                    .forEach(changes::add);
+        }
+
+        Set<ChangedRow> changed = new LinkedHashSet<>();
+        for (Change change : changes) {
+            if (change.id() > lastSeen) {
+                if (change.id() > lastSeen + 1) {
+                    gaps.put(lastSeen + 1, new Gap(change.id() - 1, now));
+                }
+                lastSeen = change.id();
+            }
+            changed.add(new ChangedRow(change.entity(), change.entityId()));
+        }
+        gaps.values().removeIf(gap -> now - gap.skippedAt() > GAP_WAIT_MS);
+        while (gaps.size() > MAX_GAPS) {
+            Map.Entry<Long, Gap> oldest = gaps.pollFirstEntry();
+            log.warn("Changes {}..{} are not waited for any more, too many gaps", oldest.getKey(), oldest.getValue().to());
+        }
+
+        if (!changed.isEmpty()) {
+            apply(changed);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{${library.external-changes.retention-ms:3600000} / 10}",
+            initialDelayString = "#{${library.external-changes.retention-ms:3600000} / 10}")
+    public void deleteExpired() {
+        jdbcTemplate.update("DELETE FROM entity_change WHERE changed_at < ?",
+                new Timestamp(System.currentTimeMillis() - retentionMs));
+    }
+
+    /**
+     * Takes the ID out of the gap it falls into, splitting the gap, false if it was not skipped.
+     */
+    private boolean filled(long id) {
+        Map.Entry<Long, Gap> entry = gaps.floorEntry(id);
+        if (entry == null || id > entry.getValue().to()) {
+            return false;
+        }
+
+        Gap gap = gaps.remove(entry.getKey());
+        if (id > entry.getKey()) {
+            gaps.put(entry.getKey(), new Gap(id - 1, gap.skippedAt()));
+        }
+        if (id < gap.to()) {
+            gaps.put(id + 1, gap);
+        }
+        return true;
+    }
+
+    private void apply(Set<ChangedRow> changed) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> changed.forEach(change -> {
+            Class<?> clazz = entityClass(change.entity());
+            if (clazz == null) {
+                log.warn("Change of unknown entity '{}' is skipped", change.entity());
+                return;
+            }
+
+            entityManagerFactory.getCache().evict(clazz, change.entityId());
+            Object entity = entityManager.find(clazz, change.entityId());
+
+            if (entity != null) {
+                publisher.publishEvent(new EntityChangedEvent(entity, EntityChangedEvent.ChangeType.SAVED));
+            } else {
+                publisher.publishEvent(new EntityChangedEvent(removed(change.entity(), change.entityId()),
+                        EntityChangedEvent.ChangeType.REMOVED));
+            }
+        }));
+        entityManagerFactory.unwrap(Cache.class).evictQueryRegions();
+        log.debug("{} rows changed by reactive API are applied", changed.size());
+    }
+
+    private static Class<?> entityClass(String entity) {
+        switch (entity) {
+            case BOOK:
+                return Book.class;
+            case AUTHOR:
+                return Author.class;
+            case GENRE:
+                return Genre.class;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Entity with only ID set, as listeners of removed entities read nothing else.
+     */
+    private static Object removed(String entity, long id) {
+        switch (entity) {
+            case BOOK:
+                Book book = new Book();
+                book.setBookId(id);
+                return book;
+            case AUTHOR:
+                Author author = new Author();
+                author.setAuthorId(id);
+                return author;
+            default:
+                Genre genre = new Genre();
+                genre.setGenreId(id);
+                return genre;
+        }
+    }
+
+    private record Change(long id, String entity, long entityId) {
+    }
+
+    private record ChangedRow(String entity, long entityId) {
+    }
+
+    /**
+     * Skipped IDs from the key of {@link #gaps} up to {@code to}, both inclusive.
+     */
+    private record Gap(long to, long skippedAt) {
+    }
+}
@@ -0,0 +1,33 @@
+package ua.com.api.exception;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import ua.com.api.exception.entity.type.InvalidDateTypeException;
+import ua.com.api.exception.entity.type.InvalidTypeException;
+import ua.com.api.exception.entity.type.InvalidYearValueException;
+
+import java.time.Year;
+
+/**
+ * Messages about values rejected by custom deserializers, shared by request body and import row errors.
+ */
+public final class InvalidValueMessage {
+
+    private InvalidValueMessage() {
+    }
+
+    /**
+     * @return message for the most specific cause of deserialization error or null if the cause is unknown
+     */
+    public static String of(Throwable cause) {
+        if (cause instanceof JsonParseException) {
+            return "Request JSON is invalid!";
+        } else if (cause instanceof InvalidDateTypeException e) {
+            return "Value '" + e.getValue() + "' in '" + e.getKey() + "' is invalid! Valid format is: yyyy-MM-dd!";
+        } else if (cause instanceof InvalidTypeException e) {
+            return "'" + e.getKey() + "' is require to be of '" + e.getClazz().getSimpleName() + "' type!";
+        } else if (cause instanceof InvalidYearValueException) {
+            return "Year value can't be grater then " + Year.now().getValue();
+        }
+        return null;
+    }
+}
@@ -1,11 +1,11 @@
 package ua.com.api.exception;
 
-import com.fasterxml.jackson.core.JsonParseException;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -15,7 +15,9 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+import ua.com.api.exception.entity.InvalidCursorException;
 import ua.com.api.exception.entity.InvalidSortByParameterValueException;
+import ua.com.api.exception.entity.PageSizeIsTooLargeException;
 import ua.com.api.exception.entity.author.AuthorAlreadyExistsException;
 import ua.com.api.exception.entity.author.AuthorNotFoundException;
 import ua.com.api.exception.entity.author.BooksInAuthorArePresentException;
@@ -27,15 +29,11 @@ import ua.com.api.exception.entity.genre.GenreNotFoundException;
 import ua.com.api.exception.entity.search.SearchKeywordsIsTooShortException;
 import ua.com.api.exception.entity.search.SearchQueryIsBlankException;
 import ua.com.api.exception.entity.search.SearchQueryIsTooShortException;
-import ua.com.api.exception.entity.type.InvalidDateTypeException;
-import ua.com.api.exception.entity.type.InvalidTypeException;
-import ua.com.api.exception.entity.type.InvalidYearValueException;
 import ua.com.api.exception.model.ExceptionResponse;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import java.text.SimpleDateFormat;
-import java.time.Year;
 import java.util.Date;
 import java.util.Objects;
 import java.util.Optional;
@@ -74,6 +72,30 @@ public class ResponseExceptionHandler extends ResponseEntityExceptionHandler {
                 HttpStatus.BAD_REQUEST);
     }
 
+    @ResponseBody
+    @ExceptionHandler(value = PageSizeIsTooLargeException.class)
+    public ResponseEntity<ExceptionResponse> handlePageSizeIsTooLarge(PageSizeIsTooLargeException pstle) {
+        return new ResponseEntity<>(
+                new ExceptionResponse(
+                        generateDate(),
+                        HttpStatus.BAD_REQUEST.value(),
+                        HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                        "Value of 'size' parameter cannot be greater than " + pstle.getMaxSize() + "!"),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    @ResponseBody
+    @ExceptionHandler(value = InvalidCursorException.class)
+    public ResponseEntity<ExceptionResponse> handleInvalidCursor(InvalidCursorException ice) {
+        return new ResponseEntity<>(
+                new ExceptionResponse(
+                        generateDate(),
+                        HttpStatus.BAD_REQUEST.value(),
+                        HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                        ice.getErrorMessage()),
+                HttpStatus.BAD_REQUEST);
+    }
+
     @ResponseBody
     @ExceptionHandler(value = AuthorNotFoundException.class)
     public ResponseEntity<ExceptionResponse> handleAuthorNotFound(AuthorNotFoundException enfe) {
@@ -162,6 +184,19 @@ public class ResponseExceptionHandler extends ResponseEntityExceptionHandler {
                 HttpStatus.CONFLICT);
     }
 
+    @ResponseBody
+    @ExceptionHandler(value = ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ExceptionResponse> handleConcurrentUpdate(ObjectOptimisticLockingFailureException oolfe) {
+        String message = "%s with ID = '%s' was changed by another request, get it again and repeat update!";
+        return new ResponseEntity<>(
+                new ExceptionResponse(
+                        generateDate(),
+                        HttpStatus.CONFLICT.value(),
+                        HttpStatus.CONFLICT.getReasonPhrase(),
+                        String.format(message, oolfe.getPersistentClassName().replaceAll(".*\\.", ""), oolfe.getIdentifier())),
+                HttpStatus.CONFLICT);
+    }
+
     @ResponseBody
     @ExceptionHandler(value = BooksInAuthorArePresentException.class)
     public ResponseEntity<ExceptionResponse> handleBooksIsPresent(BooksInAuthorArePresentException biaip) {
@@ -251,18 +286,9 @@ public class ResponseExceptionHandler extends ResponseEntityExceptionHandler {
     @Override
     @ResponseBody
     protected ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException ex, HttpHeaders headers, HttpStatus status, WebRequest request) {
-        Throwable cause = ex.getMostSpecificCause();
-        String message;
+        String message = InvalidValueMessage.of(ex.getMostSpecificCause());
 
-        if (cause instanceof JsonParseException) {
-            message = "Request JSON is invalid!";
-        } else if (cause instanceof InvalidDateTypeException e) {
-            message = "Value '" + e.getValue() + "' in '" + e.getKey() + "' is invalid! Valid format is: yyyy-MM-dd!";
-        } else if (cause instanceof InvalidTypeException e) {
-            message = "'" + e.getKey() + "' is require to be of '" + e.getClazz().getSimpleName() + "' type!";
-        } else if (cause instanceof InvalidYearValueException) {
-            message = "Year value can't be grater then " + Year.now().getValue();
-        } else {
+        if (message == null) {
             message = Objects.requireNonNull(ex.getMessage()).split(": ")[0];
         }
 
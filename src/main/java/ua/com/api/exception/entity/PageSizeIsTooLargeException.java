@@ -0,0 +1,13 @@
+package ua.com.api.exception.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@AllArgsConstructor
+public class PageSizeIsTooLargeException extends RuntimeException {
+    private int size;
+    private int maxSize;
+}
@@ -0,0 +1,23 @@
+package ua.com.api.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ua.com.api.service.version.ResponseCache;
+
+/**
+ * Hits, misses, evictions and size of serialized responses cache, see 'cache.*' metrics with 'cache=responses' tag.
+ */
+@Component
+public class ResponseCacheMetrics implements MeterBinder {
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responseCache.getCache(), "responses");
+    }
+}
@@ -0,0 +1,83 @@
+package ua.com.api.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ua.com.api.entity.Author;
+import ua.com.api.entity.Book;
+import ua.com.api.entity.Genre;
+
+import javax.cache.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+/**
+ * Hit ratio and size of every second-level cache region, see 'library.cache.*' metrics on '/actuator/metrics'.
+ * Request/put/miss counters are exposed by Hibernate itself as 'hibernate.second.level.cache.*'.
+ */
+@Component
+@ConditionalOnProperty(name = "library.cache.enabled", havingValue = "true")
+public class SecondLevelCacheMetrics implements MeterBinder {
+    private static final List<String> REGIONS = List.of(Book.class.getName(), Author.class.getName(),
+            Genre.class.getName(), "default-query-results-region");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        RegionFactory regionFactory = sessionFactory.getSessionFactoryOptions().getServiceRegistry()
+                .getService(RegionFactory.class);
+
+        for (String region : REGIONS) {
+            String tag = region.substring(region.lastIndexOf('.') + 1);
+
+            Gauge.builder("library.cache.hit.ratio", statistics, s -> hitRatio(s, region))
+                    .tag("region", tag)
+                    .register(registry);
+
+            Gauge.builder("library.cache.size", regionFactory, f -> size(f, region))
+                    .tag("region", tag)
+                    .register(registry);
+        }
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics stats;
+        try {
+            stats = statistics.getCacheRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+
+        if (stats == null) {
+            return 0;
+        }
+
+        long requests = stats.getHitCount() + stats.getMissCount();
+        return requests == 0 ? 0 : (double) stats.getHitCount() / requests;
+    }
+
+    private static double size(RegionFactory regionFactory, String region) {
+        if (!(regionFactory instanceof JCacheRegionFactory jCache)) {
+            return 0;
+        }
+
+        Cache<?, ?> cache = jCache.getCacheManager().getCache(region);
+        if (cache == null) {
+            return 0;
+        }
+
+        return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+}
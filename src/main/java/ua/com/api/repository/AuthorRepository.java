@@ -1,31 +1,58 @@
 package ua.com.api.repository;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ua.com.api.entity.Author;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByAuthorId(long authorId);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByFullNameAndAuthorIdNotLike(String fullName, long authorId);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByFullName(String fullName);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Author> getOneByAuthorId(long authorId);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query(value = "SELECT a FROM Author a JOIN Book b ON b.author.authorId = a.authorId AND b.bookId = ?1")
-    Author getAuthorOfBook(long bookId);
+    Optional<Author> getAuthorOfBook(long bookId);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query(value = "SELECT a FROM Author a")
     List<Author> getAllAuthors(PageRequest page);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query(value = "SELECT DISTINCT a FROM Author a JOIN Book b ON a.authorId = b.author.authorId AND b.genre.genreId = ?1")
     List<Author> getAllAuthorsInGenre(long genreId, PageRequest page);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(value = "SELECT DISTINCT a FROM Author a JOIN Book b ON a.authorId = b.author.authorId AND b.genre.genreId = ?1")
+    List<Author> getAllAuthorsInGenre(long genreId, Sort sort);
+
+    @QueryHints(value = {@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(value = "SELECT a FROM Author a")
+    Stream<Author> streamAllAuthors(Sort sort);
+
+    @Query(value = "SELECT a.fullName FROM Author a WHERE a.fullName IN ?1")
+    List<String> getExistedFullNames(Collection<String> fullNames);
 }
@@ -2,40 +2,126 @@ package ua.com.api.repository;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ua.com.api.entity.Book;
+import ua.com.api.repository.projection.BookFacetRow;
+import ua.com.api.repository.projection.BookRow;
+import ua.com.api.repository.projection.BooksCountRow;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Book> getOneByBookId(long bookId);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByBookId(long bookId);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByBookNameAndBookDescription(String bookName, String bookDescription);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByBookNameAndBookDescriptionAndBookIdNotLike(String bookName, String bookDescription, long bookId);
 
+    @QueryHints(value = {@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true")})
     @Query(value = "SELECT b FROM Book b")
-    List<Book> getAllBooks(PageRequest page);
+    Stream<Book> streamAllBooks(Sort sort);
+
+    @QueryHints(value = {@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(value = "SELECT new ua.com.api.repository.projection.BookFacetRow(b.bookId, b.bookLanguage, b.author.authorId, " +
+            "b.genre.genreId, b.publicationYear, b.pagesCount, b.bookHeight, b.bookWidth, b.bookLength) FROM Book b ORDER BY b.bookId")
+    Stream<BookFacetRow> streamAllFacetRows();
+
+    @Query(value = "SELECT b FROM Book b WHERE b.bookName IN ?1")
+    List<Book> getAllBooksWithNames(Collection<String> bookNames);
+
+    @Query(value = "SELECT new ua.com.api.repository.projection.BooksCountRow(b.genre.genreId, COUNT(b)) " +
+            "FROM Book b WHERE b.author.authorId = ?1 GROUP BY b.genre.genreId")
+    List<BooksCountRow> countBooksOfAuthorByGenre(long authorId);
+
+    @Query(value = "SELECT new ua.com.api.repository.projection.BooksCountRow(b.author.authorId, COUNT(b)) " +
+            "FROM Book b WHERE b.genre.genreId = ?1 GROUP BY b.author.authorId")
+    List<BooksCountRow> countBooksOfGenreByAuthor(long genreId);
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(value = "SELECT new ua.com.api.repository.projection.BookRow(b.bookId, b.bookName, b.bookDescription, " +
+            "b.bookLanguage, b.pagesCount, b.bookHeight, b.bookWidth, b.bookLength, b.publicationYear) FROM Book b")
+    List<BookRow> getAllBooks(PageRequest page);
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(value = "SELECT new ua.com.api.repository.projection.BookRow(b.bookId, b.bookName, b.bookDescription, " +
+            "b.bookLanguage, b.pagesCount, b.bookHeight, b.bookWidth, b.bookLength, b.publicationYear) " +
+            "FROM Book b WHERE b.genre.genreId=?1")
+    List<BookRow> getAllBooksInGenre(long genreId, PageRequest page);
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(value = "SELECT new ua.com.api.repository.projection.BookRow(b.bookId, b.bookName, b.bookDescription, " +
+            "b.bookLanguage, b.pagesCount, b.bookHeight, b.bookWidth, b.bookLength, b.publicationYear) " +
+            "FROM Book b WHERE b.genre.genreId=?1")
+    List<BookRow> getAllBooksInGenre(long genreId, Sort sort);
 
-    @Query(value = "SELECT COUNT(b) FROM Book b WHERE b.genre.genreId=?1")
-    Long getAllBooksInGenreCount(long genreId);
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(value = "SELECT new ua.com.api.repository.projection.BookRow(b.bookId, b.bookName, b.bookDescription, " +
+            "b.bookLanguage, b.pagesCount, b.bookHeight, b.bookWidth, b.bookLength, b.publicationYear) " +
+            "FROM Book b WHERE b.author.authorId=?1")
+    List<BookRow> getAllAuthorBooksOrdered(long authorId, Sort sort);
 
-    @Query(value = "SELECT COUNT(b) FROM Book b WHERE b.author.authorId=?1")
-    Long getAllBooksOfAuthorCount(long authorId);
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(value = "SELECT new ua.com.api.repository.projection.BookRow(b.bookId, b.bookName, b.bookDescription, " +
+            "b.bookLanguage, b.pagesCount, b.bookHeight, b.bookWidth, b.bookLength, b.publicationYear) " +
+            "FROM Book b WHERE b.author.authorId=?1 AND b.genre.genreId=?2")
+    List<BookRow> getAllAuthorBooksInGenre(long authorId, long genreId);
+
+    @EntityGraph(attributePaths = {"author", "genre"})
+    Optional<Book> findWithRelationsByBookId(long bookId);
+
+    @EntityGraph(attributePaths = {"author", "genre"})
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query(value = "SELECT b FROM Book b")
+    List<Book> getAllBooksWithRelations(PageRequest page);
+
+    @EntityGraph(attributePaths = {"author", "genre"})
+    @QueryHints(value = {@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(value = "SELECT b FROM Book b")
+    Stream<Book> streamAllBooksWithRelations(Sort sort);
+
+    @EntityGraph(attributePaths = {"author", "genre"})
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query(value = "SELECT b FROM Book b WHERE b.genre.genreId=?1")
+    List<Book> getAllBooksInGenreWithRelations(long genreId, PageRequest page);
 
+    @EntityGraph(attributePaths = {"author", "genre"})
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
     @Query(value = "SELECT b FROM Book b WHERE b.genre.genreId=?1")
-    List<Book> getAllBooksInGenre(long genreId, PageRequest page);
+    List<Book> getAllBooksInGenreWithRelations(long genreId, Sort sort);
 
+    @EntityGraph(attributePaths = {"author", "genre"})
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
     @Query(value = "SELECT b FROM Book b WHERE b.author.authorId=?1")
-    List<Book> getAllAuthorBooksOrdered(long authorId, Sort sort);
+    List<Book> getAllAuthorBooksWithRelationsOrdered(long authorId, Sort sort);
 
+    @EntityGraph(attributePaths = {"author", "genre"})
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
     @Query(value = "SELECT b FROM Book b WHERE b.author.authorId=?1 AND b.genre.genreId=?2")
-    List<Book> getAllAuthorBooksInGenre(long authorId, long genreId);
-}
\ No newline at end of file
+    List<Book> getAllAuthorBooksInGenreWithRelations(long authorId, long genreId);
+}
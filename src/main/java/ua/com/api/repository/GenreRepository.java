@@ -4,29 +4,51 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ua.com.api.entity.Genre;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface GenreRepository extends JpaRepository<Genre, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByGenreId(long genreId);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByGenreName(String genreName);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByGenreNameAndGenreIdNotLike(String genreName, long genreId);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Genre> getOneByGenreId(long genreId);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query(value = "SELECT g FROM Genre g")
     List<Genre> getAllGenres(PageRequest page);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query(value = "SELECT DISTINCT g FROM Genre g JOIN Book b ON g.genreId = b.genre.genreId AND b.author.authorId = ?1")
     List<Genre> getAllGenresOfAuthorOrdered(long authorId, Sort sort);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query(value = "SELECT g FROM Genre g JOIN Book b ON b.genre.genreId = g.genreId AND b.bookId = ?1")
-    Genre getGenreOfBook(long bookId);
+    Optional<Genre> getGenreOfBook(long bookId);
+
+    @QueryHints(value = {@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(value = "SELECT g FROM Genre g")
+    Stream<Genre> streamAllGenres(Sort sort);
+
+    @Query(value = "SELECT g.genreName FROM Genre g WHERE g.genreName IN ?1")
+    List<String> getExistedGenreNames(Collection<String> genreNames);
 }
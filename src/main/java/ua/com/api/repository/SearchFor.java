@@ -1,9 +1,11 @@
 package ua.com.api.repository;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 import ua.com.api.entity.Author;
 import ua.com.api.entity.Book;
 import ua.com.api.entity.Genre;
+import ua.com.api.repository.search.SearchEngine;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
@@ -12,19 +14,23 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Repository
-public class SearchFor {
+@ConditionalOnProperty(name = "library.search.engine", havingValue = "database")
+public class SearchFor implements SearchEngine {
 
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Override
     public List<Author> authors(String query, List<String> keywordsToSearch) {
         return getList(query, keywordsToSearch, Collections.singletonList("fullName"), Author.class);
     }
 
+    @Override
     public List<Genre> genres(String query, List<String> keywordsToSearch) {
         return getList(query, keywordsToSearch, Collections.singletonList("genreName"), Genre.class);
     }
 
+    @Override
     public List<Book> books(String query, List<String> keywordsToSearch) {
         return getList(query, keywordsToSearch, Collections.singletonList("bookName"), Book.class);
     }
@@ -43,7 +49,7 @@ public class SearchFor {
         return performSearch(full, clazz);
     }
 
-    private String buildSearchQuery(List<String> columnNames, List<String> valuesToSearch) {
+    String buildSearchQuery(List<String> columnNames, List<String> valuesToSearch) {
         String or = " OR ";
         String like = " LIKE ";
         String valueContains = "'%%%s%%'";
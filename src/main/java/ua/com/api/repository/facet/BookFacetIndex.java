@@ -0,0 +1,212 @@
+package ua.com.api.repository.facet;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import ua.com.api.entity.dto.facet.FacetValueDto;
+import ua.com.api.entity.dto.facet.RangeFacetDto;
+import ua.com.api.repository.projection.BookFacetRow;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of Book attributes for faceted filter. Every Book gets dense int ordinal, value attributes
+ * keep bitmap of ordinals per value and numeric attributes - ordinals sorted by value, so filter and facets are
+ * calculated with bitmap intersections only. Filters run in parallel under read lock, changes take write lock.
+ */
+public class BookFacetIndex {
+    public static final String LANGUAGE = "language";
+    public static final String GENRE = "genre";
+    public static final String AUTHOR = "author";
+    public static final String YEAR = "year";
+    public static final String PAGES = "pages";
+    public static final String HEIGHT = "height";
+    public static final String WIDTH = "width";
+    public static final String LENGTH = "length";
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final RoaringBitmap live = new RoaringBitmap();
+    private long[] bookIds = new long[0];
+    private int ordinalCount;
+
+    private final ValueColumn<String> languages = new ValueColumn<>();
+    private final ValueColumn<Long> genres = new ValueColumn<>();
+    private final ValueColumn<Long> authors = new ValueColumn<>();
+    private final Map<String, RangeColumn> ranges = new LinkedHashMap<>();
+
+    public BookFacetIndex() {
+        ranges.put(YEAR, new RangeColumn());
+        ranges.put(PAGES, new RangeColumn());
+        ranges.put(HEIGHT, new RangeColumn());
+        ranges.put(WIDTH, new RangeColumn());
+        ranges.put(LENGTH, new RangeColumn());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(BookFacetRow book) {
+        lock.writeLock().lock();
+        try {
+            write(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(BookFacetRow book) {
+        int ordinal = ordinals.computeIfAbsent(book.bookId(), this::nextOrdinal);
+        live.add(ordinal);
+
+        languages.set(ordinal, normalize(book.bookLanguage()));
+        genres.set(ordinal, book.genreId());
+        authors.set(ordinal, book.authorId());
+
+        ranges.get(YEAR).set(ordinal, book.publicationYear());
+        ranges.get(PAGES).set(ordinal, book.pagesCount());
+        ranges.get(HEIGHT).set(ordinal, book.bookHeight());
+        ranges.get(WIDTH).set(ordinal, book.bookWidth());
+        ranges.get(LENGTH).set(ordinal, book.bookLength());
+    }
+
+    public void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(bookId);
+            if (ordinal == null) {
+                return;
+            }
+
+            live.remove(ordinal);
+            languages.set(ordinal, null);
+            genres.set(ordinal, null);
+            authors.set(ordinal, null);
+            ranges.values().forEach(column -> column.set(ordinal, null));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Merges all pending changes into sorted arrays, called after bulk load.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            ranges.values().forEach(RangeColumn::merge);
+            live.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BookFacetResult filter(BookFilter filter, int offset, int limit, int facetSize) {
+        lock.readLock().lock();
+        try {
+            return read(filter, offset, limit, facetSize);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BookFacetResult read(BookFilter filter, int offset, int limit, int facetSize) {
+        Map<String, RoaringBitmap> conditions = new LinkedHashMap<>();
+
+        if (filter.languages() != null && !filter.languages().isEmpty()) {
+            conditions.put(LANGUAGE, languages.matching(filter.languages().stream()
+                    .map(BookFacetIndex::normalize)
+                    .collect(Collectors.toSet())));
+        }
+        if (filter.genreIds() != null && !filter.genreIds().isEmpty()) {
+            conditions.put(GENRE, genres.matching(filter.genreIds()));
+        }
+        if (filter.authorIds() != null && !filter.authorIds().isEmpty()) {
+            conditions.put(AUTHOR, authors.matching(filter.authorIds()));
+        }
+        putRange(conditions, YEAR, filter.year());
+        putRange(conditions, PAGES, filter.pages());
+        putRange(conditions, HEIGHT, filter.height());
+        putRange(conditions, WIDTH, filter.width());
+        putRange(conditions, LENGTH, filter.length());
+
+        RoaringBitmap matched = intersect(conditions, null);
+
+        Map<String, List<FacetValueDto>> values = new LinkedHashMap<>();
+        values.put(LANGUAGE, languages.top(intersect(conditions, LANGUAGE), facetSize));
+        values.put(GENRE, genres.top(intersect(conditions, GENRE), facetSize));
+        values.put(AUTHOR, authors.top(intersect(conditions, AUTHOR), facetSize));
+
+        Map<String, RangeFacetDto> bounds = new LinkedHashMap<>();
+        ranges.forEach((name, column) -> {
+            double[] minMax = column.bounds(intersect(conditions, name));
+            bounds.put(name, minMax == null ? new RangeFacetDto() : new RangeFacetDto(minMax[0], minMax[1]));
+        });
+
+        return new BookFacetResult(matched.getLongCardinality(), page(matched, offset, limit), values, bounds);
+    }
+
+    private void putRange(Map<String, RoaringBitmap> conditions, String name, BookFilter.Range range) {
+        if (range != null && range.isSet()) {
+            conditions.put(name, ranges.get(name).between(range.from(), range.to()));
+        }
+    }
+
+    /**
+     * Live ordinals matching all conditions except the skipped one.
+     */
+    private RoaringBitmap intersect(Map<String, RoaringBitmap> conditions, String skipped) {
+        RoaringBitmap result = live.clone();
+        conditions.forEach((name, ordinals) -> {
+            if (!name.equals(skipped)) {
+                result.and(ordinals);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Page of matched Books in ordinal order, see {@link #nextOrdinal(long)}, sorted by ID within the page.
+     */
+    private List<Long> page(RoaringBitmap matched, int offset, int limit) {
+        List<Long> page = new ArrayList<>(Math.min(limit, matched.getCardinality()));
+        if (offset >= matched.getCardinality()) {
+            return page;
+        }
+
+        PeekableIntIterator it = matched.getIntIterator();
+        it.advanceIfNeeded(matched.select(offset));
+        while (it.hasNext() && page.size() < limit) {
+            page.add(bookIds[it.next()]);
+        }
+        Collections.sort(page);
+        return page;
+    }
+
+    /**
+     * Ordinals are given in order of adding and are not reused after remove, so position of a Book between pages
+     * doesn't change while it is updated. Ordinal order is not ID order: Books loaded on start come ordered by ID,
+     * but later ones are added in order of commits (or polls of reactive changes), which may differ from order
+     * of their IDs, and an ID may be inserted explicitly. Only every page is sorted by ID.
+     */
+    private int nextOrdinal(long bookId) {
+        int ordinal = ordinalCount++;
+        if (ordinal >= bookIds.length) {
+            bookIds = Arrays.copyOf(bookIds, Math.max(ordinal + 1, bookIds.length * 2));
+        }
+        bookIds[ordinal] = bookId;
+        return ordinal;
+    }
+
+    private static String normalize(String language) {
+        return language == null ? null : language.trim().toLowerCase(Locale.ROOT);
+    }
+}
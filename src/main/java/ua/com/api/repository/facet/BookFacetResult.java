@@ -0,0 +1,15 @@
+package ua.com.api.repository.facet;
+
+import ua.com.api.entity.dto.facet.FacetValueDto;
+import ua.com.api.entity.dto.facet.RangeFacetDto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Page of matched Book IDs and facets. Counts of every facet are calculated with all conditions
+ * except conditions of the facet itself, so they show what other values of it would give.
+ */
+public record BookFacetResult(long total, List<Long> bookIds,
+                              Map<String, List<FacetValueDto>> values, Map<String, RangeFacetDto> ranges) {
+}
@@ -0,0 +1,64 @@
+package ua.com.api.repository.facet;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.api.entity.Book;
+import ua.com.api.repository.BookRepository;
+import ua.com.api.repository.projection.BookFacetRow;
+
+import javax.annotation.PostConstruct;
+import java.util.stream.Stream;
+
+@Slf4j
+@Repository
+@DependsOn("externalChangesPoller")
+public class BookFacets {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile BookFacetIndex index = new BookFacetIndex();
+
+    /**
+     * Loads index aside and swaps it in, so filter keeps working with old one while it is rebuilt.
+     */
+    @PostConstruct
+    public void rebuild() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        BookFacetIndex loaded = new BookFacetIndex();
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<BookFacetRow> rows = bookRepository.streamAllFacetRows()) {
+                rows.forEach(loaded::put);
+            }
+        });
+        loaded.compact();
+
+        index = loaded;
+        log.info("Faceted filter index is built for {} Books", loaded.size());
+    }
+
+    public BookFacetResult filter(BookFilter filter, int offset, int limit, int facetSize) {
+        return index.filter(filter, offset, limit, facetSize);
+    }
+
+    public void onBookSaved(Book book) {
+        index.put(new BookFacetRow(book.getBookId(), book.getBookLanguage(),
+                book.getAuthor() == null ? null : book.getAuthor().getAuthorId(),
+                book.getGenre() == null ? null : book.getGenre().getGenreId(),
+                book.getPublicationYear(), book.getPagesCount(),
+                book.getBookHeight(), book.getBookWidth(), book.getBookLength()));
+    }
+
+    public void onBookRemoved(long bookId) {
+        index.remove(bookId);
+    }
+}
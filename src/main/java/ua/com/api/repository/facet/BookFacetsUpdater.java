@@ -0,0 +1,25 @@
+package ua.com.api.repository.facet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ua.com.api.entity.Book;
+import ua.com.api.entity.listener.EntityChangedEvent;
+
+@Component
+public class BookFacetsUpdater {
+
+    @Autowired
+    private BookFacets bookFacets;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getEntity() instanceof Book book) {
+            if (event.isRemoved()) {
+                bookFacets.onBookRemoved(book.getBookId());
+            } else {
+                bookFacets.onBookSaved(book);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ua.com.api.repository.facet;
+
+import java.util.Set;
+
+/**
+ * Conditions of faceted Book filter. Empty set or null bound means that dimension is not filtered,
+ * values inside one dimension are joined by OR, dimensions - by AND.
+ */
+public record BookFilter(Set<String> languages, Set<Long> genreIds, Set<Long> authorIds,
+                         Range year, Range pages, Range height, Range width, Range length) {
+
+    public record Range(Double from, Double to) {
+
+        public static Range of(Number from, Number to) {
+            return new Range(from == null ? null : from.doubleValue(), to == null ? null : to.doubleValue());
+        }
+
+        boolean isSet() {
+            return from != null || to != null;
+        }
+    }
+}
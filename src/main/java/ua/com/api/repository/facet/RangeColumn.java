@@ -0,0 +1,177 @@
+package ua.com.api.repository.facet;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Values of one numeric Book attribute by ordinal and the same ordinals sorted by value, so any range is found
+ * by two binary searches. Changed ordinals are kept aside and checked one by one until there are
+ * {@link #MERGE_THRESHOLD} of them, then they are merged into sorted arrays.
+ */
+class RangeColumn {
+    private static final int MERGE_THRESHOLD = 4096;
+
+    private double[] values = new double[0];
+    private double[] sortedValues = new double[0];
+    private int[] sortedOrdinals = new int[0];
+    private final RoaringBitmap changed = new RoaringBitmap();
+
+    /**
+     * @param value null for Books without value, they never match a range
+     */
+    void set(int ordinal, Number value) {
+        if (ordinal >= values.length) {
+            int oldLength = values.length;
+            values = Arrays.copyOf(values, Math.max(ordinal + 1, oldLength * 2));
+            Arrays.fill(values, oldLength, values.length, Double.NaN);
+        }
+        values[ordinal] = value == null ? Double.NaN : value.doubleValue();
+        changed.add(ordinal);
+
+        if (changed.getCardinality() >= MERGE_THRESHOLD) {
+            merge();
+        }
+    }
+
+    /**
+     * Ordinals with value between 'from' and 'to' inclusive, null bound is not checked.
+     * Removed ordinals may be present, result must be intersected with live ones.
+     */
+    RoaringBitmap between(Double from, Double to) {
+        int first = from == null ? 0 : lowerBound(from);
+        int last = to == null ? sortedValues.length : upperBound(to);
+
+        RoaringBitmap result = new RoaringBitmap();
+        if (first < last) {
+            result.addN(sortedOrdinals, first, last - first);
+        }
+        result.andNot(changed);
+
+        IntIterator it = changed.getIntIterator();
+        while (it.hasNext()) {
+            int ordinal = it.next();
+            double value = values[ordinal];
+            if (!Double.isNaN(value) && (from == null || value >= from) && (to == null || value <= to)) {
+                result.add(ordinal);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Minimal and maximal value of given ordinals or null if none of them has value.
+     */
+    double[] bounds(RoaringBitmap ordinals) {
+        double min = Double.NaN;
+        double max = Double.NaN;
+
+        if ((long) ordinals.getCardinality() * 16 < sortedValues.length) {
+            IntIterator it = ordinals.getIntIterator();
+            while (it.hasNext()) {
+                int ordinal = it.next();
+                double value = ordinal < values.length ? values[ordinal] : Double.NaN;
+                if (!Double.isNaN(value)) {
+                    min = Double.isNaN(min) ? value : Math.min(min, value);
+                    max = Double.isNaN(max) ? value : Math.max(max, value);
+                }
+            }
+        } else {
+            for (int i = 0; i < sortedOrdinals.length; i++) {
+                if (ordinals.contains(sortedOrdinals[i]) && !changed.contains(sortedOrdinals[i])) {
+                    min = sortedValues[i];
+                    break;
+                }
+            }
+            for (int i = sortedOrdinals.length - 1; i >= 0; i--) {
+                if (ordinals.contains(sortedOrdinals[i]) && !changed.contains(sortedOrdinals[i])) {
+                    max = sortedValues[i];
+                    break;
+                }
+            }
+
+            IntIterator it = RoaringBitmap.and(changed, ordinals).getIntIterator();
+            while (it.hasNext()) {
+                double value = values[it.next()];
+                if (!Double.isNaN(value)) {
+                    min = Double.isNaN(min) ? value : Math.min(min, value);
+                    max = Double.isNaN(max) ? value : Math.max(max, value);
+                }
+            }
+        }
+
+        return Double.isNaN(min) ? null : new double[]{min, max};
+    }
+
+    /**
+     * Sorts changed ordinals and merges them with still valid part of sorted arrays in one pass.
+     */
+    void merge() {
+        int[] added = IntStream.of(changed.toArray())
+                .filter(ordinal -> !Double.isNaN(values[ordinal]))
+                .boxed()
+                .sorted(Comparator.comparingDouble(ordinal -> values[ordinal]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int size = 0;
+        for (int ordinal : sortedOrdinals) {
+            if (!changed.contains(ordinal)) {
+                size++;
+            }
+        }
+
+        double[] mergedValues = new double[size + added.length];
+        int[] mergedOrdinals = new int[size + added.length];
+        int i = 0;
+        int j = 0;
+
+        for (int k = 0; k < mergedOrdinals.length; k++) {
+            while (i < sortedOrdinals.length && changed.contains(sortedOrdinals[i])) {
+                i++;
+            }
+            if (j >= added.length || (i < sortedOrdinals.length && sortedValues[i] <= values[added[j]])) {
+                mergedValues[k] = sortedValues[i];
+                mergedOrdinals[k] = sortedOrdinals[i++];
+            } else {
+                mergedValues[k] = values[added[j]];
+                mergedOrdinals[k] = added[j++];
+            }
+        }
+
+        sortedValues = mergedValues;
+        sortedOrdinals = mergedOrdinals;
+        changed.clear();
+    }
+
+    private int lowerBound(double value) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(double value) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,84 @@
+package ua.com.api.repository.facet;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import ua.com.api.entity.dto.facet.FacetValueDto;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Compressed bitmap of ordinals for every value of one Book attribute.
+ */
+class ValueColumn<K> {
+    private final Map<K, RoaringBitmap> postings = new HashMap<>();
+    private Object[] values = new Object[0];
+
+    /**
+     * @param value null for Books without value, they are not counted
+     */
+    void set(int ordinal, K value) {
+        if (ordinal >= values.length) {
+            values = Arrays.copyOf(values, Math.max(ordinal + 1, values.length * 2));
+        }
+
+        K old = valueOf(ordinal);
+        if (old != null) {
+            postings.computeIfPresent(old, (k, ordinals) -> {
+                ordinals.remove(ordinal);
+                return ordinals.isEmpty() ? null : ordinals;
+            });
+        }
+
+        values[ordinal] = value;
+        if (value != null) {
+            postings.computeIfAbsent(value, k -> new RoaringBitmap()).add(ordinal);
+        }
+    }
+
+    RoaringBitmap matching(Collection<K> keys) {
+        RoaringBitmap[] matched = keys.stream()
+                .map(postings::get)
+                .filter(Objects::nonNull)
+                .toArray(RoaringBitmap[]::new);
+        return matched.length == 0 ? new RoaringBitmap() : FastAggregation.or(matched);
+    }
+
+    /**
+     * The most frequent values among given ordinals. Ordinals are walked one by one if there are less of them
+     * than distinct values, otherwise every value bitmap is intersected with them.
+     */
+    List<FacetValueDto> top(RoaringBitmap ordinals, int limit) {
+        Map<K, Long> counts = new HashMap<>();
+
+        if (ordinals.getCardinality() < postings.size()) {
+            IntIterator it = ordinals.getIntIterator();
+            while (it.hasNext()) {
+                K value = valueOf(it.next());
+                if (value != null) {
+                    counts.merge(value, 1L, Long::sum);
+                }
+            }
+        } else {
+            postings.forEach((value, valueOrdinals) -> {
+                long count = RoaringBitmap.andCardinality(valueOrdinals, ordinals);
+                if (count > 0) {
+                    counts.put(value, count);
+                }
+            });
+        }
+
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<K, Long>comparingByValue().reversed()
+                        .thenComparing(e -> String.valueOf(e.getKey())))
+                .limit(limit)
+                .map(e -> new FacetValueDto(String.valueOf(e.getKey()), e.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private K valueOf(int ordinal) {
+        return ordinal < values.length ? (K) values[ordinal] : null;
+    }
+}
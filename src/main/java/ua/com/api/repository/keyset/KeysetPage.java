@@ -0,0 +1,17 @@
+package ua.com.api.repository.keyset;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class KeysetPage<T> {
+    private final List<T> items;
+
+    /**
+     * Opaque token to request next page with, or null if this page is the last one
+     */
+    private final String nextCursor;
+}
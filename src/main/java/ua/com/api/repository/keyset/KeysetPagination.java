@@ -0,0 +1,66 @@
+package ua.com.api.repository.keyset;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.List;
+
+/**
+ * Seek ('keyset') pagination: instead of skipping OFFSET rows, every page starts right after the
+ * (sort value, id) pair of the previous page's last row, so deep pages cost the same as the first one.
+ * NULL sort values are treated as the lowest ones, as H2 and MySQL order them by default.
+ */
+@Repository
+public class KeysetPagination {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> List<T> findPage(Class<T> clazz, String idField, String sortField, Sort.Direction direction,
+                                PageCursor after, int limit) {
+        boolean asc = direction.isAscending();
+        String dir = asc ? " ASC" : " DESC";
+        String cmp = asc ? " > " : " < ";
+        String sort = "t." + sortField;
+        String id = "t." + idField;
+
+        StringBuilder query = new StringBuilder("SELECT t FROM ").append(clazz.getName()).append(" t");
+        Object value = after == null ? null : after.typedValue();
+
+        if (after != null) {
+            query.append(" WHERE ");
+            if (sortField.equals(idField)) {
+                query.append(id).append(cmp).append(":id");
+            } else if (value == null) {
+                query.append(asc
+                        ? "(" + sort + " IS NULL AND " + id + " > :id) OR " + sort + " IS NOT NULL"
+                        : sort + " IS NULL AND " + id + " < :id");
+            } else {
+                query.append(sort).append(cmp).append(":value OR (")
+                        .append(sort).append(" = :value AND ").append(id).append(cmp).append(":id)");
+                if (!asc) {
+                    query.append(" OR ").append(sort).append(" IS NULL");
+                }
+            }
+        }
+
+        query.append(" ORDER BY ");
+        if (!sortField.equals(idField)) {
+            query.append(sort).append(dir).append(", ");
+        }
+        query.append(id).append(dir);
+
+        TypedQuery<T> typed = entityManager.createQuery(query.toString(), clazz);
+        if (after != null) {
+            typed.setParameter("id", after.getId());
+            if (value != null && !sortField.equals(idField)) {
+                typed.setParameter("value", value);
+            }
+        }
+
+        return typed.setMaxResults(limit).getResultList();
+    }
+}
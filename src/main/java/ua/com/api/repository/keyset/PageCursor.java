@@ -0,0 +1,94 @@
+package ua.com.api.repository.keyset;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import ua.com.api.exception.entity.InvalidCursorException;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static ua.com.api.service.constants.Constants.*;
+
+/**
+ * Position after the last returned row: value of sort field plus id as tie-breaker.
+ * Travels to client as base64url encoded JSON.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageCursor {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private String sortField;
+    private Sort.Direction direction;
+    private String valueType;
+    private String value;
+    private Long id;
+
+    public static PageCursor after(Object entity, String idField, String sortField, Sort.Direction direction) {
+        var accessor = PropertyAccessorFactory.forDirectFieldAccess(entity);
+        Object value = accessor.getPropertyValue(sortField);
+        Long id = (Long) accessor.getPropertyValue(idField);
+
+        String type = value == null ? null : value.getClass().getSimpleName();
+        return new PageCursor(sortField, direction, type, value == null ? null : value.toString(), id);
+    }
+
+    /**
+     * @param sortType type of sort field, value of cursor must be of the same type
+     * @return null for blank cursor (first page)
+     */
+    public static PageCursor decode(String cursor, String sortField, Class<?> sortType, Sort.Direction direction) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        PageCursor decoded;
+        try {
+            decoded = mapper.readValue(Base64.getUrlDecoder().decode(cursor), PageCursor.class);
+            decoded.typedValue();
+        } catch (IOException | RuntimeException e) {
+            throw new InvalidCursorException(cursor, "Value of '" + CURSOR + "' parameter is invalid! Use value of '"
+                    + NEXT_CURSOR + "' response header or empty value for the first page!");
+        }
+
+        if (decoded.getId() == null || !sortField.equals(decoded.getSortField()) || direction != decoded.getDirection()
+                || (decoded.getValueType() != null && !decoded.getValueType().equals(sortType.getSimpleName()))) {
+            throw new InvalidCursorException(cursor, "Value of '" + CURSOR + "' parameter doesn't match '"
+                    + SORT_BY + "' and '" + ORDER_TYPE + "' parameters!");
+        }
+
+        return decoded;
+    }
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mapper.writeValueAsBytes(this));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Object typedValue() {
+        if (valueType == null || value == null) {
+            return null;
+        }
+
+        return switch (valueType) {
+            case "Long" -> Long.valueOf(value);
+            case "Integer" -> Integer.valueOf(value);
+            case "Double" -> Double.valueOf(value);
+            case "LocalDate" -> LocalDate.parse(value);
+            case "String" -> value;
+            default -> throw new IllegalArgumentException("Unsupported cursor value type: " + valueType);
+        };
+    }
+}
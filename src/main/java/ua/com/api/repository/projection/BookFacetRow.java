@@ -0,0 +1,8 @@
+package ua.com.api.repository.projection;
+
+/**
+ * Book attributes indexed by faceted filter.
+ */
+public record BookFacetRow(Long bookId, String bookLanguage, Long authorId, Long genreId, Integer publicationYear,
+                           Integer pagesCount, Double bookHeight, Double bookWidth, Double bookLength) {
+}
@@ -0,0 +1,10 @@
+package ua.com.api.repository.projection;
+
+/**
+ * Columns of Book needed for BookDto, selected by constructor expression so list queries
+ * don't create managed entities.
+ */
+public record BookRow(Long bookId, String bookName, String bookDescription, String bookLanguage,
+                      Integer pagesCount, Double bookHeight, Double bookWidth, Double bookLength,
+                      Integer publicationYear) {
+}
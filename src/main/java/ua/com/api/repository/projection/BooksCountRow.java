@@ -0,0 +1,7 @@
+package ua.com.api.repository.projection;
+
+/**
+ * Count of Books grouped by ID of their Author or Genre.
+ */
+public record BooksCountRow(Long id, Long count) {
+}
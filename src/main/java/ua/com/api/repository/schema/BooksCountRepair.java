@@ -0,0 +1,46 @@
+package ua.com.api.repository.schema;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ua.com.api.entity.Author;
+import ua.com.api.entity.Genre;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Recounts 'books_count' of Authors and Genres on startup, for rows changed bypassing API (e.g. loaded by
+ * DataGenerator). Reads whole 'book' table, so it is enabled for one run only, when no other instance writes Books.
+ * Only rows with wrong counter are written, and 2nd-level cache is cleared only if there were any.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "library.repair.recount-books", havingValue = "true")
+public class BooksCountRepair implements ApplicationRunner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int authors = jdbcTemplate.update("UPDATE author a SET books_count = (SELECT COUNT(*) FROM book b WHERE b.author_id = a.author_id) " +
+                "WHERE books_count <> (SELECT COUNT(*) FROM book b WHERE b.author_id = a.author_id)");
+        int genres = jdbcTemplate.update("UPDATE genre g SET books_count = (SELECT COUNT(*) FROM book b WHERE b.genre_id = g.genre_id) " +
+                "WHERE books_count <> (SELECT COUNT(*) FROM book b WHERE b.genre_id = g.genre_id)");
+
+        if (authors > 0 || genres > 0) {
+            entityManagerFactory.getCache().evict(Author.class);
+            entityManagerFactory.getCache().evict(Genre.class);
+            entityManagerFactory.unwrap(Cache.class).evictQueryRegions();
+        }
+        log.info("Books counters are recounted: {} Authors and {} Genres fixed", authors, genres);
+    }
+}
@@ -0,0 +1,220 @@
+package ua.com.api.repository.schema;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ResolvableType;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ua.com.api.entity.dto.SortByPropertiesDto;
+import ua.com.api.repository.AuthorRepository;
+import ua.com.api.repository.BookRepository;
+import ua.com.api.repository.GenreRepository;
+import ua.com.api.service.sort.SortRegistry;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.reflect.Method;
+import java.sql.ResultSetMetaData;
+import java.util.*;
+
+/**
+ * Runs EXPLAIN on startup for SQL of queries declared in Book, Author and Genre repositories and warns about
+ * every query which plan still reads whole table. SQL is generated by Hibernate from the same JPQL the repository
+ * runs ({@link Query} value or JPQL built from derived method name), listings are checked with every sorter and
+ * page limit. Queries which read whole table by design (no parameters except {@link Sort}) are skipped.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "library.schema.check-query-plans", havingValue = "true", matchIfMissing = true)
+public class QueryPlanInspector implements ApplicationRunner {
+    private static final List<Class<?>> REPOSITORIES = List.of(BookRepository.class, AuthorRepository.class, GenreRepository.class);
+    private static final int PAGE_LIMIT = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SortRegistry sortRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        queries().forEach((query, sql) -> {
+            try {
+                if (isFullScan(sql)) {
+                    log.warn("Query {} reads whole table, check indexes for: {}", query, sql);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not get plan of query {}: {}", query, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * SQL of every checked repository method by its name, method with {@link Sort} or {@link Pageable} parameter
+     * has one SQL per sorter.
+     */
+    private Map<String, String> queries() {
+        Map<String, String> queries = new LinkedHashMap<>();
+
+        for (Class<?> repository : REPOSITORIES) {
+            Class<?> domainClass = ResolvableType.forClass(repository).as(JpaRepository.class).resolveGeneric(0);
+
+            for (Method method : repository.getDeclaredMethods()) {
+                if (method.isDefault() || method.isSynthetic() || readsWholeTable(method)) {
+                    continue;
+                }
+
+                String name = repository.getSimpleName() + "." + method.getName();
+                try {
+                    queries.putAll(queries(name, method, domainClass));
+                } catch (RuntimeException e) {
+                    log.warn("Could not get SQL of query {}: {}", name, e.getMessage());
+                }
+            }
+        }
+
+        return queries;
+    }
+
+    private Map<String, String> queries(String name, Method method, Class<?> domainClass) {
+        Query query = method.getAnnotation(Query.class);
+
+        if (query != null && query.nativeQuery()) {
+            return Map.of(name, toJdbc(query.value()));
+        }
+
+        String jpql = query != null ? query.value() : derivedJpql(method, domainClass);
+        if (jpql == null) {
+            log.debug("Query {} is not checked, its JPQL can't be derived", name);
+            return Map.of();
+        }
+
+        boolean paged = hasParameter(method, Pageable.class);
+        if (!paged && !hasParameter(method, Sort.class)) {
+            return Map.of(name, toSql(jpql));
+        }
+
+        Map<String, String> sorted = new LinkedHashMap<>();
+        for (SortByPropertiesDto sorter : sortRegistry.sorters(domainClass)) {
+            Sort sort = sortRegistry.resolve(domainClass, sorter.getDefaultValue()).sort(Sort.Direction.ASC);
+            String sql = toSql(QueryUtils.applySorting(jpql, sort));
+            sorted.put(name + " sorted by '" + sorter.getDefaultValue() + "'", paged ? sql + " LIMIT " + PAGE_LIMIT : sql);
+        }
+        return sorted;
+    }
+
+    private static boolean readsWholeTable(Method method) {
+        return Arrays.stream(method.getParameterTypes()).allMatch(Sort.class::equals);
+    }
+
+    private static boolean hasParameter(Method method, Class<?> type) {
+        return Arrays.stream(method.getParameterTypes()).anyMatch(type::isAssignableFrom);
+    }
+
+    /**
+     * JPQL with the same conditions as Spring Data builds for derived query method, 'null' for keywords
+     * which are not used by repositories.
+     */
+    private static String derivedJpql(Method method, Class<?> domainClass) {
+        PartTree tree;
+        try {
+            tree = new PartTree(method.getName(), domainClass);
+        } catch (RuntimeException e) {
+            return null;
+        }
+
+        List<String> orConditions = new ArrayList<>();
+        int parameter = 1;
+
+        for (PartTree.OrPart orPart : tree) {
+            List<String> andConditions = new ArrayList<>();
+
+            for (Part part : orPart) {
+                String operator = operator(part.getType());
+                if (operator == null) {
+                    return null;
+                }
+                andConditions.add("e." + part.getProperty().toDotPath() + " " + operator + " ?" + parameter++);
+            }
+            orConditions.add(String.join(" AND ", andConditions));
+        }
+
+        String jpql = "SELECT e FROM " + domainClass.getSimpleName() + " e";
+        return orConditions.isEmpty() ? jpql : jpql + " WHERE " + String.join(" OR ", orConditions);
+    }
+
+    private static String operator(Part.Type type) {
+        switch (type) {
+            case SIMPLE_PROPERTY:
+                return "=";
+            case NEGATING_SIMPLE_PROPERTY:
+                return "<>";
+            case LIKE:
+                return "LIKE";
+            case NOT_LIKE:
+                return "NOT LIKE";
+            case IN:
+                return "IN";
+            default:
+                return null;
+        }
+    }
+
+    private String toSql(String jpql) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        return sessionFactory.getQueryPlanCache()
+                .getHQLQueryPlan(jpql, false, Collections.emptyMap())
+                .getSqlStrings()[0];
+    }
+
+    private static String toJdbc(String nativeSql) {
+        return nativeSql.replaceAll("\\?\\d+", "?");
+    }
+
+    /**
+     * Every parameter is bound as string '1', both databases convert it to column type, so index on numeric
+     * or text column can be used like with real value. H2 marks full scan as 'tableScan' in plan text,
+     * MySQL - with 'ALL' access type.
+     */
+    private boolean isFullScan(String sql) {
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+
+        Boolean fullScan = jdbcTemplate.query("EXPLAIN " + sql, ps -> {
+            for (int i = 1; i <= parameters; i++) {
+                ps.setString(i, "1");
+            }
+        }, rs -> {
+            ResultSetMetaData meta = rs.getMetaData();
+
+            while (rs.next()) {
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    String value = rs.getString(i);
+
+                    if (value == null) {
+                        continue;
+                    }
+                    if (value.contains(".tableScan")
+                            || ("type".equalsIgnoreCase(meta.getColumnLabel(i)) && "ALL".equalsIgnoreCase(value))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(fullScan);
+    }
+}
@@ -0,0 +1,124 @@
+package ua.com.api.repository.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Repository;
+import ua.com.api.entity.Author;
+import ua.com.api.entity.Book;
+import ua.com.api.entity.Genre;
+import ua.com.api.repository.AuthorRepository;
+import ua.com.api.repository.BookRepository;
+import ua.com.api.repository.GenreRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Repository
+@DependsOn("externalChangesPoller")
+@ConditionalOnProperty(name = "library.search.engine", havingValue = "index", matchIfMissing = true)
+public class IndexedSearchEngine implements SearchEngine {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    /**
+     * Candidates taken from index per search, they are loaded by IDs and ranked afterwards
+     */
+    @Value("${library.search.max-candidates:500}")
+    private int maxCandidates;
+
+    private final TrigramIndex books = new TrigramIndex();
+    private final TrigramIndex authors = new TrigramIndex();
+    private final TrigramIndex genres = new TrigramIndex();
+
+    @PostConstruct
+    public void rebuild() {
+        books.clear();
+        authors.clear();
+        genres.clear();
+
+        bookRepository.findAll().forEach(this::onBookSaved);
+        authorRepository.findAll().forEach(this::onAuthorSaved);
+        genreRepository.findAll().forEach(this::onGenreSaved);
+    }
+
+    @Override
+    public List<Author> authors(String query, List<String> keywordsToSearch) {
+        List<Long> ids = authors.search(terms(query, keywordsToSearch), maxCandidates);
+        return inOrderOf(ids, authorRepository.findAllById(ids), Author::getAuthorId);
+    }
+
+    @Override
+    public List<Genre> genres(String query, List<String> keywordsToSearch) {
+        List<Long> ids = genres.search(terms(query, keywordsToSearch), maxCandidates);
+        return inOrderOf(ids, genreRepository.findAllById(ids), Genre::getGenreId);
+    }
+
+    @Override
+    public List<Book> books(String query, List<String> keywordsToSearch) {
+        List<Long> ids = books.search(terms(query, keywordsToSearch), maxCandidates);
+        return inOrderOf(ids, bookRepository.findAllById(ids), Book::getBookId);
+    }
+
+    @Override
+    public void onBookSaved(Book book) {
+        books.put(book.getBookId(), book.getBookName());
+    }
+
+    @Override
+    public void onBooksRemoved(Collection<Long> bookIds) {
+        bookIds.forEach(books::remove);
+    }
+
+    @Override
+    public void onAuthorSaved(Author author) {
+        authors.put(author.getAuthorId(), author.getFullName());
+    }
+
+    @Override
+    public void onAuthorRemoved(long authorId) {
+        authors.remove(authorId);
+    }
+
+    @Override
+    public void onGenreSaved(Genre genre) {
+        genres.put(genre.getGenreId(), genre.getGenreName());
+    }
+
+    @Override
+    public void onGenreRemoved(long genreId) {
+        genres.remove(genreId);
+    }
+
+    private List<String> terms(String query, List<String> keywords) {
+        List<String> terms = new ArrayList<>(keywords.size() + 1);
+        terms.add(query);
+        terms.addAll(keywords);
+        return terms;
+    }
+
+    /**
+     * Entities loaded by IDs in order of the IDs, ones deleted after search are skipped.
+     */
+    private static <T> List<T> inOrderOf(List<Long> ids, List<T> loaded, Function<T, Long> idOf) {
+        Map<Long, T> byId = loaded.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
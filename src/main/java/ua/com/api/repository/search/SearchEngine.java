@@ -0,0 +1,38 @@
+package ua.com.api.repository.search;
+
+import ua.com.api.entity.Author;
+import ua.com.api.entity.Book;
+import ua.com.api.entity.Genre;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SearchEngine {
+
+    /**
+     * Engine is selected by 'library.search.engine' property: 'index' (default) or 'database'
+     */
+    List<Author> authors(String query, List<String> keywordsToSearch);
+
+    List<Genre> genres(String query, List<String> keywordsToSearch);
+
+    List<Book> books(String query, List<String> keywordsToSearch);
+
+    default void onBookSaved(Book book) {
+    }
+
+    default void onBooksRemoved(Collection<Long> bookIds) {
+    }
+
+    default void onAuthorSaved(Author author) {
+    }
+
+    default void onAuthorRemoved(long authorId) {
+    }
+
+    default void onGenreSaved(Genre genre) {
+    }
+
+    default void onGenreRemoved(long genreId) {
+    }
+}
@@ -0,0 +1,43 @@
+package ua.com.api.repository.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ua.com.api.entity.Author;
+import ua.com.api.entity.Book;
+import ua.com.api.entity.Genre;
+import ua.com.api.entity.listener.EntityChangedEvent;
+
+import java.util.Collections;
+
+@Component
+public class SearchIndexUpdater {
+
+    @Autowired
+    private SearchEngine searchEngine;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        Object entity = event.getEntity();
+
+        if (entity instanceof Book book) {
+            if (event.isRemoved()) {
+                searchEngine.onBooksRemoved(Collections.singletonList(book.getBookId()));
+            } else {
+                searchEngine.onBookSaved(book);
+            }
+        } else if (entity instanceof Author author) {
+            if (event.isRemoved()) {
+                searchEngine.onAuthorRemoved(author.getAuthorId());
+            } else {
+                searchEngine.onAuthorSaved(author);
+            }
+        } else if (entity instanceof Genre genre) {
+            if (event.isRemoved()) {
+                searchEngine.onGenreRemoved(genre.getGenreId());
+            } else {
+                searchEngine.onGenreSaved(genre);
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package ua.com.api.repository.search;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Substring index of short texts (names) by their trigrams. Every document is kept as its ID and normalized text
+ * under int ordinal, posting lists are {@link RoaringBitmap}s of ordinals. Text is padded with a character which
+ * never occurs in it, so every substring of 1 or 2 characters is also part of some trigram.
+ * <p>
+ * Searches take read lock and changes take write lock, so a document being re-indexed is never missed.
+ */
+public class TrigramIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final char PAD = '\u0001';
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<String, RoaringBitmap> postings = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[16];
+    private String[] texts = new String[16];
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            postings.clear();
+            freeOrdinals.clear();
+            ids = new long[16];
+            texts = new String[16];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(long id, String text) {
+        String normalized = normalize(text);
+
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null) {
+                unindex(ordinal);
+            } else {
+                ordinal = nextOrdinal();
+                ordinals.put(id, ordinal);
+            }
+
+            ids[ordinal] = id;
+            texts[ordinal] = normalized;
+            for (String gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, k -> new RoaringBitmap()).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                unindex(ordinal);
+                texts[ordinal] = null;
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns IDs of up to 'limit' documents which text contains at least one of terms, ignoring case: matches of
+     * earlier terms first, matches of one term in ordinal order. Same result as {@code text LIKE '%term%' OR ...},
+     * but candidates are taken from intersection of posting lists of term trigrams, and terms shorter than trigram
+     * from union of postings of trigrams containing them, so cost depends on 'limit' and number of distinct
+     * trigrams, not on documents count.
+     */
+    public List<Long> search(Collection<String> terms, int limit) {
+        Set<Long> matched = new LinkedHashSet<>();
+
+        lock.readLock().lock();
+        try {
+            for (String term : terms) {
+                String needle = normalize(term);
+                if (needle.isBlank()) {
+                    continue;
+                }
+
+                IntIterator candidates = candidates(needle).getIntIterator();
+                while (candidates.hasNext() && matched.size() < limit) {
+                    int ordinal = candidates.next();
+                    if (needle.length() <= GRAM_LENGTH || texts[ordinal].contains(needle)) {
+                        matched.add(ids[ordinal]);
+                    }
+                }
+                if (matched.size() >= limit) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new ArrayList<>(matched);
+    }
+
+    private RoaringBitmap candidates(String needle) {
+        if (needle.length() < GRAM_LENGTH) {
+            List<RoaringBitmap> containing = new ArrayList<>();
+            postings.forEach((gram, ordinals) -> {
+                if (gram.contains(needle)) {
+                    containing.add(ordinals);
+                }
+            });
+            return FastAggregation.or(containing.iterator());
+        }
+
+        List<RoaringBitmap> lists = new ArrayList<>();
+        for (String gram : grams(needle)) {
+            if (gram.indexOf(PAD) >= 0) {
+                continue;
+            }
+            RoaringBitmap ordinals = postings.get(gram);
+            if (ordinals == null) {
+                return new RoaringBitmap();
+            }
+            lists.add(ordinals);
+        }
+        lists.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+
+        RoaringBitmap result = lists.get(0).clone();
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.and(lists.get(i));
+        }
+        return result;
+    }
+
+    private void unindex(int ordinal) {
+        for (String gram : grams(texts[ordinal])) {
+            RoaringBitmap ordinals = postings.get(gram);
+            if (ordinals != null) {
+                ordinals.remove(ordinal);
+                if (ordinals.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private int nextOrdinal() {
+        if (!freeOrdinals.isEmpty()) {
+            return freeOrdinals.pop();
+        }
+
+        int ordinal = ordinals.size();
+        if (ordinal == ids.length) {
+            ids = Arrays.copyOf(ids, ordinal * 2);
+            texts = Arrays.copyOf(texts, ordinal * 2);
+        }
+        return ordinal;
+    }
+
+    private static Set<String> grams(String text) {
+        String padded = PAD + text + PAD;
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
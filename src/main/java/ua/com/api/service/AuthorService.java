@@ -3,7 +3,10 @@ package ua.com.api.service;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ua.com.api.entity.Author;
+import ua.com.api.entity.dto.LookupResultDto;
 import ua.com.api.entity.dto.SortByPropertiesDto;
 import ua.com.api.entity.dto.author.AuthorDto;
 import ua.com.api.entity.dto.author.AuthorWithoutIdDto;
@@ -14,12 +17,24 @@ import ua.com.api.exception.entity.book.BookNotFoundException;
 import ua.com.api.exception.entity.genre.GenreNotFoundException;
 import ua.com.api.exception.entity.search.SearchQueryIsBlankException;
 import ua.com.api.exception.entity.search.SearchQueryIsTooShortException;
-
+import ua.com.api.repository.keyset.KeysetPage;
+import ua.com.api.repository.projection.BooksCountRow;
+import ua.com.api.service.util.SingleFlight;
+import ua.com.api.service.util.importer.ImportRow;
+import ua.com.api.service.util.ranking.SearchRanking;
+import ua.com.api.service.version.Versions;
+
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static ua.com.api.service.constants.Constants.AUTHOR_ID;
+
 @Service
 public class AuthorService extends BaseService {
 
@@ -29,19 +44,27 @@ public class AuthorService extends BaseService {
                 .collect(Collectors.toList());
     }
 
-    public AuthorDto findAuthor(long authorId) {
+    /**
+     * @param version version of the Author read before this call, see {@link SingleFlight}
+     */
+    public AuthorDto findAuthor(String version, long authorId) {
+        return singleFlight.execute("findAuthor", () -> loadAuthor(authorId), version, authorId);
+    }
+
+    private AuthorDto loadAuthor(long authorId) {
         Author toGet = authorRepository.getOneByAuthorId(authorId)
                 .orElseThrow(() -> new AuthorNotFoundException(authorId));
 
         return toDtoMapper.mapAuthorToAuthorDto(toGet);
     }
 
-    public AuthorDto findAuthorOfBook(long bookId) {
-        if (!bookRepository.existsByBookId(bookId)) {
-            throw new BookNotFoundException(bookId);
-        }
+    public LookupResultDto<AuthorDto> findAuthors(List<Long> authorIds) {
+        return findAllByIds(Author.class, authorIds, this::mapToDto);
+    }
 
-        Author toGet = authorRepository.getAuthorOfBook(bookId);
+    public AuthorDto findAuthorOfBook(long bookId) {
+        Author toGet = authorRepository.getAuthorOfBook(bookId)
+                .orElseThrow(() -> new BookNotFoundException(bookId));
 
         return toDtoMapper.mapAuthorToAuthorDto(toGet);
     }
@@ -50,75 +73,60 @@ public class AuthorService extends BaseService {
         return getSortByParameterValues(Author.class);
     }
 
-    public List<AuthorDto> findAllAuthors(String sortBy, String order, int page, int size, boolean pageable) {
-        String sortParam = convertAndValidateSortBy(sortBy, Author.class);
-        Sort.Direction direction = resolveDirection(order);
-        Sort sorter = Sort.by(direction, sortParam);
+    /**
+     * @param version version of all Authors read before this call, see {@link SingleFlight}
+     */
+    public List<AuthorDto> findAllAuthors(String version, String sortBy, String order, int page, int size) {
+        Sort sorter = resolveSort(sortBy, order, Author.class);
 
-        List<Author> authors;
+        return singleFlight.execute("findAllAuthors",
+                () -> mapToDto(authorRepository.getAllAuthors(PageRequest.of(page - 1, size, sorter))),
+                version, sorter, page, size);
+    }
 
-        if (!pageable) {
-            authors = authorRepository.findAll(sorter);
-        } else {
-            authors = authorRepository.getAllAuthors(PageRequest.of(page - 1, size, sorter));
-        }
+    /**
+     * All Authors without pagination, written as JSON array while they are read, neither cached nor shared by
+     * {@link SingleFlight}.
+     */
+    public StreamingResponseBody streamAllAuthors(String sortBy, String order) {
+        return streamAsJsonArray(Author.class, sortBy, order, authorRepository::streamAllAuthors, toDtoMapper::mapAuthorToAuthorDto);
+    }
 
-        return mapToDto(authors);
+    public KeysetPage<AuthorDto> findAllAuthors(String sortBy, String order, String cursor, int size) {
+        return findPageAfter(Author.class, AUTHOR_ID, sortBy, order, cursor, size, this::mapToDto);
     }
 
-    public List<AuthorDto> searchForExistedAuthors(String searchQuery) {
-        List<Author> result = new ArrayList<>();
+    public StreamingResponseBody exportAllAuthors(String sortBy, String order) {
+        return streamAsNdjson(Author.class, sortBy, order, authorRepository::streamAllAuthors, toDtoMapper::mapAuthorToAuthorDto);
+    }
 
+    public List<AuthorDto> searchForExistedAuthors(String searchQuery) {
         searchQuery = searchQuery.trim();
 
         if (searchQuery.isEmpty()) throw new SearchQueryIsBlankException();
         else if (searchQuery.length() <= 2) throw new SearchQueryIsTooShortException(searchQuery, 3);
 
         List<String> splitQuery = Arrays.asList(searchQuery.split(" "));
-        List<Author> searched = searchFor.authors(searchQuery, splitQuery);
-
-        if (searched.isEmpty()) return new ArrayList<>();
-
-        for (String word : splitQuery) {
-            searched.stream()
-                    .filter(a -> a.getFirstName().startsWith(word))
-                    .forEach(result::add);
-
-            searched.stream()
-                    .filter(a -> a.getLastName().startsWith(word))
-                    .forEach(result::add);
+        List<Author> searched = searchEngine.authors(searchQuery, splitQuery);
 
-            searched.removeAll(result);
-        }
-
-        result.addAll(searched);
-
-        return mapToDto(result.stream()
-                .limit(5)
-                .collect(Collectors.toList()));
+        return mapToDto(SearchRanking.rankAuthors(searched, splitQuery, 5));
     }
 
     public List<AuthorDto> findAllAuthorsInGenre(long genreId, String sortBy, String order, int page, int size, boolean pageable) {
-        String sortParam = convertAndValidateSortBy(sortBy, Author.class);
+        Sort sorter = resolveSort(sortBy, order, Author.class);
 
-        if (!genreRepository.existsByGenreId(genreId)) {
-            throw new GenreNotFoundException(genreId);
-        }
-
-        Sort.Direction direction = resolveDirection(order);
-        Sort sorter = Sort.by(direction, sortParam);
-
-        List<Author> authors;
+        List<Author> authors = pageable
+                ? authorRepository.getAllAuthorsInGenre(genreId, PageRequest.of(page - 1, size, sorter))
+                : authorRepository.getAllAuthorsInGenre(genreId, sorter);
 
-        if (!pageable) {
-            authors = authorRepository.findAll(sorter);
-        } else {
-            authors = authorRepository.getAllAuthorsInGenre(genreId, PageRequest.of(page - 1, size, sorter));
+        if (authors.isEmpty() && !genreRepository.existsByGenreId(genreId)) {
+            throw new GenreNotFoundException(genreId);
         }
 
         return mapToDto(authors);
     }
 
+    @Transactional
     public AuthorDto addNewAuthor(AuthorWithoutIdDto author) {
         if (authorRepository.existsByFullName(author.getName().getFirst() + " " + author.getName().getLast())) {
             throw new AuthorAlreadyExistsException();
@@ -126,10 +134,63 @@ public class AuthorService extends BaseService {
 
         Author toPost = toModelMapper.mapAuthorWithoutIdDtoToAuthor(author);
         Author response = authorRepository.save(toPost);
+        authorsCreated(List.of(response));
 
         return toDtoMapper.mapAuthorToAuthorDto(response);
     }
 
+    public List<AuthorDto> addNewAuthors(List<AuthorWithoutIdDto> newAuthors) {
+        List<Author> toPost = newAuthors.stream()
+                .map(toModelMapper::mapAuthorWithoutIdDtoToAuthor)
+                .collect(Collectors.toList());
+
+        Set<String> fullNames = new HashSet<>();
+        for (Author author : toPost) {
+            if (!fullNames.add(author.getFullName())) {
+                throw new AuthorAlreadyExistsException();
+            }
+        }
+        if (!authorRepository.getExistedFullNames(fullNames).isEmpty()) {
+            throw new AuthorAlreadyExistsException();
+        }
+
+        return mapToDto(persistAll(toPost, this::authorsCreated));
+    }
+
+    public StreamingResponseBody importAuthors(InputStream body, boolean csv) {
+        return importAsNdjson(body, csv, AuthorWithoutIdDto.class, this::prepareImportedAuthors, this::authorsCreated);
+    }
+
+    private void authorsCreated(List<Author> authors) {
+        versions.create(authors.stream()
+                .map(author -> Versions.booksOfAuthor(author.getAuthorId()))
+                .collect(Collectors.toList()));
+        versions.advance(List.of(Versions.AUTHORS));
+    }
+
+    private List<Author> prepareImportedAuthors(List<ImportRow<AuthorWithoutIdDto>> rows) {
+        List<Author> mapped = rows.stream()
+                .map(row -> toModelMapper.mapAuthorWithoutIdDtoToAuthor(row.getValue()))
+                .collect(Collectors.toList());
+        Set<String> fullNames = mapped.stream()
+                .map(Author::getFullName)
+                .collect(Collectors.toSet());
+        Set<String> taken = new HashSet<>(authorRepository.getExistedFullNames(fullNames));
+        List<Author> toPost = new ArrayList<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            Author author = mapped.get(i);
+
+            if (!taken.add(author.getFullName())) {
+                rows.get(i).fail("Author with such name already exists!");
+            } else {
+                toPost.add(author);
+            }
+        }
+        return toPost;
+    }
+
+    @Transactional
     public AuthorDto updateExistedAuthor(long authorId, AuthorWithoutIdDto authorDto) {
         Author proxy = authorRepository.getOneByAuthorId(authorId)
                 .orElseThrow(() -> new AuthorNotFoundException(authorId));
@@ -150,19 +211,32 @@ public class AuthorService extends BaseService {
         proxy.setBirthCountry(authorDto.getBirth().getCountry());
 
         Author updated = authorRepository.save(proxy);
+        versions.advance(List.of(Versions.AUTHORS));
         return toDtoMapper.mapAuthorToAuthorDto(updated);
     }
 
+    @Transactional
     public void deleteExistedAuthor(long authorId, boolean forcibly) {
         Author toDelete = authorRepository.getOneByAuthorId(authorId)
                 .orElseThrow(() -> new AuthorNotFoundException(authorId));
 
-        long booksCount = bookRepository.getAllBooksOfAuthorCount(authorId);
+        long booksCount = toDelete.getBooksCount();
 
         if (booksCount > 0 && !forcibly) {
             throw new BooksInAuthorArePresentException(authorId, booksCount);
         }
 
+        Map<Long, Long> genreDeltas = bookRepository.countBooksOfAuthorByGenre(authorId).stream()
+                .filter(row -> row.id() != null)
+                .collect(Collectors.toMap(BooksCountRow::id, row -> -row.count()));
+        addToGenresBooksCount(genreDeltas);
         authorRepository.delete(toDelete);
+
+        Set<String> collections = genreDeltas.keySet().stream()
+                .map(Versions::booksOfGenre)
+                .collect(Collectors.toCollection(HashSet::new));
+        collections.addAll(List.of(Versions.BOOKS, Versions.AUTHORS, Versions.GENRES));
+        versions.advance(collections);
+        versions.remove(Versions.booksOfAuthor(authorId));
     }
 }
\ No newline at end of file
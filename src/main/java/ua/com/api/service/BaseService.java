@@ -1,21 +1,59 @@
 package ua.com.api.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ua.com.api.entity.Author;
+import ua.com.api.entity.Genre;
+import ua.com.api.entity.dto.LookupResultDto;
 import ua.com.api.entity.dto.SortByPropertiesDto;
-import ua.com.api.exception.entity.InvalidSortByParameterValueException;
+import ua.com.api.entity.dto.importer.ImportRowErrorDto;
+import ua.com.api.entity.dto.importer.ImportSummaryDto;
+import ua.com.api.exception.entity.PageSizeIsTooLargeException;
 import ua.com.api.repository.AuthorRepository;
 import ua.com.api.repository.BookRepository;
 import ua.com.api.repository.GenreRepository;
-import ua.com.api.repository.SearchFor;
+import ua.com.api.repository.facet.BookFacets;
+import ua.com.api.repository.keyset.KeysetPage;
+import ua.com.api.repository.keyset.KeysetPagination;
+import ua.com.api.repository.keyset.PageCursor;
+import ua.com.api.repository.search.SearchEngine;
 import ua.com.api.service.mapper.DtoToModelMapper;
+import ua.com.api.service.constants.Constants;
 import ua.com.api.service.mapper.ModelToDtoMapper;
-import ua.com.api.service.util.annotation.ForSort;
+import ua.com.api.service.sort.SortProperty;
+import ua.com.api.service.sort.SortRegistry;
+import ua.com.api.service.util.SingleFlight;
+import ua.com.api.service.util.importer.ImportReader;
+import ua.com.api.service.util.importer.ImportRow;
+import ua.com.api.service.version.Versions;
 
-import java.lang.reflect.Field;
-import java.util.Arrays;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class BaseService {
 
@@ -29,33 +67,317 @@ public class BaseService {
     protected BookRepository bookRepository;
 
     @Autowired
-    protected SearchFor searchFor;
+    protected SearchEngine searchEngine;
+
+    @Autowired
+    protected BookFacets bookFacets;
+
+    @Autowired
+    protected KeysetPagination keysetPagination;
+
+    @Autowired
+    protected SortRegistry sortRegistry;
 
     @Autowired
     protected ModelToDtoMapper toDtoMapper;
 
+    @Autowired
+    protected SingleFlight singleFlight;
+
+    @Autowired
+    protected Versions versions;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
     @Autowired
     protected DtoToModelMapper toModelMapper;
 
+    @Autowired
+    private Validator validator;
+
+    @Value("${library.import.chunk-size:500}")
+    private int importChunkSize;
+
     protected Sort.Direction resolveDirection(String order) {
         return Sort.Direction.fromString(order);
     }
 
+    /**
+     * Page after cursor, 'size' is limited by {@link Constants#PAGE_MAX_SIZE} here only, offset pages keep working
+     * with any size as before.
+     */
+    protected <T, D> KeysetPage<D> findPageAfter(Class<T> clazz, String idField, String sortBy, String order,
+                                                 String cursor, int size, Function<List<T>, List<D>> mapper) {
+        if (size > Constants.PAGE_MAX_SIZE) {
+            throw new PageSizeIsTooLargeException(size, Constants.PAGE_MAX_SIZE);
+        }
+        SortProperty property = sortRegistry.resolve(clazz, sortBy);
+        String sortParam = property.getField();
+        Sort.Direction direction = resolveDirection(order);
+        PageCursor after = PageCursor.decode(cursor, sortParam, property.getType(), direction);
+
+        List<T> rows = keysetPagination.findPage(clazz, idField, sortParam, direction, after, size + 1);
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = PageCursor.after(rows.get(size - 1), idField, sortParam, direction).encode();
+        }
+
+        return new KeysetPage<>(mapper.apply(rows), nextCursor);
+    }
+
+    /**
+     * Loads entities by ids with one IN query, entities already loaded in current session are not queried.
+     * Found entities keep order of requested ids, repeated ids are returned once.
+     */
+    protected <T, D> LookupResultDto<D> findAllByIds(Class<T> clazz, List<Long> ids, Function<List<T>, List<D>> mapper) {
+        List<Long> uniqueIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        if (uniqueIds.isEmpty()) {
+            return new LookupResultDto<>(List.of(), List.of());
+        }
+
+        List<T> loaded = entityManager.unwrap(Session.class)
+                .byMultipleIds(clazz)
+                .withBatchSize(uniqueIds.size())
+                .enableSessionCheck(true)
+                .multiLoad(uniqueIds);
+
+        List<T> found = new ArrayList<>(loaded.size());
+        List<Long> missing = new ArrayList<>();
+
+        for (int i = 0; i < uniqueIds.size(); i++) {
+            T entity = loaded.get(i);
+            if (entity == null) {
+                missing.add(uniqueIds.get(i));
+            } else {
+                found.add(entity);
+            }
+        }
+
+        return new LookupResultDto<>(mapper.apply(found), missing);
+    }
+
+    /**
+     * Writes all rows as NDJSON while reading them from server-side cursor. Every row is detached right
+     * after it is mapped, so memory usage doesn't depend on table size.
+     */
+    protected <T, D> StreamingResponseBody streamAsNdjson(Class<T> clazz, String sortBy, String order,
+                                                          Function<Sort, Stream<T>> rows, Function<T, D> mapper) {
+        return stream(clazz, sortBy, order, rows, mapper, false);
+    }
+
+    /**
+     * The same as {@link #streamAsNdjson(Class, String, String, Function, Function)}, but rows are written as one
+     * JSON array, so plain JSON clients get the whole table without it being collected into a List first.
+     */
+    protected <T, D> StreamingResponseBody streamAsJsonArray(Class<T> clazz, String sortBy, String order,
+                                                             Function<Sort, Stream<T>> rows, Function<T, D> mapper) {
+        return stream(clazz, sortBy, order, rows, mapper, true);
+    }
+
+    private <T, D> StreamingResponseBody stream(Class<T> clazz, String sortBy, String order,
+                                                Function<Sort, Stream<T>> rows, Function<T, D> mapper, boolean array) {
+        Sort sorter = resolveSort(sortBy, order, clazz);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        return out -> readOnly.executeWithoutResult(status -> {
+            try (Stream<T> stream = rows.apply(sorter)) {
+                ObjectWriter objectWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                SequenceWriter writer = array
+                        ? objectWriter.writeValuesAsArray(out)
+                        : objectWriter.withRootValueSeparator("\n").writeValues(out);
+                Iterator<T> iterator = stream.iterator();
+                boolean written = false;
+
+                while (iterator.hasNext()) {
+                    T row = iterator.next();
+                    writer.write(mapper.apply(row));
+                    entityManager.detach(row);
+                    written = true;
+                }
+
+                // closes JSON array, response stream is left open
+                writer.close();
+                if (!array && written) {
+                    out.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Persists all entities in one transaction. Ids are taken from pooled sequences, so rows are sent
+     * in JDBC batches on flush instead of one INSERT per entity.
+     */
+    protected <T> List<T> persistAll(List<T> entities) {
+        return persistAll(entities, persisted -> {
+        });
+    }
+
+    /**
+     * The same as {@link #persistAll(List)}, 'inTransaction' is called after flush before commit, so its
+     * changes are committed or rolled back together with entities.
+     */
+    protected <T> List<T> persistAll(List<T> entities, Consumer<List<T>> inTransaction) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            entities.forEach(entityManager::persist);
+            entityManager.flush();
+            inTransaction.accept(entities);
+            return entities;
+        });
+    }
+
+    /**
+     * Imports NDJSON or CSV upload chunk by chunk: 'prepare' marks rows that can't be saved as failed and returns
+     * entities for the rest, which are committed in one transaction per chunk; rows of chunk which is rolled back
+     * are retried one by one. Failed rows are written as NDJSON right after their chunk, summary is written last.
+     * Persistence context (kept open for the whole request by open-in-view) is cleared after every chunk, so flush
+     * of next chunk doesn't dirty-check rows already saved.
+     */
+    protected <D, T> StreamingResponseBody importAsNdjson(InputStream body, boolean csv, Class<D> dtoClass,
+                                                          Function<List<ImportRow<D>>, List<T>> prepare) {
+        return importAsNdjson(body, csv, dtoClass, prepare, persisted -> {
+        });
+    }
+
+    /**
+     * The same as {@link #importAsNdjson(InputStream, boolean, Class, Function)}, 'inTransaction' is called
+     * with every saved chunk in its transaction.
+     */
+    protected <D, T> StreamingResponseBody importAsNdjson(InputStream body, boolean csv, Class<D> dtoClass,
+                                                          Function<List<ImportRow<D>>, List<T>> prepare,
+                                                          Consumer<List<T>> inTransaction) {
+        return out -> {
+            SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+            long imported = 0;
+            long failed = 0;
+            String error = null;
+
+            try (ImportReader<D> reader = csv
+                    ? ImportReader.csv(body, objectMapper, validator, dtoClass)
+                    : ImportReader.ndjson(body, objectMapper, validator, dtoClass)) {
+                List<ImportRow<D>> chunk;
+
+                while (!(chunk = reader.nextChunk(importChunkSize)).isEmpty()) {
+                    List<ImportRow<D>> valid = chunk.stream()
+                            .filter(row -> !row.isFailed())
+                            .collect(Collectors.toList());
+                    List<T> entities = valid.isEmpty() ? List.of() : prepare.apply(valid);
+
+                    if (!entities.isEmpty()) {
+                        try {
+                            persistAll(entities, inTransaction);
+                        } catch (RuntimeException e) {
+                            entityManager.clear();
+                            importOneByOne(valid, prepare, inTransaction);
+                        }
+                    }
+                    entityManager.clear();
+
+                    for (ImportRow<D> row : chunk) {
+                        if (row.isFailed()) {
+                            writer.write(new ImportRowErrorDto(row.getRow(), row.getError()));
+                            failed++;
+                        } else {
+                            imported++;
+                        }
+                    }
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                error = "Upload can't be read further: " + e.getMessage();
+            }
+
+            writer.write(new ImportSummaryDto(imported, failed, error));
+            writer.flush();
+            out.write('\n');
+        };
+    }
+
+    /**
+     * Saves rows of failed chunk one by one, each in its own transaction, so only rows which can't be saved by
+     * themselves are reported. Every row is prepared again, as entities of rolled back chunk can't be reused.
+     */
+    private <D, T> void importOneByOne(List<ImportRow<D>> rows, Function<List<ImportRow<D>>, List<T>> prepare,
+                                       Consumer<List<T>> inTransaction) {
+        rows.stream()
+                .filter(row -> !row.isFailed())
+                .forEach(row -> {
+                    List<T> entities = prepare.apply(List.of(row));
+                    if (entities.isEmpty()) {
+                        return;
+                    }
+                    try {
+                        persistAll(entities, inTransaction);
+                    } catch (RuntimeException e) {
+                        row.fail("Row is not saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                    }
+                    entityManager.clear();
+                });
+    }
+
+    /**
+     * Adds deltas to books counters of Authors by ID, see {@link #lockedForUpdate(Class, long)}.
+     */
+    protected void addToAuthorsBooksCount(Map<Long, Long> deltas) {
+        new TreeMap<>(deltas).forEach((authorId, delta) -> {
+            Author author = lockedForUpdate(Author.class, authorId);
+            if (author != null) {
+                author.setBooksCount(author.getBooksCount() + delta);
+            }
+        });
+    }
+
+    /**
+     * Adds deltas to books counters of Genres by ID, see {@link #lockedForUpdate(Class, long)}.
+     */
+    protected void addToGenresBooksCount(Map<Long, Long> deltas) {
+        new TreeMap<>(deltas).forEach((genreId, delta) -> {
+            Genre genre = lockedForUpdate(Genre.class, genreId);
+            if (genre != null) {
+                genre.setBooksCount(genre.getBooksCount() + delta);
+            }
+        });
+    }
+
+    /**
+     * Re-reads entity with row lock, so counter is changed from its committed value and written by flush as
+     * entity update: only 2nd-level cache entry of this entity is replaced, unlike bulk UPDATE which evicts
+     * whole region. Callers lock rows in ascending ID order, so concurrent transactions lock them in the same order.
+     */
+    private <T> T lockedForUpdate(Class<T> clazz, long id) {
+        T entity = entityManager.find(clazz, id);
+        if (entity != null) {
+            entityManager.refresh(entity, LockModeType.PESSIMISTIC_WRITE);
+        }
+        return entity;
+    }
+
+    protected Sort resolveSort(String sortBy, String order, Class<?> clazz) {
+        return sortRegistry.resolve(clazz, sortBy).sort(resolveDirection(order));
+    }
+
     protected String convertAndValidateSortBy(String sortBy, Class<?> clazz) {
-        return Arrays.stream(clazz.getDeclaredFields())
-                .filter(f -> f.isAnnotationPresent(ForSort.class))
-                .filter(f -> Arrays.asList(f.getAnnotation(ForSort.class).aliases()).contains(sortBy) ||
-                        f.getAnnotation(ForSort.class).defaultValue().equals(sortBy))
-                .map(Field::getName)
-                .findFirst()
-                .orElseThrow(() -> new InvalidSortByParameterValueException(sortBy, "Sorter with value '" + sortBy + "' not found! Try other value!"));
+        return sortRegistry.resolve(clazz, sortBy).getField();
     }
 
     protected List<SortByPropertiesDto> getSortByParameterValues(Class<?> clazz) {
-        return Arrays.stream(clazz.getDeclaredFields())
-                .filter(f -> f.isAnnotationPresent(ForSort.class))
-                .map(f -> f.getAnnotation(ForSort.class))
-                .map(a -> new SortByPropertiesDto(a.defaultValue(), Arrays.asList(a.aliases())))
-                .collect(Collectors.toList());
+        return sortRegistry.sorters(clazz);
     }
 }
@@ -3,25 +3,42 @@ package ua.com.api.service;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ua.com.api.entity.Author;
 import ua.com.api.entity.Book;
 import ua.com.api.entity.Genre;
+import ua.com.api.entity.dto.LookupResultDto;
 import ua.com.api.entity.dto.SortByPropertiesDto;
+import ua.com.api.entity.dto.book.BookBatchItemDto;
 import ua.com.api.entity.dto.book.BookDto;
 import ua.com.api.entity.dto.book.BookWithoutIdDto;
+import ua.com.api.entity.dto.facet.BookFilterResultDto;
 import ua.com.api.exception.entity.author.AuthorNotFoundException;
 import ua.com.api.exception.entity.book.BookAlreadyExistsException;
 import ua.com.api.exception.entity.book.BookNotFoundException;
 import ua.com.api.exception.entity.genre.GenreNotFoundException;
 import ua.com.api.exception.entity.search.SearchQueryIsBlankException;
 import ua.com.api.exception.entity.search.SearchQueryIsTooShortException;
-
+import ua.com.api.repository.facet.BookFacetResult;
+import ua.com.api.repository.facet.BookFilter;
+import ua.com.api.repository.keyset.KeysetPage;
+import ua.com.api.repository.projection.BookRow;
+import ua.com.api.service.util.SingleFlight;
+import ua.com.api.service.util.importer.ImportRow;
+import ua.com.api.service.util.ranking.SearchRanking;
+import ua.com.api.service.version.Versions;
+
+import java.io.InputStream;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+
+import static ua.com.api.service.constants.Constants.*;
 
 @Service
 public class BookService extends BaseService {
+    private static final int FILTER_ATTEMPTS = 3;
 
     private List<BookDto> mapToDto(List<Book> books) {
         return books.stream()
@@ -29,124 +46,206 @@ public class BookService extends BaseService {
                 .collect(Collectors.toList());
     }
 
-    public BookDto findBook(long bookId) {
-        Book book = bookRepository.getOneByBookId(bookId)
-                .orElseThrow(() -> new BookNotFoundException(bookId));
+    private List<BookDto> mapRowsToDto(List<BookRow> books) {
+        return books.stream()
+                .map(toDtoMapper::mapBookRowToBookDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Maps Books with Author and/or Genre named in 'include' embedded. Relations must be already
+     * fetched with Books (or batch-loaded on first access), otherwise every Book costs extra queries.
+     */
+    private List<BookDto> mapToDto(List<Book> books, Set<String> include) {
+        boolean withAuthor = isIncluded(include, INCLUDE_AUTHOR);
+        boolean withGenre = isIncluded(include, INCLUDE_GENRE);
+
+        return books.stream()
+                .map(book -> toDtoMapper.mapBookToBookDetailsDto(book, withAuthor, withGenre))
+                .collect(Collectors.toList());
+    }
 
-        return toDtoMapper.mapBookToBookDto(book);
+    private static boolean isIncluded(Set<String> include, String relation) {
+        return include.stream().anyMatch(relation::equalsIgnoreCase);
     }
 
-    public List<BookDto> findAllBooks(String sortBy, String order, int page, int size, boolean pageable) {
-        String sortParam = convertAndValidateSortBy(sortBy, Book.class);
-        Sort.Direction direction = resolveDirection(order);
-        Sort sorter = Sort.by(direction, sortParam);
+    /**
+     * @param version version of the Book read before this call, see {@link SingleFlight}
+     */
+    public BookDto findBook(String version, long bookId, Set<String> include) {
+        return singleFlight.execute("findBook", () -> loadBook(bookId, include), version, bookId, include);
+    }
 
-        List<Book> books;
+    private BookDto loadBook(long bookId, Set<String> include) {
+        if (include.isEmpty()) {
+            Book book = bookRepository.getOneByBookId(bookId)
+                    .orElseThrow(() -> new BookNotFoundException(bookId));
 
-        if (!pageable) {
-            books = bookRepository.findAll(sorter);
-        } else {
-            books = bookRepository.getAllBooks(PageRequest.of(page - 1, size, sorter));
+            return toDtoMapper.mapBookToBookDto(book);
         }
 
-        return mapToDto(books);
-    }
+        Book book = bookRepository.findWithRelationsByBookId(bookId)
+                .orElseThrow(() -> new BookNotFoundException(bookId));
 
-    public List<BookDto> findBooksInGenre(long genreId, String sortBy, String order, int page, int size, boolean pageable) {
-        String sortParam = convertAndValidateSortBy(sortBy, Book.class);
+        return toDtoMapper.mapBookToBookDetailsDto(book, isIncluded(include, INCLUDE_AUTHOR), isIncluded(include, INCLUDE_GENRE));
+    }
 
-        if (!genreRepository.existsByGenreId(genreId)) {
-            throw new GenreNotFoundException(genreId);
+    public LookupResultDto<BookDto> findBooks(List<Long> bookIds, Set<String> include) {
+        if (!include.isEmpty()) {
+            return findAllByIds(Book.class, bookIds, books -> mapToDto(books, include));
         }
+        return findAllByIds(Book.class, bookIds, this::mapToDto);
+    }
 
-        Sort.Direction direction = resolveDirection(order);
-        Sort sorter = Sort.by(direction, sortParam);
+    /**
+     * @param version version of all Books (and Authors and Genres if included) read before this call, see {@link SingleFlight}
+     */
+    public List<BookDto> findAllBooks(String version, String sortBy, String order, int page, int size, Set<String> include) {
+        Sort sorter = resolveSort(sortBy, order, Book.class);
 
-        List<Book> books;
+        return singleFlight.execute("findAllBooks", () -> loadAllBooks(sorter, page, size, include),
+                version, sorter, page, size, include);
+    }
+
+    private List<BookDto> loadAllBooks(Sort sorter, int page, int size, Set<String> include) {
+        PageRequest pageRequest = PageRequest.of(page - 1, size, sorter);
 
-        if (!pageable) {
-            books = bookRepository.findAll(sorter);
-        } else {
-            books = bookRepository.getAllBooksInGenre(genreId, PageRequest.of(page - 1, size, sorter));
+        if (!include.isEmpty()) {
+            return mapToDto(bookRepository.getAllBooksWithRelations(pageRequest), include);
         }
 
-        return mapToDto(books);
+        return mapRowsToDto(bookRepository.getAllBooks(pageRequest));
     }
 
-    public List<BookDto> findAuthorBooks(long authorId, String sortBy, String order) {
-        String sortParam = convertAndValidateSortBy(sortBy, Book.class);
+    /**
+     * All Books without pagination, written as JSON array while they are read, see
+     * {@link #streamAsJsonArray(Class, String, String, Function, Function)}. Result is neither kept in query cache
+     * nor shared by {@link SingleFlight}, as it would hold the whole table in memory.
+     */
+    public StreamingResponseBody streamAllBooks(String sortBy, String order, Set<String> include) {
+        if (!include.isEmpty()) {
+            boolean withAuthor = isIncluded(include, INCLUDE_AUTHOR);
+            boolean withGenre = isIncluded(include, INCLUDE_GENRE);
+
+            return streamAsJsonArray(Book.class, sortBy, order, bookRepository::streamAllBooksWithRelations,
+                    book -> toDtoMapper.mapBookToBookDetailsDto(book, withAuthor, withGenre));
+        }
+        return streamAsJsonArray(Book.class, sortBy, order, bookRepository::streamAllBooks, toDtoMapper::mapBookToBookDto);
+    }
 
-        if (!authorRepository.existsByAuthorId(authorId)) {
-            throw new AuthorNotFoundException(authorId);
+    public KeysetPage<BookDto> findAllBooks(String sortBy, String order, String cursor, int size, Set<String> include) {
+        if (!include.isEmpty()) {
+            return findPageAfter(Book.class, BOOK_ID, sortBy, order, cursor, size, books -> mapToDto(books, include));
         }
+        return findPageAfter(Book.class, BOOK_ID, sortBy, order, cursor, size, this::mapToDto);
+    }
 
-        Sort.Direction direction = resolveDirection(order);
-        Sort sorter = Sort.by(direction, sortParam);
+    public StreamingResponseBody exportAllBooks(String sortBy, String order) {
+        return streamAsNdjson(Book.class, sortBy, order, bookRepository::streamAllBooks, toDtoMapper::mapBookToBookDto);
+    }
+
+    public BookFilterResultDto filterBooks(BookFilter filter, int page, int size, int facetSize, Set<String> include) {
+        int offset = (int) Math.min(Integer.MAX_VALUE, (long) (page - 1) * size);
+        BookFacetResult result;
+        LookupResultDto<BookDto> books;
+        int attempts = 0;
+
+        // Book removed after index was read is missing from page, filter is repeated after index catches up
+        do {
+            result = bookFacets.filter(filter, offset, size, facetSize);
+            books = findBooks(result.bookIds(), include);
+        } while (!books.getMissing().isEmpty() && ++attempts < FILTER_ATTEMPTS);
 
-        return mapToDto(bookRepository.getAllAuthorBooksOrdered(authorId, sorter));
+        long total = result.total() - books.getMissing().size();
+        return new BookFilterResultDto(total, books.getFound(), result.values(), result.ranges());
     }
 
-    public List<BookDto> findBooksOfAuthorInGenre(long authorId, long genreId) {
-        if (!authorRepository.existsByAuthorId(authorId)) {
-            throw new AuthorNotFoundException(authorId);
+    public List<BookDto> findBooksInGenre(long genreId, String sortBy, String order, int page, int size, boolean pageable,
+                                          Set<String> include) {
+        Sort sorter = resolveSort(sortBy, order, Book.class);
+
+        if (!include.isEmpty()) {
+            List<Book> books = pageable
+                    ? bookRepository.getAllBooksInGenreWithRelations(genreId, PageRequest.of(page - 1, size, sorter))
+                    : bookRepository.getAllBooksInGenreWithRelations(genreId, sorter);
+
+            if (books.isEmpty() && !genreRepository.existsByGenreId(genreId)) {
+                throw new GenreNotFoundException(genreId);
+            }
+
+            return mapToDto(books, include);
         }
 
-        if (!genreRepository.existsByGenreId(genreId)) {
+        List<BookRow> books = pageable
+                ? bookRepository.getAllBooksInGenre(genreId, PageRequest.of(page - 1, size, sorter))
+                : bookRepository.getAllBooksInGenre(genreId, sorter);
+
+        if (books.isEmpty() && !genreRepository.existsByGenreId(genreId)) {
             throw new GenreNotFoundException(genreId);
         }
 
-        return mapToDto(bookRepository.getAllAuthorBooksInGenre(authorId, genreId));
+        return mapRowsToDto(books);
     }
 
-    public List<SortByPropertiesDto> getSortByParameterValues() {
-        return getSortByParameterValues(Book.class);
-    }
+    public List<BookDto> findAuthorBooks(long authorId, String sortBy, String order, Set<String> include) {
+        Sort sorter = resolveSort(sortBy, order, Book.class);
 
-    public List<BookDto> searchForExistedBooks(String searchQuery) {
-        List<Book> result = new ArrayList<>();
+        if (!include.isEmpty()) {
+            List<Book> books = bookRepository.getAllAuthorBooksWithRelationsOrdered(authorId, sorter);
 
-        searchQuery = searchQuery.trim();
-        if (searchQuery.isEmpty()) {
-            throw new SearchQueryIsBlankException();
-        } else if (searchQuery.length() <= 4) {
-            throw new SearchQueryIsTooShortException(searchQuery, 5);
+            if (books.isEmpty() && !authorRepository.existsByAuthorId(authorId)) {
+                throw new AuthorNotFoundException(authorId);
+            }
+
+            return mapToDto(books, include);
         }
 
-        List<String> splitQuery = Arrays.asList(searchQuery.split(" "));
-        List<Book> searched = searchFor.books(searchQuery, splitQuery);
+        List<BookRow> books = bookRepository.getAllAuthorBooksOrdered(authorId, sorter);
 
-        if (searched.isEmpty()) {
-            return new ArrayList<>();
+        if (books.isEmpty() && !authorRepository.existsByAuthorId(authorId)) {
+            throw new AuthorNotFoundException(authorId);
         }
 
-        for (int i = splitQuery.size(); i > 0; i--) {
-            String partial = splitQuery.stream()
-                    .limit(i)
-                    .collect(Collectors.joining(" "));
+        return mapRowsToDto(books);
+    }
 
-            List<Book> filtered = searched.stream()
-                    .filter(b -> b.getBookName().toLowerCase().startsWith(partial.toLowerCase()))
-                    .sorted(Comparator.comparing(Book::getBookName))
-                    .collect(Collectors.toList());
+    public List<BookDto> findBooksOfAuthorInGenre(long authorId, long genreId, Set<String> include) {
+        List<BookDto> books = include.isEmpty()
+                ? mapRowsToDto(bookRepository.getAllAuthorBooksInGenre(authorId, genreId))
+                : mapToDto(bookRepository.getAllAuthorBooksInGenreWithRelations(authorId, genreId), include);
 
-            result.addAll(filtered);
+        if (books.isEmpty()) {
+            if (!authorRepository.existsByAuthorId(authorId)) {
+                throw new AuthorNotFoundException(authorId);
+            }
 
-            if (result.size() >= 5) {
-                return mapToDto(IntStream.range(0, 5)
-                        .mapToObj(result::get)
-                        .collect(Collectors.toList()));
+            if (!genreRepository.existsByGenreId(genreId)) {
+                throw new GenreNotFoundException(genreId);
             }
+        }
+
+        return books;
+    }
+
+    public List<SortByPropertiesDto> getSortByParameterValues() {
+        return getSortByParameterValues(Book.class);
+    }
 
-            searched.removeAll(filtered);
+    public List<BookDto> searchForExistedBooks(String searchQuery) {
+        searchQuery = searchQuery.trim();
+        if (searchQuery.isEmpty()) {
+            throw new SearchQueryIsBlankException();
+        } else if (searchQuery.length() <= 4) {
+            throw new SearchQueryIsTooShortException(searchQuery, 5);
         }
 
-        result.addAll(searched);
+        List<String> splitQuery = Arrays.asList(searchQuery.split(" "));
+        List<Book> searched = searchEngine.books(searchQuery, splitQuery);
 
-        return mapToDto(result.stream()
-                .limit(5)
-                .collect(Collectors.toList()));
+        return mapToDto(SearchRanking.rankBooks(searched, splitQuery, 5));
     }
 
+    @Transactional
     public BookDto addNewBook(long authorId, long genreId, BookWithoutIdDto newBook) {
         Author author = authorRepository.getOneByAuthorId(authorId)
                 .orElseThrow(() -> new AuthorNotFoundException(authorId));
@@ -161,9 +260,102 @@ public class BookService extends BaseService {
         toPost.setAuthor(author);
         toPost.setGenre(genre);
         Book response = bookRepository.save(toPost);
+        countBooks(List.of(response), 1);
         return toDtoMapper.mapBookToBookDto(response);
     }
 
+    public List<BookDto> addNewBooks(List<BookBatchItemDto> newBooks) {
+        Map<Long, Author> authors = findAuthorsOf(newBooks);
+        Map<Long, Genre> genres = findGenresOf(newBooks);
+        Set<List<String>> keys = findExistedKeysOf(newBooks);
+
+        for (BookBatchItemDto item : newBooks) {
+            if (!authors.containsKey(item.getAuthorId())) {
+                throw new AuthorNotFoundException(item.getAuthorId());
+            }
+            if (!genres.containsKey(item.getGenreId())) {
+                throw new GenreNotFoundException(item.getGenreId());
+            }
+            if (!keys.add(keyOf(item.getBook().getBookName(), item.getBook().getBookDescription()))) {
+                throw new BookAlreadyExistsException();
+            }
+        }
+
+        List<Book> toPost = newBooks.stream()
+                .map(item -> toBook(item, authors, genres))
+                .collect(Collectors.toList());
+        return mapToDto(persistAll(toPost, books -> countBooks(books, 1)));
+    }
+
+    public StreamingResponseBody importBooks(InputStream body, boolean csv) {
+        return importAsNdjson(body, csv, BookBatchItemDto.class, this::prepareImportedBooks, books -> countBooks(books, 1));
+    }
+
+    private List<Book> prepareImportedBooks(List<ImportRow<BookBatchItemDto>> rows) {
+        List<BookBatchItemDto> items = rows.stream()
+                .map(ImportRow::getValue)
+                .collect(Collectors.toList());
+        Map<Long, Author> authors = findAuthorsOf(items);
+        Map<Long, Genre> genres = findGenresOf(items);
+        Set<List<String>> keys = findExistedKeysOf(items);
+        List<Book> toPost = new ArrayList<>();
+
+        for (ImportRow<BookBatchItemDto> row : rows) {
+            BookBatchItemDto item = row.getValue();
+
+            if (!authors.containsKey(item.getAuthorId())) {
+                row.fail(String.format("Author with 'authorId' = '%d' doesn't exist!", item.getAuthorId()));
+            } else if (!genres.containsKey(item.getGenreId())) {
+                row.fail(String.format("Genre with 'genreId' = '%d' doesn't exist!", item.getGenreId()));
+            } else if (!keys.add(keyOf(item.getBook().getBookName(), item.getBook().getBookDescription()))) {
+                row.fail("Book with such name and description already exists!");
+            } else {
+                toPost.add(toBook(item, authors, genres));
+            }
+        }
+        return toPost;
+    }
+
+    private Map<Long, Author> findAuthorsOf(List<BookBatchItemDto> items) {
+        Set<Long> ids = items.stream()
+                .map(BookBatchItemDto::getAuthorId)
+                .collect(Collectors.toSet());
+        return authorRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Author::getAuthorId, Function.identity()));
+    }
+
+    private Map<Long, Genre> findGenresOf(List<BookBatchItemDto> items) {
+        Set<Long> ids = items.stream()
+                .map(BookBatchItemDto::getGenreId)
+                .collect(Collectors.toSet());
+        return genreRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Genre::getGenreId, Function.identity()));
+    }
+
+    /**
+     * @return name and description pairs of already stored Books which have the same names as given ones
+     */
+    private Set<List<String>> findExistedKeysOf(List<BookBatchItemDto> items) {
+        Set<String> names = items.stream()
+                .map(item -> item.getBook().getBookName())
+                .collect(Collectors.toSet());
+        return bookRepository.getAllBooksWithNames(names).stream()
+                .map(book -> keyOf(book.getBookName(), book.getBookDescription()))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private List<String> keyOf(String bookName, String bookDescription) {
+        return Arrays.asList(bookName, bookDescription);
+    }
+
+    private Book toBook(BookBatchItemDto item, Map<Long, Author> authors, Map<Long, Genre> genres) {
+        Book book = toModelMapper.mapBookWithoutIdToBook(item.getBook());
+        book.setAuthor(authors.get(item.getAuthorId()));
+        book.setGenre(genres.get(item.getGenreId()));
+        return book;
+    }
+
+    @Transactional
     public BookDto updateExistedBook(long bookId, BookWithoutIdDto bookDto) {
         Book book = bookRepository.getOneByBookId(bookId)
                 .orElseThrow(() -> new BookNotFoundException(bookId));
@@ -182,14 +374,49 @@ public class BookService extends BaseService {
         book.setBookHeight(bookDto.getAdditional().getSize().getHeight());
 
         Book updated = bookRepository.save(book);
+        versions.advance(collectionsOf(List.of(updated)));
 
         return toDtoMapper.mapBookToBookDto(updated);
     }
 
+    @Transactional
     public void deleteExistedBook(long bookId) {
         Book toDelete = bookRepository.getOneByBookId(bookId)
                 .orElseThrow(() -> new BookNotFoundException(bookId));
 
         bookRepository.delete(toDelete);
+        countBooks(List.of(toDelete), -1);
+    }
+
+    /**
+     * Adds 'sign' for every given Book to books counters of its Author and Genre, if the Book has them, and advances
+     * versions of collections the Books are in, Authors and Genres included as their counters change.
+     */
+    private void countBooks(List<Book> books, int sign) {
+        addToAuthorsBooksCount(books.stream()
+                .filter(book -> book.getAuthor() != null)
+                .collect(Collectors.groupingBy(book -> book.getAuthor().getAuthorId(), Collectors.summingLong(book -> sign))));
+        addToGenresBooksCount(books.stream()
+                .filter(book -> book.getGenre() != null)
+                .collect(Collectors.groupingBy(book -> book.getGenre().getGenreId(), Collectors.summingLong(book -> sign))));
+
+        Set<String> collections = collectionsOf(books);
+        collections.add(Versions.AUTHORS);
+        collections.add(Versions.GENRES);
+        versions.advance(collections);
+    }
+
+    private static Set<String> collectionsOf(List<Book> books) {
+        Set<String> collections = new HashSet<>();
+        collections.add(Versions.BOOKS);
+        for (Book book : books) {
+            if (book.getAuthor() != null) {
+                collections.add(Versions.booksOfAuthor(book.getAuthor().getAuthorId()));
+            }
+            if (book.getGenre() != null) {
+                collections.add(Versions.booksOfGenre(book.getGenre().getGenreId()));
+            }
+        }
+        return collections;
     }
 }
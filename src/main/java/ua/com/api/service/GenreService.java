@@ -3,7 +3,10 @@ package ua.com.api.service;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ua.com.api.entity.Genre;
+import ua.com.api.entity.dto.LookupResultDto;
 import ua.com.api.entity.dto.SortByPropertiesDto;
 import ua.com.api.entity.dto.genre.GenreDto;
 import ua.com.api.entity.dto.genre.GenreWithoutIdDto;
@@ -14,11 +17,20 @@ import ua.com.api.exception.entity.genre.GenreAlreadyExistsException;
 import ua.com.api.exception.entity.genre.GenreNotFoundException;
 import ua.com.api.exception.entity.search.SearchQueryIsBlankException;
 import ua.com.api.exception.entity.search.SearchQueryIsTooShortException;
+import ua.com.api.repository.keyset.KeysetPage;
+import ua.com.api.repository.projection.BooksCountRow;
+import ua.com.api.service.util.SingleFlight;
+import ua.com.api.service.version.Versions;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static ua.com.api.service.constants.Constants.GENRE_ID;
+
 @Service
 public class GenreService extends BaseService {
 
@@ -28,35 +40,56 @@ public class GenreService extends BaseService {
                 .collect(Collectors.toList());
     }
 
-    public GenreDto findGenre(long genreId) {
+    /**
+     * @param version version of the Genre read before this call, see {@link SingleFlight}
+     */
+    public GenreDto findGenre(String version, long genreId) {
+        return singleFlight.execute("findGenre", () -> loadGenre(genreId), version, genreId);
+    }
+
+    private GenreDto loadGenre(long genreId) {
         Genre toGet = genreRepository.getOneByGenreId(genreId)
                 .orElseThrow(() -> new GenreNotFoundException(genreId));
 
         return toDtoMapper.mapGenreToGenreDto(toGet);
     }
 
+    public LookupResultDto<GenreDto> findGenres(List<Long> genreIds) {
+        return findAllByIds(Genre.class, genreIds, this::mapToDto);
+    }
+
     public GenreDto findGenreOfBook(long bookId) {
-        bookRepository.getOneByBookId(bookId)
+        Genre toGet = genreRepository.getGenreOfBook(bookId)
                 .orElseThrow(() -> new BookNotFoundException(bookId));
-        Genre toGet = genreRepository.getGenreOfBook(bookId);
 
         return toDtoMapper.mapGenreToGenreDto(toGet);
     }
 
-    public List<GenreDto> findAllGenres(String sortBy, String order, int page, int size, boolean pageable) {
-        String sortParam = convertAndValidateSortBy(sortBy, Genre.class);
-        Sort.Direction direction = resolveDirection(order);
-        Sort sorter = Sort.by(direction, sortParam);
+    /**
+     * @param version version of all Genres read before this call, see {@link SingleFlight}
+     */
+    public List<GenreDto> findAllGenres(String version, String sortBy, String order, int page, int size) {
+        Sort sorter = resolveSort(sortBy, order, Genre.class);
+
+        return singleFlight.execute("findAllGenres",
+                () -> mapToDto(genreRepository.getAllGenres(PageRequest.of(page - 1, size, sorter))),
+                version, sorter, page, size);
+    }
 
-        List<Genre> genres;
+    /**
+     * All Genres without pagination, written as JSON array while they are read, neither cached nor shared by
+     * {@link SingleFlight}.
+     */
+    public StreamingResponseBody streamAllGenres(String sortBy, String order) {
+        return streamAsJsonArray(Genre.class, sortBy, order, genreRepository::streamAllGenres, toDtoMapper::mapGenreToGenreDto);
+    }
 
-        if (!pageable) {
-            genres = genreRepository.findAll(sorter);
-        } else {
-            genres = genreRepository.getAllGenres(PageRequest.of(page - 1, size, sorter));
-        }
+    public KeysetPage<GenreDto> findAllGenres(String sortBy, String order, String cursor, int size) {
+        return findPageAfter(Genre.class, GENRE_ID, sortBy, order, cursor, size, this::mapToDto);
+    }
 
-        return mapToDto(genres);
+    public StreamingResponseBody exportAllGenres(String sortBy, String order) {
+        return streamAsNdjson(Genre.class, sortBy, order, genreRepository::streamAllGenres, toDtoMapper::mapGenreToGenreDto);
     }
 
     public List<GenreDto> searchForExistedGenres(String searchQuery) {
@@ -72,28 +105,28 @@ public class GenreService extends BaseService {
                 .filter(e -> e.length() > 2)
                 .collect(Collectors.toList());
 
-        List<Genre> searched = searchFor.genres(searchQuery, keywords);
+        List<Genre> searched = searchEngine.genres(searchQuery, keywords);
 
         return mapToDto(searched);
     }
 
     public List<GenreDto> findAllGenresOfAuthor(long authorId, String sortBy, String order) {
-        String sortParam = convertAndValidateSortBy(sortBy, Genre.class);
+        Sort sorter = resolveSort(sortBy, order, Genre.class);
+
+        List<Genre> genres = genreRepository.getAllGenresOfAuthorOrdered(authorId, sorter);
 
-        if (!authorRepository.existsByAuthorId(authorId)) {
+        if (genres.isEmpty() && !authorRepository.existsByAuthorId(authorId)) {
             throw new AuthorNotFoundException(authorId);
         }
 
-        Sort.Direction direction = resolveDirection(order);
-        Sort sorter = Sort.by(direction, sortParam);
-
-        return mapToDto(genreRepository.getAllGenresOfAuthorOrdered(authorId, sorter));
+        return mapToDto(genres);
     }
 
     public List<SortByPropertiesDto> getSortByParameterValues() {
         return getSortByParameterValues(Genre.class);
     }
 
+    @Transactional
     public GenreDto addNewGenre(GenreWithoutIdDto genre) {
         if (genreRepository.existsByGenreName(genre.getName())) {
             throw new GenreAlreadyExistsException();
@@ -101,10 +134,36 @@ public class GenreService extends BaseService {
 
         Genre toPost = toModelMapper.mapGenreWithoutIdToGenre(genre);
         Genre response = genreRepository.save(toPost);
+        genresCreated(List.of(response));
 
         return toDtoMapper.mapGenreToGenreDto(response);
     }
 
+    public List<GenreDto> addNewGenres(List<GenreWithoutIdDto> newGenres) {
+        Set<String> names = new HashSet<>();
+        for (GenreWithoutIdDto genre : newGenres) {
+            if (!names.add(genre.getName())) {
+                throw new GenreAlreadyExistsException();
+            }
+        }
+        if (!genreRepository.getExistedGenreNames(names).isEmpty()) {
+            throw new GenreAlreadyExistsException();
+        }
+
+        List<Genre> toPost = newGenres.stream()
+                .map(toModelMapper::mapGenreWithoutIdToGenre)
+                .collect(Collectors.toList());
+        return mapToDto(persistAll(toPost, this::genresCreated));
+    }
+
+    private void genresCreated(List<Genre> genres) {
+        versions.create(genres.stream()
+                .map(genre -> Versions.booksOfGenre(genre.getGenreId()))
+                .collect(Collectors.toList()));
+        versions.advance(List.of(Versions.GENRES));
+    }
+
+    @Transactional
     public GenreDto updateExistedGenre(long genreId, GenreWithoutIdDto genre) {
         Genre proxy = genreRepository.getOneByGenreId(genreId)
                 .orElseThrow(() -> new GenreNotFoundException(genreId));
@@ -117,19 +176,32 @@ public class GenreService extends BaseService {
         proxy.setDescription(genre.getDescription());
 
         Genre updated = genreRepository.save(proxy);
+        versions.advance(List.of(Versions.GENRES));
         return toDtoMapper.mapGenreToGenreDto(updated);
     }
 
+    @Transactional
     public void deleteExistedGenre(long genreId, boolean forcibly) {
         Genre toDelete = genreRepository.getOneByGenreId(genreId)
                 .orElseThrow(() -> new GenreNotFoundException(genreId));
 
-        long booksCount = bookRepository.getAllBooksInGenreCount(genreId);
+        long booksCount = toDelete.getBooksCount();
 
         if (booksCount > 0 && !forcibly) {
             throw new BooksInGenreArePresentException(genreId, booksCount);
         }
 
+        Map<Long, Long> authorDeltas = bookRepository.countBooksOfGenreByAuthor(genreId).stream()
+                .filter(row -> row.id() != null)
+                .collect(Collectors.toMap(BooksCountRow::id, row -> -row.count()));
+        addToAuthorsBooksCount(authorDeltas);
         genreRepository.delete(toDelete);
+
+        Set<String> collections = authorDeltas.keySet().stream()
+                .map(Versions::booksOfAuthor)
+                .collect(Collectors.toCollection(HashSet::new));
+        collections.addAll(List.of(Versions.BOOKS, Versions.AUTHORS, Versions.GENRES));
+        versions.advance(collections);
+        versions.remove(Versions.booksOfGenre(genreId));
     }
 }
\ No newline at end of file
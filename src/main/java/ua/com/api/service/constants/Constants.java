@@ -14,8 +14,33 @@ public interface Constants {
     String QUERY = "query";
     String FORCIBLY = "forcibly";
     String SORT_BY = "sortBy";
+    String CURSOR = "cursor";
+    String NEXT_CURSOR = "X-Next-Cursor";
+    String TEXT_CSV = "text/csv";
+    String INCLUDE = "include";
+    String IDS = "ids";
+    String LANGUAGE = "language";
+    String GENRE = "genre";
+    String AUTHOR = "author";
+    String YEAR_FROM = "yearFrom";
+    String YEAR_TO = "yearTo";
+    String PAGES_MIN = "pagesMin";
+    String PAGES_MAX = "pagesMax";
+    String HEIGHT_MIN = "heightMin";
+    String HEIGHT_MAX = "heightMax";
+    String WIDTH_MIN = "widthMin";
+    String WIDTH_MAX = "widthMax";
+    String LENGTH_MIN = "lengthMin";
+    String LENGTH_MAX = "lengthMax";
+    String FACET_SIZE = "facetSize";
+    String DEFAULT_FACET_SIZE = "10";
+    String INCLUDE_AUTHOR = "author";
+    String INCLUDE_GENRE = "genre";
 
     String BOOK_ID = "bookId";
     String AUTHOR_ID = "authorId";
     String GENRE_ID = "genreId";
+
+    int BATCH_MAX_SIZE = 1000;
+    int PAGE_MAX_SIZE = 1000;
 }
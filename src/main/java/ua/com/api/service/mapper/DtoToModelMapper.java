@@ -1,6 +1,5 @@
 package ua.com.api.service.mapper;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import ua.com.api.entity.Author;
 import ua.com.api.entity.Book;
@@ -14,23 +13,19 @@ import ua.com.api.service.mapper.converter.genre.GenreWithoutIdDto_to_Genre;
 
 @Service
 public class DtoToModelMapper {
-    private final ModelMapper modelMapper = new ModelMapper();
-
-    public DtoToModelMapper() {
-        modelMapper.addConverter(new AuthorWithoutIdDto_to_Author());
-        modelMapper.addConverter(new GenreWithoutIdDto_to_Genre());
-        modelMapper.addConverter(new BookWithoutIdDto_to_Book());
-    }
+    private final AuthorWithoutIdDto_to_Author authorConverter = new AuthorWithoutIdDto_to_Author();
+    private final GenreWithoutIdDto_to_Genre genreConverter = new GenreWithoutIdDto_to_Genre();
+    private final BookWithoutIdDto_to_Book bookConverter = new BookWithoutIdDto_to_Book();
 
     public Author mapAuthorWithoutIdDtoToAuthor(AuthorWithoutIdDto author) {
-        return modelMapper.map(author, Author.class);
+        return authorConverter.convert(author);
     }
 
     public Genre mapGenreWithoutIdToGenre(GenreWithoutIdDto genre) {
-        return modelMapper.map(genre, Genre.class);
+        return genreConverter.convert(genre);
     }
 
     public Book mapBookWithoutIdToBook(BookWithoutIdDto book) {
-        return modelMapper.map(book, Book.class);
+        return bookConverter.convert(book);
     }
 }
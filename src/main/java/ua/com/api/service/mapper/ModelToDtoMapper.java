@@ -1,36 +1,45 @@
 package ua.com.api.service.mapper;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import ua.com.api.entity.Author;
 import ua.com.api.entity.Book;
 import ua.com.api.entity.Genre;
 import ua.com.api.entity.dto.author.AuthorDto;
+import ua.com.api.entity.dto.book.BookDetailsDto;
 import ua.com.api.entity.dto.book.BookDto;
 import ua.com.api.entity.dto.genre.GenreDto;
+import ua.com.api.repository.projection.BookRow;
 import ua.com.api.service.mapper.converter.author.Author_to_AuthorDto;
+import ua.com.api.service.mapper.converter.book.BookRow_to_BookDto;
+import ua.com.api.service.mapper.converter.book.Book_to_BookDetailsDto;
 import ua.com.api.service.mapper.converter.book.Book_to_BookDto;
 import ua.com.api.service.mapper.converter.genre.Genre_to_GenreDto;
 
 @Service
 public class ModelToDtoMapper {
-    private final ModelMapper modelMapper = new ModelMapper();
-
-    public ModelToDtoMapper() {
-        modelMapper.addConverter(new Author_to_AuthorDto());
-        modelMapper.addConverter(new Genre_to_GenreDto());
-        modelMapper.addConverter(new Book_to_BookDto());
-    }
+    private final Author_to_AuthorDto authorConverter = new Author_to_AuthorDto();
+    private final Genre_to_GenreDto genreConverter = new Genre_to_GenreDto();
+    private final Book_to_BookDto bookConverter = new Book_to_BookDto();
+    private final BookRow_to_BookDto bookRowConverter = new BookRow_to_BookDto();
+    private final Book_to_BookDetailsDto bookDetailsConverter = new Book_to_BookDetailsDto();
 
     public AuthorDto mapAuthorToAuthorDto(Author author) {
-        return modelMapper.map(author, AuthorDto.class);
+        return authorConverter.convert(author);
     }
 
     public GenreDto mapGenreToGenreDto(Genre genre) {
-        return modelMapper.map(genre, GenreDto.class);
+        return genreConverter.convert(genre);
     }
 
     public BookDto mapBookToBookDto(Book book) {
-        return modelMapper.map(book, BookDto.class);
+        return bookConverter.convert(book);
+    }
+
+    public BookDto mapBookRowToBookDto(BookRow book) {
+        return bookRowConverter.convert(book);
+    }
+
+    public BookDetailsDto mapBookToBookDetailsDto(Book book, boolean withAuthor, boolean withGenre) {
+        return bookDetailsConverter.convert(book, withAuthor, withGenre);
     }
 }
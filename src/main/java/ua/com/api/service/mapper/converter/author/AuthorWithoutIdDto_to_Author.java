@@ -1,16 +1,11 @@
 package ua.com.api.service.mapper.converter.author;
 
-import org.modelmapper.Converter;
-import org.modelmapper.spi.MappingContext;
 import ua.com.api.entity.Author;
 import ua.com.api.entity.dto.author.AuthorWithoutIdDto;
 
-public class AuthorWithoutIdDto_to_Author implements Converter<AuthorWithoutIdDto, Author> {
-
-    @Override
-    public Author convert(MappingContext<AuthorWithoutIdDto, Author> mappingContext) {
-        AuthorWithoutIdDto source = mappingContext.getSource();
+public class AuthorWithoutIdDto_to_Author {
 
+    public Author convert(AuthorWithoutIdDto source) {
         Author author = new Author();
         author.setFirstName(source.getName().getFirst());
         author.setLastName(source.getName().getLast());
@@ -20,6 +15,7 @@ public class AuthorWithoutIdDto_to_Author implements Converter<AuthorWithoutIdDt
         author.setBirthDate(source.getBirth().getDate());
         author.setBirthCity(source.getBirth().getCity());
         author.setBirthCountry(source.getBirth().getCountry());
+        author.setBooksCount(0L);
 
         return author;
     }
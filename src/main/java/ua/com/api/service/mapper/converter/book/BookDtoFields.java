@@ -0,0 +1,29 @@
+package ua.com.api.service.mapper.converter.book;
+
+import ua.com.api.entity.dto.book.BookDto;
+import ua.com.api.entity.dto.book.nested.AdditionalDto;
+import ua.com.api.entity.dto.book.nested.SizeDto;
+
+/**
+ * Own fields of BookDto, shared by converters from entity and from projection.
+ */
+final class BookDtoFields {
+
+    private BookDtoFields() {
+    }
+
+    static <D extends BookDto> D fill(D dto, Long bookId, String bookName, String bookDescription, String bookLanguage,
+                                      Integer pagesCount, Double bookHeight, Double bookWidth, Double bookLength,
+                                      Integer publicationYear) {
+        dto.setBookId(bookId);
+        dto.setBookName(bookName);
+        dto.setBookLanguage(bookLanguage);
+        dto.setPublicationYear(publicationYear);
+        dto.setBookDescription(bookDescription);
+
+        SizeDto size = new SizeDto(bookHeight, bookWidth, bookLength);
+        dto.setAdditional(new AdditionalDto(pagesCount, size));
+
+        return dto;
+    }
+}
@@ -0,0 +1,13 @@
+package ua.com.api.service.mapper.converter.book;
+
+import ua.com.api.entity.dto.book.BookDto;
+import ua.com.api.repository.projection.BookRow;
+
+public class BookRow_to_BookDto {
+
+    public BookDto convert(BookRow source) {
+        return BookDtoFields.fill(new BookDto(), source.bookId(), source.bookName(), source.bookDescription(),
+                source.bookLanguage(), source.pagesCount(), source.bookHeight(), source.bookWidth(),
+                source.bookLength(), source.publicationYear());
+    }
+}
@@ -1,15 +1,10 @@
 package ua.com.api.service.mapper.converter.book;
 
-import org.modelmapper.Converter;
-import org.modelmapper.spi.MappingContext;
 import ua.com.api.entity.Book;
 import ua.com.api.entity.dto.book.BookWithoutIdDto;
 
-public class BookWithoutIdDto_to_Book implements Converter<BookWithoutIdDto, Book> {
-    @Override
-    public Book convert(MappingContext<BookWithoutIdDto, Book> mappingContext) {
-        BookWithoutIdDto source = mappingContext.getSource();
-
+public class BookWithoutIdDto_to_Book {
+    public Book convert(BookWithoutIdDto source) {
         Book b = new Book();
         b.setBookName(source.getBookName());
         b.setBookLanguage(source.getBookLanguage());
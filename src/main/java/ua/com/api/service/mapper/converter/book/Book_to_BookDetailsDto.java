@@ -0,0 +1,27 @@
+package ua.com.api.service.mapper.converter.book;
+
+import ua.com.api.entity.Book;
+import ua.com.api.entity.dto.book.BookDetailsDto;
+import ua.com.api.service.mapper.converter.author.Author_to_AuthorDto;
+import ua.com.api.service.mapper.converter.genre.Genre_to_GenreDto;
+
+public class Book_to_BookDetailsDto {
+    private final Author_to_AuthorDto authorConverter = new Author_to_AuthorDto();
+    private final Genre_to_GenreDto genreConverter = new Genre_to_GenreDto();
+
+    /**
+     * Book without Author or Genre (their columns are nullable) has no embedded object instead of it.
+     */
+    public BookDetailsDto convert(Book source, boolean withAuthor, boolean withGenre) {
+        BookDetailsDto dto = Book_to_BookDto.fill(new BookDetailsDto(), source);
+
+        if (withAuthor && source.getAuthor() != null) {
+            dto.setAuthor(authorConverter.convert(source.getAuthor()));
+        }
+        if (withGenre && source.getGenre() != null) {
+            dto.setGenre(genreConverter.convert(source.getGenre()));
+        }
+
+        return dto;
+    }
+}
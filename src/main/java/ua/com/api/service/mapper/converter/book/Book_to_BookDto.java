@@ -1,35 +1,17 @@
 package ua.com.api.service.mapper.converter.book;
 
-import org.modelmapper.Converter;
-import org.modelmapper.spi.MappingContext;
 import ua.com.api.entity.Book;
 import ua.com.api.entity.dto.book.BookDto;
-import ua.com.api.entity.dto.book.nested.AdditionalDto;
-import ua.com.api.entity.dto.book.nested.SizeDto;
 
-public class Book_to_BookDto implements Converter<Book, BookDto> {
+public class Book_to_BookDto {
 
-    @Override
-    public BookDto convert(MappingContext<Book, BookDto> mappingContext) {
-        Book source = mappingContext.getSource();
-
-        BookDto dto = new BookDto();
-        dto.setBookId(source.getBookId());
-        dto.setBookName(source.getBookName());
-        dto.setBookLanguage(source.getBookLanguage());
-        dto.setPublicationYear(source.getPublicationYear());
-        dto.setBookDescription(source.getBookDescription());
-
-        AdditionalDto adds = new AdditionalDto();
-        SizeDto size = new SizeDto();
-        adds.setPagesCount(source.getPagesCount());
-        size.setHeight(source.getBookHeight());
-        size.setLength(source.getBookLength());
-        size.setWidth(source.getBookWidth());
-        adds.setSize(size);
-
-        dto.setAdditional(adds);
+    public BookDto convert(Book source) {
+        return fill(new BookDto(), source);
+    }
 
-        return dto;
+    static <D extends BookDto> D fill(D dto, Book source) {
+        return BookDtoFields.fill(dto, source.getBookId(), source.getBookName(), source.getBookDescription(),
+                source.getBookLanguage(), source.getPagesCount(), source.getBookHeight(), source.getBookWidth(),
+                source.getBookLength(), source.getPublicationYear());
     }
 }
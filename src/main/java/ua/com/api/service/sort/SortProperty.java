@@ -0,0 +1,23 @@
+package ua.com.api.service.sort;
+
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+@Getter
+public class SortProperty {
+    private final String field;
+    private final Class<?> type;
+    private final Sort ascending;
+    private final Sort descending;
+
+    public SortProperty(String field, Class<?> type) {
+        this.field = field;
+        this.type = type;
+        this.ascending = Sort.by(Sort.Direction.ASC, field);
+        this.descending = Sort.by(Sort.Direction.DESC, field);
+    }
+
+    public Sort sort(Sort.Direction direction) {
+        return direction.isAscending() ? ascending : descending;
+    }
+}
@@ -0,0 +1,65 @@
+package ua.com.api.service.sort;
+
+import org.springframework.stereotype.Component;
+import ua.com.api.entity.Author;
+import ua.com.api.entity.Book;
+import ua.com.api.entity.Genre;
+import ua.com.api.entity.dto.SortByPropertiesDto;
+import ua.com.api.exception.entity.InvalidSortByParameterValueException;
+import ua.com.api.service.util.annotation.ForSort;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * All 'sortBy' values ({@link ForSort} default values and aliases) of sortable entities, resolved once on
+ * startup to field names and ready to use {@link org.springframework.data.domain.Sort} objects.
+ */
+@Component
+public class SortRegistry {
+    private final Map<Class<?>, Map<String, SortProperty>> properties = new HashMap<>();
+    private final Map<Class<?>, List<SortByPropertiesDto>> sorters = new HashMap<>();
+
+    public SortRegistry() {
+        register(Book.class);
+        register(Author.class);
+        register(Genre.class);
+    }
+
+    public SortProperty resolve(Class<?> clazz, String sortBy) {
+        SortProperty property = properties.getOrDefault(clazz, Collections.emptyMap()).get(sortBy);
+
+        if (property == null) {
+            throw new InvalidSortByParameterValueException(sortBy, "Sorter with value '" + sortBy + "' not found! Try other value!");
+        }
+
+        return property;
+    }
+
+    public List<SortByPropertiesDto> sorters(Class<?> clazz) {
+        return sorters.getOrDefault(clazz, Collections.emptyList());
+    }
+
+    private void register(Class<?> clazz) {
+        Map<String, SortProperty> byValue = new HashMap<>();
+        List<SortByPropertiesDto> values = new ArrayList<>();
+
+        for (Field f : clazz.getDeclaredFields()) {
+            ForSort forSort = f.getAnnotation(ForSort.class);
+            if (forSort == null) {
+                continue;
+            }
+
+            SortProperty property = new SortProperty(f.getName(), f.getType());
+            byValue.putIfAbsent(forSort.defaultValue(), property);
+            for (String alias : forSort.aliases()) {
+                byValue.putIfAbsent(alias, property);
+            }
+
+            values.add(new SortByPropertiesDto(forSort.defaultValue(), List.of(forSort.aliases())));
+        }
+
+        properties.put(clazz, Collections.unmodifiableMap(byValue));
+        sorters.put(clazz, List.copyOf(values));
+    }
+}
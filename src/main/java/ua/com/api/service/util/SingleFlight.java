@@ -0,0 +1,100 @@
+package ua.com.api.service.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: the first caller with given method and arguments executes the call,
+ * callers coming while it runs wait for its result or exception instead of querying database again.
+ * Nothing is kept after the call completes, but a call started before a change may still be running when a caller
+ * which has already seen the change comes. So callers pass version of the data read before the call (see
+ * {@link ua.com.api.service.version.Versions}) among arguments: caller which has read newer version starts its own
+ * call instead of joining the older one, and result stored under a version is never older than it.
+ * <p>
+ * Waiter that doesn't get result in 'library.single-flight.timeout-ms' executes the call itself.
+ * Counts of executed, coalesced and timed out calls are 'library.single.flight.calls' metric.
+ */
+@Component
+public class SingleFlight {
+    private static final String METRIC = "library.single.flight.calls";
+
+    private final Map<Key, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+    private final Map<List<String>, Counter> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+    private final long timeoutMs;
+
+    @Autowired
+    public SingleFlight(MeterRegistry registry, @Value("${library.single-flight.timeout-ms:5000}") long timeoutMs) {
+        this.registry = registry;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * @param arguments everything result depends on, including version of the data, compared with 'equals'
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String method, Supplier<T> call, Object... arguments) {
+        Key key = new Key(method, Arrays.asList(arguments));
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = calls.putIfAbsent(key, own);
+
+        if (inFlight == null) {
+            count(method, "executed");
+            try {
+                T result = call.get();
+                own.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                own.completeExceptionally(e);
+                throw e;
+            } finally {
+                calls.remove(key, own);
+            }
+        }
+
+        try {
+            T result = (T) inFlight.get(timeoutMs, TimeUnit.MILLISECONDS);
+            count(method, "coalesced");
+            return result;
+        } catch (ExecutionException e) {
+            count(method, "coalesced");
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            count(method, "timeout");
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void count(String method, String result) {
+        counters.computeIfAbsent(List.of(method, result), tags -> Counter.builder(METRIC)
+                        .tag("method", method)
+                        .tag("result", result)
+                        .register(registry))
+                .increment();
+    }
+
+    private record Key(String method, List<Object> arguments) {
+    }
+}
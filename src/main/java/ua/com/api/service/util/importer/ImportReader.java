@@ -0,0 +1,208 @@
+package ua.com.api.service.util.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.core.NestedExceptionUtils;
+import ua.com.api.exception.InvalidValueMessage;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reads uploaded NDJSON or CSV row by row and turns every row into validated DTO, so memory usage doesn't depend
+ * on upload size. DTOs are read by the same deserializers as request bodies. CSV header holds paths to DTO
+ * properties, e.g. 'book.additional.size.width'.
+ */
+public class ImportReader<D> implements Closeable {
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private final RowSource source;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final Class<D> dtoClass;
+
+    private ImportReader(RowSource source, ObjectMapper objectMapper, Validator validator, Class<D> dtoClass) {
+        this.source = source;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.dtoClass = dtoClass;
+    }
+
+    public static <D> ImportReader<D> ndjson(InputStream in, ObjectMapper objectMapper, Validator validator, Class<D> dtoClass) {
+        return new ImportReader<>(new NdjsonSource(in, objectMapper), objectMapper, validator, dtoClass);
+    }
+
+    public static <D> ImportReader<D> csv(InputStream in, ObjectMapper objectMapper, Validator validator, Class<D> dtoClass) throws IOException {
+        return new ImportReader<>(new CsvSource(in, objectMapper, dtoClass), objectMapper, validator, dtoClass);
+    }
+
+    /**
+     * @return up to 'size' next rows, empty list when upload is read to the end
+     */
+    public List<ImportRow<D>> nextChunk(int size) throws IOException {
+        List<ImportRow<D>> chunk = new ArrayList<>(size);
+        RawRow raw;
+
+        while (chunk.size() < size && (raw = source.next()) != null) {
+            chunk.add(raw.error != null ? new ImportRow<>(raw.row, null, raw.error) : convert(raw));
+        }
+        return chunk;
+    }
+
+    private ImportRow<D> convert(RawRow raw) {
+        D value;
+        try {
+            value = objectMapper.treeToValue(raw.node, dtoClass);
+        } catch (JsonProcessingException | RuntimeException e) {
+            Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+            String message = InvalidValueMessage.of(cause);
+            return new ImportRow<>(raw.row, null, message != null ? message : String.valueOf(cause.getMessage()).split(": ")[0]);
+        }
+
+        Iterator<ConstraintViolation<D>> violations = validator.validate(value).iterator();
+        return new ImportRow<>(raw.row, value, violations.hasNext() ? violations.next().getMessage() : null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    private record RawRow(long row, JsonNode node, String error) {
+    }
+
+    private interface RowSource extends Closeable {
+        /**
+         * @return next row or null at the end of upload
+         */
+        RawRow next() throws IOException;
+    }
+
+    /**
+     * Every not blank line is a row, row number is line number.
+     */
+    private static class NdjsonSource implements RowSource {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long line;
+
+        private NdjsonSource(InputStream in, ObjectMapper objectMapper) {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new RawRow(line, objectMapper.readTree(text), null);
+                } catch (JsonProcessingException e) {
+                    return new RawRow(line, null, "Row JSON is invalid!");
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Every record after header is a row, row number is record number. Values of numeric properties
+     * are passed to deserializers as numbers, other values - as strings, empty values are skipped.
+     */
+    private static class CsvSource implements RowSource {
+        private final MappingIterator<Map<String, String>> records;
+        private final ObjectMapper objectMapper;
+        private final JavaType dtoType;
+        private final Map<String, Class<?>> columnTypes = new HashMap<>();
+        private long record;
+
+        private CsvSource(InputStream in, ObjectMapper objectMapper, Class<?> dtoClass) throws IOException {
+            this.records = CSV_MAPPER.readerFor(Map.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(in);
+            this.objectMapper = objectMapper;
+            this.dtoType = objectMapper.constructType(dtoClass);
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            if (!records.hasNextValue()) {
+                return null;
+            }
+            Map<String, String> values = records.nextValue();
+            record++;
+
+            ObjectNode node = JsonNodeFactory.instance.objectNode();
+            values.forEach((column, value) -> {
+                if (value != null && !value.isEmpty()) {
+                    put(node, column, value);
+                }
+            });
+            return new RawRow(record, node, null);
+        }
+
+        private void put(ObjectNode node, String column, String value) {
+            String[] path = column.split("\\.");
+            ObjectNode parent = node;
+            for (int i = 0; i < path.length - 1; i++) {
+                parent = parent.with(path[i]);
+            }
+
+            Class<?> type = columnTypes.computeIfAbsent(column, c -> propertyType(path));
+            if (Number.class.isAssignableFrom(type)) {
+                try {
+                    parent.put(path[path.length - 1], Long.parseLong(value));
+                    return;
+                } catch (NumberFormatException ignored) {
+                }
+                try {
+                    parent.put(path[path.length - 1], Double.parseDouble(value));
+                    return;
+                } catch (NumberFormatException ignored) {
+                }
+            }
+            parent.put(path[path.length - 1], value);
+        }
+
+        private Class<?> propertyType(String[] path) {
+            JavaType type = dtoType;
+            for (String name : path) {
+                Optional<BeanPropertyDefinition> property = objectMapper.getDeserializationConfig()
+                        .introspect(type)
+                        .findProperties().stream()
+                        .filter(p -> p.getName().equals(name))
+                        .findFirst();
+                if (property.isEmpty()) {
+                    return String.class;
+                }
+                type = property.get().getPrimaryType();
+            }
+            return type.getRawClass();
+        }
+
+        @Override
+        public void close() throws IOException {
+            records.close();
+        }
+    }
+}
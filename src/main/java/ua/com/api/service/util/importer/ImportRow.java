@@ -0,0 +1,24 @@
+package ua.com.api.service.util.importer;
+
+import lombok.Getter;
+
+@Getter
+public class ImportRow<D> {
+    private final long row;
+    private final D value;
+    private String error;
+
+    ImportRow(long row, D value, String error) {
+        this.row = row;
+        this.value = value;
+        this.error = error;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,91 @@
+package ua.com.api.service.util.ranking;
+
+import ua.com.api.entity.Author;
+import ua.com.api.entity.Book;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ranks search candidates: prefix matches first, then partial (word) prefix matches, then other containing
+ * results in their original order. Every candidate is visited once per query word, without list re-scans.
+ */
+public final class SearchRanking {
+
+    private SearchRanking() {
+    }
+
+    public static List<Book> rankBooks(List<Book> searched, List<String> splitQuery, int limit) {
+        List<Book> result = new ArrayList<>(limit);
+        boolean[] taken = new boolean[searched.size()];
+        String[] names = new String[searched.size()];
+
+        for (int j = 0; j < searched.size(); j++) {
+            names[j] = searched.get(j).getBookName().toLowerCase();
+        }
+
+        for (int i = splitQuery.size(); i > 0; i--) {
+            String partial = String.join(" ", splitQuery.subList(0, i)).toLowerCase();
+            List<Book> filtered = new ArrayList<>();
+
+            for (int j = 0; j < names.length; j++) {
+                if (!taken[j] && names[j].startsWith(partial)) {
+                    taken[j] = true;
+                    filtered.add(searched.get(j));
+                }
+            }
+
+            filtered.sort(Comparator.comparing(Book::getBookName));
+            result.addAll(filtered);
+
+            if (result.size() >= limit) {
+                return new ArrayList<>(result.subList(0, limit));
+            }
+        }
+
+        return appendRest(result, searched, taken, limit);
+    }
+
+    public static List<Author> rankAuthors(List<Author> searched, List<String> splitQuery, int limit) {
+        List<Author> result = new ArrayList<>(limit);
+        boolean[] taken = new boolean[searched.size()];
+
+        for (String word : splitQuery) {
+            List<Author> byLastName = new ArrayList<>();
+
+            for (int j = 0; j < taken.length; j++) {
+                if (taken[j]) {
+                    continue;
+                }
+
+                Author a = searched.get(j);
+                if (a.getFirstName().startsWith(word)) {
+                    taken[j] = true;
+                    result.add(a);
+                } else if (a.getLastName().startsWith(word)) {
+                    taken[j] = true;
+                    byLastName.add(a);
+                }
+            }
+
+            result.addAll(byLastName);
+
+            if (result.size() >= limit) {
+                return new ArrayList<>(result.subList(0, limit));
+            }
+        }
+
+        return appendRest(result, searched, taken, limit);
+    }
+
+    private static <T> List<T> appendRest(List<T> result, List<T> searched, boolean[] taken, int limit) {
+        for (int j = 0; j < taken.length && result.size() < limit; j++) {
+            if (!taken[j]) {
+                result.add(searched.get(j));
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,178 @@
+package ua.com.api.service.version;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON of single Book, Author and Genre responses by DTO type and ID. Entry keeps version from
+ * {@link Versions} it was built for and is rebuilt when the entity has other one, so changes never need
+ * explicit eviction. Cache is bounded by total size of stored bytes, Caffeine evicts the least valuable entries
+ * by W-TinyLFU policy.
+ * <p>
+ * Gzipped and plain responses are different representations, so clients accepting gzip get other ETag
+ * (with '-gzip' suffix) than the rest. Both have 'Vary: Accept-Encoding', 304 answers too.
+ */
+@Component
+public class ResponseCache {
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final int GZIP_MIN_SIZE = 256;
+
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private final ObjectMapper objectMapper;
+    private final Versions versions;
+    private final boolean gzip;
+    private final Cache<Key, Entry> cache;
+
+    @Autowired
+    public ResponseCache(ObjectMapper objectMapper, Versions versions,
+                         @Value("${library.response-cache.max-bytes:33554432}") long maxBytes,
+                         @Value("${library.response-cache.gzip:true}") boolean gzip) {
+        this.objectMapper = objectMapper;
+        this.versions = versions;
+        this.gzip = gzip;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Entry entry) -> entry.size())
+                .recordStats()
+                .build();
+    }
+
+    public Cache<?, ?> getCache() {
+        return cache;
+    }
+
+    /**
+     * Response with stored bytes of the DTO, gzipped ones if client accepts them, or 'null' if client already has
+     * this representation of given version (response is answered with 304 then). On miss DTO is taken from
+     * 'loader' (exceptions are not cached) and stored under given version, which must be read before loading.
+     */
+    public ResponseEntity<byte[]> get(Class<?> dtoType, long id, String version, Supplier<?> loader, WebRequest request) {
+        boolean acceptsGzip = gzip && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String eTag = versions.eTag(version) + (acceptsGzip ? GZIP_SUFFIX : "");
+
+        varyByEncoding(request);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        Key key = new Key(dtoType, id);
+        Entry entry = cache.getIfPresent(key);
+
+        if (entry == null || !entry.version().equals(version)) {
+            entry = serialize(version, loader.get());
+            cache.put(key, entry);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        // small entries have no gzip and are sent as is, '-gzip' ETag still identifies these bytes for the version
+        if (acceptsGzip && entry.gzip() != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new ResponseEntity<>(entry.gzip(), headers, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(entry.json(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * 'true' if 'gzip' (or '*' when gzip is not listed) has non-zero quality in Accept-Encoding header value.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Double gzipQuality = null;
+        Double anyQuality = null;
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    quality = quality(parameter.substring(2));
+                }
+            }
+
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+
+        Double quality = gzipQuality != null ? gzipQuality : anyQuality;
+        return quality != null && quality > 0;
+    }
+
+    private static double quality(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Vary is set directly on the response, so 304 answered by {@link WebRequest#checkNotModified(String)} has it too.
+     */
+    private static void varyByEncoding(WebRequest request) {
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null && !response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING)) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+        }
+    }
+
+    private Entry serialize(String version, Object dto) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(dto);
+            return new Entry(version, json, gzip && json.length >= GZIP_MIN_SIZE ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Key(Class<?> dtoType, long id) {
+    }
+
+    private record Entry(String version, byte[] json, byte[] gzip) {
+        int size() {
+            return ENTRY_OVERHEAD + json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package ua.com.api.service.version;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+/**
+ * Versions of single Books, Authors and Genres and of their collections, used as ETags of GET responses. They are
+ * read from database on every request with one lookup by primary key, so changes committed by any instance of API,
+ * by reactive API or by DataGenerator are seen:
+ * <ul>
+ * <li>single entity - by its 'version' column, Author and Genre also by 'books_count', which doesn't advance version;</li>
+ * <li>collection - by its row of 'collection_version' table, advanced by {@link #advance(Collection)} in transaction
+ * of every change of it ({@link #BOOKS}, {@link #AUTHORS}, {@link #GENRES}, Books of one Author or Genre).</li>
+ * </ul>
+ * SQL changes which don't advance these versions are not seen. Version must be read before response is queried:
+ * change committed in between only causes one extra full response.
+ */
+@Component
+public class Versions {
+    public static final String BOOKS = "books";
+    // 'books_count' of Authors and Genres changes with every created or deleted Book, so do these
+    public static final String AUTHORS = "authors";
+    public static final String GENRES = "genres";
+    // constants, so reactive API reads them without loading this class
+    public static final String BOOKS_OF_AUTHOR = "books:author:";
+    public static final String BOOKS_OF_GENRE = "books:genre:";
+
+    private static final String BOOK = "SELECT b.version, a.version, a.books_count, g.version, g.books_count FROM book b " +
+            "LEFT JOIN author a ON a.author_id = b.author_id LEFT JOIN genre g ON g.genre_id = b.genre_id WHERE b.book_id = ?";
+    private static final String AUTHOR = "SELECT version, books_count FROM author WHERE author_id = ?";
+    private static final String GENRE = "SELECT version, books_count FROM genre WHERE genre_id = ?";
+    private static final String COLLECTION = "SELECT version FROM collection_version WHERE collection = ?";
+    private static final String ADVANCE = "UPDATE collection_version SET version = version + 1 WHERE collection = ?";
+    private static final String CREATE = "INSERT INTO collection_version (collection) VALUES (?)";
+    private static final String REMOVE = "DELETE FROM collection_version WHERE collection = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public static String booksOfAuthor(long authorId) {
+        return BOOKS_OF_AUTHOR + authorId;
+    }
+
+    public static String booksOfGenre(long genreId) {
+        return BOOKS_OF_GENRE + genreId;
+    }
+
+    /**
+     * Also changes with Author and Genre of the Book.
+     */
+    public String ofBook(long bookId) {
+        return row(BOOK, bookId);
+    }
+
+    public String ofAuthor(long authorId) {
+        return row(AUTHOR, authorId);
+    }
+
+    public String ofGenre(long genreId) {
+        return row(GENRE, genreId);
+    }
+
+    public String ofBooks() {
+        return row(COLLECTION, BOOKS);
+    }
+
+    public String ofBooksOfAuthor(long authorId) {
+        return row(COLLECTION, booksOfAuthor(authorId));
+    }
+
+    public String ofBooksOfGenre(long genreId) {
+        return row(COLLECTION, booksOfGenre(genreId));
+    }
+
+    public String ofAuthors() {
+        return row(COLLECTION, AUTHORS);
+    }
+
+    public String ofGenres() {
+        return row(COLLECTION, GENRES);
+    }
+
+    /**
+     * Advances versions of changed collections, must be called in transaction of the change. Rows stay locked until
+     * commit, so they are updated in ascending order, the same in every transaction.
+     */
+    public void advance(Collection<String> collections) {
+        List<String> sorted = new ArrayList<>(new TreeSet<>(collections));
+        if (!sorted.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADVANCE, sorted, sorted.size(), (ps, collection) -> ps.setString(1, collection));
+        }
+    }
+
+    /**
+     * Adds versions of Books collections of created Authors or Genres, see {@link #booksOfAuthor(long)}.
+     */
+    public void create(Collection<String> collections) {
+        if (!collections.isEmpty()) {
+            jdbcTemplate.batchUpdate(CREATE, collections, collections.size(), (ps, collection) -> ps.setString(1, collection));
+        }
+    }
+
+    public void remove(String collection) {
+        jdbcTemplate.update(REMOVE, collection);
+    }
+
+    /**
+     * Strong ETag value of response built from given versions.
+     */
+    public String eTag(String... versions) {
+        return DigestUtils.md5DigestAsHex(String.join("/", versions).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Values of the first row joined by '.', '-' if there are no rows.
+     */
+    private String row(String sql, Object... arguments) {
+        return jdbcTemplate.query(sql, rs -> {
+            if (!rs.next()) {
+                return "-";
+            }
+            ResultSetMetaData meta = rs.getMetaData();
+            StringJoiner values = new StringJoiner(".");
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                values.add(String.valueOf(rs.getObject(i)));
+            }
+            return values.toString();
+        }, arguments);
+    }
+}
@@ -0,0 +1,44 @@
+package ua.com.api.threads;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Request execution mode: 'platform' (default) - Tomcat thread pool, 'virtual' - virtual thread per request,
+ * available only in build with 'java21' profile (see {@code src/java21/java}).
+ * <p>
+ * Virtual threads remove the limit Tomcat pool puts on concurrent requests, so in 'virtual' mode requests wait for
+ * one of connection permits before entering the application instead of waiting in Hikari pool. Unless set, the number
+ * of permits is the size the pool actually has, whichever way it was configured.
+ */
+@Configuration
+@ConditionalOnProperty(name = RequestThreadsConfig.MODE, havingValue = RequestThreadsConfig.VIRTUAL)
+public class RequestThreadsConfig {
+    public static final String MODE = "library.threads.mode";
+    public static final String VIRTUAL = "virtual";
+
+    private static final String VIRTUAL_THREADS_CONFIG = "ua.com.api.threads.VirtualThreadsConfig";
+
+    @Bean
+    public FilterRegistrationBean<ConnectionPermitFilter> connectionPermitFilter(
+            @Value("${library.threads.max-concurrent-requests:#{null}}") Integer maxConcurrentRequests,
+            @Value("${library.threads.permit-timeout-ms:10000}") long timeoutMs,
+            HikariDataSource dataSource) {
+        if (!ClassUtils.isPresent(VIRTUAL_THREADS_CONFIG, getClass().getClassLoader())) {
+            throw new IllegalStateException("'" + MODE + "=" + VIRTUAL + "' requires build with 'java21' profile: "
+                    + "./mvnw -Pjava21 spring-boot:run");
+        }
+
+        int permits = maxConcurrentRequests != null ? maxConcurrentRequests : dataSource.getMaximumPoolSize();
+        FilterRegistrationBean<ConnectionPermitFilter> registration =
+                new FilterRegistrationBean<>(new ConnectionPermitFilter(permits, timeoutMs));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
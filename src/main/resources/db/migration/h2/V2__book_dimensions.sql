@@ -0,0 +1,9 @@
+-- Volume and square of Book were calculated by @Formula on every query, now they are stored (see Book.calculateDimensions)
+ALTER TABLE book ADD COLUMN book_volume DOUBLE PRECISION;
+ALTER TABLE book ADD COLUMN book_square DOUBLE PRECISION;
+
+UPDATE book SET book_volume = book_height * book_width * book_length, book_square = book_width * book_length;
+
+-- sortBy=volume, sortBy=square
+CREATE INDEX idx_book_volume ON book (book_volume, book_id);
+CREATE INDEX idx_book_square ON book (book_square, book_id);
@@ -0,0 +1,8 @@
+-- getAllAuthorBooksInGenre, getAllBooksOfAuthorCount, getAllAuthorBooksOrdered, getAllGenresOfAuthorOrdered
+CREATE INDEX idx_book_author_genre ON book (author_id, genre_id);
+
+-- getAllBooksInGenre, getAllBooksInGenreCount, getAllAuthorsInGenre
+CREATE INDEX idx_book_genre_author ON book (genre_id, author_id);
+
+-- existsByBookNameAndBookDescription, existsByBookNameAndBookDescriptionAndBookIdNotLike, sortBy=name
+CREATE INDEX idx_book_name_description ON book (book_name, book_description);
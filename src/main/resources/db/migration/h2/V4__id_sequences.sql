@@ -0,0 +1,4 @@
+-- Pooled ids: every sequence call reserves 50 ids, so inserts can be sent in JDBC batches
+EXECUTE IMMEDIATE 'CREATE SEQUENCE author_seq START WITH ' || (SELECT COALESCE(MAX(author_id), 0) + 1 FROM author) || ' INCREMENT BY 50';
+EXECUTE IMMEDIATE 'CREATE SEQUENCE genre_seq START WITH ' || (SELECT COALESCE(MAX(genre_id), 0) + 1 FROM genre) || ' INCREMENT BY 50';
+EXECUTE IMMEDIATE 'CREATE SEQUENCE book_seq START WITH ' || (SELECT COALESCE(MAX(book_id), 0) + 1 FROM book) || ' INCREMENT BY 50';
@@ -0,0 +1,4 @@
+-- Optimistic locking versions, increased by Hibernate on every update of row
+ALTER TABLE author ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE genre ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE book ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
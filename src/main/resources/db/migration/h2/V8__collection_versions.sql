@@ -0,0 +1,8 @@
+-- Versions of Book, Author and Genre collections, advanced in transaction of every change and read as ETags of
+-- listings: 'books', 'authors', 'genres', 'books:author:{id}' and 'books:genre:{id}'
+CREATE TABLE collection_version (
+    collection VARCHAR(40) PRIMARY KEY,
+    version    BIGINT      NOT NULL DEFAULT 0
+);
+
+INSERT INTO collection_version (collection) VALUES ('books'), ('authors'), ('genres');
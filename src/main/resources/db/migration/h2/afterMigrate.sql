@@ -0,0 +1,14 @@
+-- Moves id sequences past rows inserted bypassing API (e.g. by 'fillDB.sql'), runs on every startup.
+-- Like GREATEST in MySQL script, sequence which is already past max id keeps its value and is never moved back
+EXECUTE IMMEDIATE 'ALTER SEQUENCE author_seq RESTART WITH ' || (SELECT GREATEST(s.BASE_VALUE, (SELECT COALESCE(MAX(author_id), 0) + 1 FROM author))
+    FROM INFORMATION_SCHEMA.SEQUENCES s WHERE s.SEQUENCE_SCHEMA = SCHEMA() AND s.SEQUENCE_NAME = 'AUTHOR_SEQ');
+EXECUTE IMMEDIATE 'ALTER SEQUENCE genre_seq RESTART WITH ' || (SELECT GREATEST(s.BASE_VALUE, (SELECT COALESCE(MAX(genre_id), 0) + 1 FROM genre))
+    FROM INFORMATION_SCHEMA.SEQUENCES s WHERE s.SEQUENCE_SCHEMA = SCHEMA() AND s.SEQUENCE_NAME = 'GENRE_SEQ');
+EXECUTE IMMEDIATE 'ALTER SEQUENCE book_seq RESTART WITH ' || (SELECT GREATEST(s.BASE_VALUE, (SELECT COALESCE(MAX(book_id), 0) + 1 FROM book))
+    FROM INFORMATION_SCHEMA.SEQUENCES s WHERE s.SEQUENCE_SCHEMA = SCHEMA() AND s.SEQUENCE_NAME = 'BOOK_SEQ');
+
+-- Adds versions of Books collections of Authors and Genres inserted bypassing API
+INSERT INTO collection_version (collection) SELECT CONCAT('books:author:', a.author_id) FROM author a
+    WHERE NOT EXISTS (SELECT 1 FROM collection_version v WHERE v.collection = CONCAT('books:author:', a.author_id));
+INSERT INTO collection_version (collection) SELECT CONCAT('books:genre:', g.genre_id) FROM genre g
+    WHERE NOT EXISTS (SELECT 1 FROM collection_version v WHERE v.collection = CONCAT('books:genre:', g.genre_id));
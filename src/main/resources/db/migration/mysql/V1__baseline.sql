@@ -0,0 +1,34 @@
+CREATE TABLE author (
+    author_id     BIGINT AUTO_INCREMENT PRIMARY KEY,
+    first_name    VARCHAR(50)  NOT NULL,
+    last_name     VARCHAR(50)  NOT NULL,
+    full_name     VARCHAR(101) UNIQUE,
+    description   VARCHAR(1000),
+    nationality   VARCHAR(30),
+    birth_date    DATE,
+    birth_country VARCHAR(60),
+    birth_city    VARCHAR(50)
+) ENGINE = InnoDB;
+
+CREATE TABLE genre (
+    genre_id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    genre_name        VARCHAR(50) NOT NULL UNIQUE,
+    genre_description VARCHAR(1000)
+) ENGINE = InnoDB;
+
+CREATE TABLE book (
+    book_id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    book_name        VARCHAR(255) NOT NULL,
+    book_language    VARCHAR(50)  NOT NULL,
+    book_description VARCHAR(1000),
+    pages_count      INTEGER,
+    book_height      DOUBLE PRECISION,
+    book_width       DOUBLE PRECISION,
+    book_length      DOUBLE PRECISION,
+    publication_year INTEGER,
+    author_id        BIGINT,
+    genre_id         BIGINT,
+
+    CONSTRAINT fk_book_author FOREIGN KEY (author_id) REFERENCES author (author_id),
+    CONSTRAINT fk_book_genre FOREIGN KEY (genre_id) REFERENCES genre (genre_id)
+) ENGINE = InnoDB;
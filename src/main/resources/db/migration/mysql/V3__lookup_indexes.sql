@@ -0,0 +1,9 @@
+-- getAllAuthorBooksInGenre, getAllBooksOfAuthorCount, getAllAuthorBooksOrdered, getAllGenresOfAuthorOrdered
+CREATE INDEX idx_book_author_genre ON book (author_id, genre_id);
+
+-- getAllBooksInGenre, getAllBooksInGenreCount, getAllAuthorsInGenre
+CREATE INDEX idx_book_genre_author ON book (genre_id, author_id);
+
+-- existsByBookNameAndBookDescription, existsByBookNameAndBookDescriptionAndBookIdNotLike, sortBy=name
+-- description is indexed by prefix to stay within InnoDB key length for utf8mb4
+CREATE INDEX idx_book_name_description ON book (book_name, book_description(255));
@@ -0,0 +1,10 @@
+-- MySQL has no sequences, Hibernate emulates them with one-row tables.
+-- Pooled ids: every sequence call reserves 50 ids, so inserts can be sent in JDBC batches
+CREATE TABLE author_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO author_seq SELECT COALESCE(MAX(author_id), 0) + 1 FROM author;
+
+CREATE TABLE genre_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO genre_seq SELECT COALESCE(MAX(genre_id), 0) + 1 FROM genre;
+
+CREATE TABLE book_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO book_seq SELECT COALESCE(MAX(book_id), 0) + 1 FROM book;
@@ -0,0 +1,10 @@
+-- Books counters of Author and Genre, changed by API together with Books (see BookService)
+ALTER TABLE author ADD COLUMN books_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE genre ADD COLUMN books_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE author a SET books_count = (SELECT COUNT(*) FROM book b WHERE b.author_id = a.author_id);
+UPDATE genre g SET books_count = (SELECT COUNT(*) FROM book b WHERE b.genre_id = g.genre_id);
+
+-- sortBy=booksCount
+CREATE INDEX idx_author_books_count ON author (books_count, author_id);
+CREATE INDEX idx_genre_books_count ON genre (books_count, genre_id);
@@ -0,0 +1,9 @@
+-- IDs of rows changed by reactive API, read by servlet API to update its indexes and 2nd-level cache
+CREATE TABLE entity_change (
+    change_id  BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity     VARCHAR(16) NOT NULL,
+    entity_id  BIGINT      NOT NULL,
+    changed_at TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_entity_change_changed_at ON entity_change (changed_at);
@@ -0,0 +1,10 @@
+-- Moves id sequences past rows inserted bypassing API (e.g. by 'fillDB.sql'), runs on every startup
+UPDATE author_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(author_id), 0) + 1 FROM author));
+UPDATE genre_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(genre_id), 0) + 1 FROM genre));
+UPDATE book_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(book_id), 0) + 1 FROM book));
+
+-- Adds versions of Books collections of Authors and Genres inserted bypassing API
+INSERT INTO collection_version (collection) SELECT CONCAT('books:author:', a.author_id) FROM author a
+    WHERE NOT EXISTS (SELECT 1 FROM collection_version v WHERE v.collection = CONCAT('books:author:', a.author_id));
+INSERT INTO collection_version (collection) SELECT CONCAT('books:genre:', g.genre_id) FROM genre g
+    WHERE NOT EXISTS (SELECT 1 FROM collection_version v WHERE v.collection = CONCAT('books:genre:', g.genre_id));
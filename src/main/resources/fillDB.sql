@@ -1178,3 +1178,10 @@ insert into book (book_name,book_description,book_language,pages_count,book_heig
 insert into book (book_name,book_description,book_language,pages_count,book_height,book_width,book_length,publication_year,author_id,genre_id) values ("Id ut sit esse incidunt","Et error laboriosam ratione debitis doloribus provident ea. Officiis consectetur tenetur molestias. Enim et velit architecto eveniet nihil rerum. Est dolores ullam. Non impedit quo voluptatibus mollitia dolore occaecati harum.","chinese","903","14.0","1.3","11.1","1989","38","14");
 insert into book (book_name,book_description,book_language,pages_count,book_height,book_width,book_length,publication_year,author_id,genre_id) values ("Consequatur neque veniam voluptatibus","Quo ipsa quo quo. Aliquid est vel nobis. Culpa dolor illo ullam non error quibusdam dolorum. Accusamus sed iure sit ut. Alias laudantium commodi.","turkish","115","28.5","3.7","20.1","1982","31","8");
 insert into book (book_name,book_description,book_language,pages_count,book_height,book_width,book_length,publication_year,author_id,genre_id) values ("Quis aut quod debitis saepe","Cumque nulla blanditiis. Odit placeat rerum sed doloribus et quo. Et magni expedita nisi accusantium et hic.","arabic","658","15.7","1.4","27.2","1973","142","7");
+
+update book set book_volume = book_height * book_width * book_length, book_square = book_width * book_length;
+update author a set books_count = (select count(*) from book b where b.author_id = a.author_id);
+update genre g set books_count = (select count(*) from book b where b.genre_id = g.genre_id);
+insert into collection_version (collection) select concat('books:author:', a.author_id) from author a where not exists (select 1 from collection_version v where v.collection = concat('books:author:', a.author_id));
+insert into collection_version (collection) select concat('books:genre:', g.genre_id) from genre g where not exists (select 1 from collection_version v where v.collection = concat('books:genre:', g.genre_id));
+update collection_version set version = version + 1;
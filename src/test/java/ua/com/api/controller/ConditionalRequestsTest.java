@@ -0,0 +1,153 @@
+package ua.com.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ua.com.api.app.App;
+import ua.com.api.entity.dto.author.AuthorWithoutIdDto;
+import ua.com.api.entity.dto.book.BookWithoutIdDto;
+import ua.com.api.entity.dto.genre.GenreWithoutIdDto;
+import ua.com.api.service.AuthorService;
+import ua.com.api.service.BookService;
+import ua.com.api.service.GenreService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = App.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional-test;DB_CLOSE_DELAY=-1",
+        "library.schema.check-query-plans=false"
+})
+@AutoConfigureMockMvc
+class ConditionalRequestsTest {
+    private static final String AUTHORIZATION = "Basic " +
+            Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private GenreService genreService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockHttpServletResponse get(String path, String eTag) throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/api/library" + path)
+                .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION);
+        if (eTag != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, eTag);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private long author() throws Exception {
+        String json = "{\"name\":{\"first\":\"Conditional\",\"last\":\"" + UUID.randomUUID() + "\"}}";
+        return authorService.addNewAuthor(objectMapper.readValue(json, AuthorWithoutIdDto.class)).getAuthorId();
+    }
+
+    private long genre() throws Exception {
+        String json = "{\"name\":\"" + UUID.randomUUID().toString().substring(0, 30) + "\"}";
+        return genreService.addNewGenre(objectMapper.readValue(json, GenreWithoutIdDto.class)).getGenreId();
+    }
+
+    private BookWithoutIdDto bookBody() throws Exception {
+        String json = "{\"bookName\":\"" + UUID.randomUUID() + "\",\"bookDescription\":\"Conditional\",\"bookLanguage\":\"English\"," +
+                "\"additional\":{\"pagesCount\":100,\"size\":{\"height\":20,\"width\":15,\"length\":3}},\"publicationYear\":2000}";
+        return objectMapper.readValue(json, BookWithoutIdDto.class);
+    }
+
+    private long book(long authorId, long genreId) throws Exception {
+        return bookService.addNewBook(authorId, genreId, bookBody()).getBookId();
+    }
+
+    @Test
+    void seesChangeCommittedBypassingThisInstance() throws Exception {
+        long authorId = author();
+
+        MockHttpServletResponse first = get("/author/" + authorId, null);
+        String eTag = first.getHeader(HttpHeaders.ETAG);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(eTag).isNotNull();
+        assertThat(get("/author/" + authorId, eTag).getStatus()).isEqualTo(304);
+
+        jdbcTemplate.update("UPDATE author SET description = 'Changed elsewhere', version = version + 1 WHERE author_id = ?", authorId);
+
+        MockHttpServletResponse changed = get("/author/" + authorId, eTag);
+
+        assertThat(changed.getStatus()).isEqualTo(200);
+        assertThat(changed.getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+        assertThat(changed.getContentAsString()).contains("Changed elsewhere");
+    }
+
+    @Test
+    void collectionChangesWithBooksCountOfItsAuthor() throws Exception {
+        long authorId = author();
+        long genreId = genre();
+        String eTag = get("/authors", null).getHeader(HttpHeaders.ETAG);
+
+        assertThat(get("/authors", eTag).getStatus()).isEqualTo(304);
+
+        book(authorId, genreId);
+
+        assertThat(get("/authors", eTag).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void deletedGenreIsNotAnsweredAsNotModified() throws Exception {
+        long genreId = genre();
+        MockHttpServletResponse empty = get("/genre/" + genreId + "/books", null);
+
+        assertThat(empty.getStatus()).isEqualTo(200);
+
+        genreService.deleteExistedGenre(genreId, false);
+
+        assertThat(get("/genre/" + genreId + "/books", empty.getHeader(HttpHeaders.ETAG)).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void booksOfAuthorChangeWithUpdatedBook() throws Exception {
+        long authorId = author();
+        long bookId = book(authorId, genre());
+        String eTag = get("/author/" + authorId + "/books", null).getHeader(HttpHeaders.ETAG);
+
+        assertThat(get("/author/" + authorId + "/books", eTag).getStatus()).isEqualTo(304);
+
+        bookService.updateExistedBook(bookId, bookBody());
+
+        assertThat(get("/author/" + authorId + "/books", eTag).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void keepsCollectionVersionOfEveryAuthor() throws Exception {
+        long authorId = author();
+        String sql = "SELECT COUNT(*) FROM collection_version WHERE collection = ?";
+
+        assertThat(jdbcTemplate.queryForObject(sql, Long.class, "books:author:" + authorId)).isEqualTo(1);
+
+        authorService.deleteExistedAuthor(authorId, false);
+
+        assertThat(jdbcTemplate.queryForObject(sql, Long.class, "books:author:" + authorId)).isZero();
+    }
+}
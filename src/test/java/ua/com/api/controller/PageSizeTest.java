@@ -0,0 +1,49 @@
+package ua.com.api.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ua.com.api.app.App;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = App.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:page-size-test;DB_CLOSE_DELAY=-1",
+        "library.schema.check-query-plans=false"
+})
+@AutoConfigureMockMvc
+class PageSizeTest {
+    private static final String AUTHORIZATION = "Basic " +
+            Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private int status(String path) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/api/library" + path)
+                        .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+                .andReturn().getResponse().getStatus();
+    }
+
+    @Test
+    void offsetPagesAcceptAnySize() throws Exception {
+        assertThat(status("/books?size=5000")).isEqualTo(200);
+        assertThat(status("/authors?size=5000")).isEqualTo(200);
+        assertThat(status("/genres?size=5000&pagination=false")).isEqualTo(200);
+    }
+
+    @Test
+    void cursorPagesLimitSize() throws Exception {
+        assertThat(status("/books?size=1000&cursor=")).isEqualTo(200);
+        assertThat(status("/books?size=1001&cursor=")).isEqualTo(400);
+        assertThat(status("/authors?size=1001&cursor=")).isEqualTo(400);
+        assertThat(status("/genres?size=1001&cursor=")).isEqualTo(400);
+    }
+}
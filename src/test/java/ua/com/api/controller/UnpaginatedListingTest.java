@@ -0,0 +1,87 @@
+package ua.com.api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ua.com.api.app.App;
+import ua.com.api.entity.dto.genre.GenreWithoutIdDto;
+import ua.com.api.service.GenreService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+@SpringBootTest(classes = App.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:unpaginated-test;DB_CLOSE_DELAY=-1",
+        "library.schema.check-query-plans=false"
+})
+@AutoConfigureMockMvc
+class UnpaginatedListingTest {
+    private static final String AUTHORIZATION = "Basic " +
+            Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GenreService genreService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private JsonNode streamed(String path) throws Exception {
+        MvcResult started = mockMvc.perform(MockMvcRequestBuilders.get("/api/library" + path)
+                        .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        assertThat(started.getRequest().isAsyncStarted()).isTrue();
+
+        String body = mockMvc.perform(asyncDispatch(started)).andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void genre() throws Exception {
+        String json = "{\"name\":\"" + UUID.randomUUID().toString().substring(0, 30) + "\"}";
+        genreService.addNewGenre(objectMapper.readValue(json, GenreWithoutIdDto.class));
+    }
+
+    @Test
+    void allGenresAreStreamedAsOneSortedArray() throws Exception {
+        genre();
+        genre();
+
+        JsonNode genres = streamed("/genres?pagination=false&orderType=DESC");
+        List<Long> ids = new ArrayList<>();
+        genres.forEach(genre -> ids.add(genre.get("genreId").asLong()));
+
+        assertThat(genres.isArray()).isTrue();
+        assertThat(ids).hasSize(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM genre", Integer.class));
+        assertThat(ids).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    @Test
+    void booksWithRelationsAreStreamedAsArray() throws Exception {
+        JsonNode books = streamed("/books?pagination=false&include=author");
+
+        assertThat(books.isArray()).isTrue();
+        assertThat(books).hasSize(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM book", Integer.class));
+    }
+}
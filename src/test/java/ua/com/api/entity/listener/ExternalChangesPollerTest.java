@@ -0,0 +1,119 @@
+package ua.com.api.entity.listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.api.app.App;
+import ua.com.api.entity.Book;
+import ua.com.api.entity.Genre;
+import ua.com.api.entity.dto.author.AuthorWithoutIdDto;
+import ua.com.api.entity.dto.book.BookDto;
+import ua.com.api.entity.dto.book.BookWithoutIdDto;
+import ua.com.api.entity.dto.genre.GenreWithoutIdDto;
+import ua.com.api.repository.search.SearchEngine;
+import ua.com.api.service.AuthorService;
+import ua.com.api.service.BookService;
+import ua.com.api.service.GenreService;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = App.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:external-changes-test;DB_CLOSE_DELAY=-1",
+        "library.schema.check-query-plans=false",
+        "library.external-changes.poll-ms=3600000"
+})
+class ExternalChangesPollerTest {
+
+    @Autowired
+    private ExternalChangesPoller poller;
+
+    @Autowired
+    private SearchEngine searchEngine;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private GenreService genreService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static String uniqueName() {
+        return "n" + UUID.randomUUID().toString().replace("-", "").substring(0, 20);
+    }
+
+    private void changed(String entity, long id) {
+        jdbcTemplate.update("INSERT INTO entity_change (entity, entity_id) VALUES (?, ?)", entity, id);
+    }
+
+    private List<Long> genresFound(String name) {
+        return searchEngine.genres(name, List.of(name)).stream().map(Genre::getGenreId).toList();
+    }
+
+    @Test
+    void appliesUpdateCommittedByOtherApi() throws Exception {
+        long genreId = genreService.addNewGenre(objectMapper.readValue("{\"name\":\"" + uniqueName() + "\"}",
+                GenreWithoutIdDto.class)).getGenreId();
+        String newName = uniqueName();
+
+        jdbcTemplate.update("UPDATE genre SET genre_name = ?, version = version + 1 WHERE genre_id = ?", newName, genreId);
+        changed(ExternalChangesPoller.GENRE, genreId);
+
+        assertThat(genresFound(newName)).doesNotContain(genreId);
+
+        poller.poll();
+
+        assertThat(genresFound(newName)).contains(genreId);
+    }
+
+    @Test
+    void appliesDeleteCommittedByOtherApi() throws Exception {
+        long authorId = authorService.addNewAuthor(objectMapper.readValue("{\"name\":{\"first\":\"External\",\"last\":\"" +
+                uniqueName() + "\"}}", AuthorWithoutIdDto.class)).getAuthorId();
+        long genreId = genreService.addNewGenre(objectMapper.readValue("{\"name\":\"" + uniqueName() + "\"}",
+                GenreWithoutIdDto.class)).getGenreId();
+        String bookName = uniqueName();
+        BookDto book = bookService.addNewBook(authorId, genreId, objectMapper.readValue("{\"bookName\":\"" + bookName +
+                "\",\"bookDescription\":\"External\",\"bookLanguage\":\"English\",\"additional\":{\"pagesCount\":100," +
+                "\"size\":{\"height\":20,\"width\":15,\"length\":3}},\"publicationYear\":2000}", BookWithoutIdDto.class));
+
+        assertThat(searchEngine.books(bookName, List.of(bookName))).extracting(Book::getBookId).contains(book.getBookId());
+
+        jdbcTemplate.update("DELETE FROM book WHERE book_id = ?", book.getBookId());
+        changed(ExternalChangesPoller.BOOK, book.getBookId());
+        poller.poll();
+
+        assertThat(searchEngine.books(bookName, List.of(bookName))).extracting(Book::getBookId).doesNotContain(book.getBookId());
+    }
+
+    @Test
+    void appliesChangeCommittedLateIntoLargeGap() throws Exception {
+        long genreId = genreService.addNewGenre(objectMapper.readValue("{\"name\":\"" + uniqueName() + "\"}",
+                GenreWithoutIdDto.class)).getGenreId();
+        String newName = uniqueName();
+        long last = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(change_id), 0) FROM entity_change", Long.class);
+
+        jdbcTemplate.update("INSERT INTO entity_change (change_id, entity, entity_id) VALUES (?, ?, ?)",
+                last + 1_000_000, ExternalChangesPoller.GENRE, genreId);
+        poller.poll();
+
+        jdbcTemplate.update("UPDATE genre SET genre_name = ?, version = version + 1 WHERE genre_id = ?", newName, genreId);
+        jdbcTemplate.update("INSERT INTO entity_change (change_id, entity, entity_id) VALUES (?, ?, ?)",
+                last + 500_000, ExternalChangesPoller.GENRE, genreId);
+        poller.poll();
+
+        assertThat(genresFound(newName)).contains(genreId);
+    }
+}
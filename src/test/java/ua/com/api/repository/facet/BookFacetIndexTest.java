@@ -0,0 +1,84 @@
+package ua.com.api.repository.facet;
+
+import org.junit.jupiter.api.Test;
+import ua.com.api.entity.dto.facet.FacetValueDto;
+import ua.com.api.entity.dto.facet.RangeFacetDto;
+import ua.com.api.repository.projection.BookFacetRow;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookFacetIndexTest {
+
+    private static BookFacetRow book(long id, String language, long authorId, long genreId, Integer year) {
+        return new BookFacetRow(id, language, authorId, genreId, year, 100, 20.0, 15.0, 3.0);
+    }
+
+    private static BookFilter filter(Set<String> languages, Set<Long> genreIds, BookFilter.Range year) {
+        return new BookFilter(languages, genreIds, null, year, null, null, null, null);
+    }
+
+    private static BookFacetIndex index() {
+        BookFacetIndex index = new BookFacetIndex();
+        index.put(book(1, "English", 1, 1, 1990));
+        index.put(book(2, "english ", 1, 2, 2000));
+        index.put(book(3, "French", 2, 1, 2010));
+        index.put(book(4, "French", 2, 2, null));
+        index.compact();
+        return index;
+    }
+
+    @Test
+    void filtersAndCountsFacetsWithoutOwnCondition() {
+        BookFacetResult result = index().filter(filter(Set.of("ENGLISH"), null, null), 0, 10, 10);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.bookIds()).containsExactly(1L, 2L);
+        assertThat(result.values().get(BookFacetIndex.LANGUAGE))
+                .containsExactly(new FacetValueDto("english", 2), new FacetValueDto("french", 2));
+        assertThat(result.values().get(BookFacetIndex.GENRE))
+                .containsExactly(new FacetValueDto("1", 1), new FacetValueDto("2", 1));
+        assertThat(result.ranges().get(BookFacetIndex.YEAR)).isEqualTo(new RangeFacetDto(1990.0, 2000.0));
+    }
+
+    @Test
+    void combinesValueAndRangeConditions() {
+        BookFacetResult result = index().filter(filter(null, Set.of(1L), BookFilter.Range.of(2000, null)), 0, 10, 10);
+
+        assertThat(result.bookIds()).containsExactly(3L);
+        assertThat(result.ranges().get(BookFacetIndex.YEAR)).isEqualTo(new RangeFacetDto(1990.0, 2010.0));
+    }
+
+    @Test
+    void pagesMatchedBooksInIdOrder() {
+        BookFacetIndex index = index();
+
+        assertThat(index.filter(filter(null, null, null), 1, 2, 10).bookIds()).containsExactly(2L, 3L);
+        assertThat(index.filter(filter(null, null, null), 4, 2, 10).bookIds()).isEmpty();
+    }
+
+    @Test
+    void sortsPageByIdWhenBooksAreIndexedOutOfIdOrder() {
+        BookFacetIndex index = new BookFacetIndex();
+        index.put(book(7, "English", 1, 1, 2000));
+        index.put(book(5, "English", 1, 1, 2000));
+        index.put(book(6, "English", 1, 1, 2000));
+
+        assertThat(index.filter(filter(null, null, null), 0, 2, 10).bookIds()).containsExactly(5L, 7L);
+        assertThat(index.filter(filter(null, null, null), 2, 2, 10).bookIds()).containsExactly(6L);
+    }
+
+    @Test
+    void forgetsRemovedAndUpdatesChangedBooks() {
+        BookFacetIndex index = index();
+        index.remove(1);
+        index.put(book(4, "English", 2, 2, 2020));
+
+        BookFacetResult result = index.filter(filter(Set.of("english"), null, null), 0, 10, 10);
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(result.bookIds()).containsExactly(2L, 4L);
+        assertThat(result.ranges().get(BookFacetIndex.YEAR)).isEqualTo(new RangeFacetDto(2000.0, 2020.0));
+    }
+}
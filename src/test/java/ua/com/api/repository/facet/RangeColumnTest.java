@@ -0,0 +1,60 @@
+package ua.com.api.repository.facet;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RangeColumnTest {
+
+    private static RangeColumn column(Number... values) {
+        RangeColumn column = new RangeColumn();
+        for (int ordinal = 0; ordinal < values.length; ordinal++) {
+            column.set(ordinal, values[ordinal]);
+        }
+        return column;
+    }
+
+    @Test
+    void findsRangeBeforeAndAfterMerge() {
+        RangeColumn column = column(30, 10, null, 20, 40);
+
+        assertThat(column.between(15.0, 30.0).toArray()).containsExactly(0, 3);
+
+        column.merge();
+
+        assertThat(column.between(15.0, 30.0).toArray()).containsExactly(0, 3);
+        assertThat(column.between(null, 20.0).toArray()).containsExactly(1, 3);
+        assertThat(column.between(35.0, null).toArray()).containsExactly(4);
+        assertThat(column.between(null, null).toArray()).containsExactly(0, 1, 3, 4);
+    }
+
+    @Test
+    void seesChangesMadeAfterMerge() {
+        RangeColumn column = column(30, 10, 20);
+        column.merge();
+
+        column.set(1, 50);
+        column.set(2, null);
+        column.set(3, 25);
+
+        assertThat(column.between(null, 30.0).toArray()).containsExactly(0, 3);
+        assertThat(column.between(40.0, null).toArray()).containsExactly(1);
+
+        column.merge();
+
+        assertThat(column.between(null, 30.0).toArray()).containsExactly(0, 3);
+        assertThat(column.between(40.0, null).toArray()).containsExactly(1);
+    }
+
+    @Test
+    void boundsSkipOrdinalsWithoutValue() {
+        RangeColumn column = column(30, 10, null, 20, 40);
+        column.merge();
+        column.set(4, 5);
+
+        assertThat(column.bounds(RoaringBitmap.bitmapOf(0, 1, 2, 3, 4))).containsExactly(5.0, 30.0);
+        assertThat(column.bounds(RoaringBitmap.bitmapOf(0, 3))).containsExactly(20.0, 30.0);
+        assertThat(column.bounds(RoaringBitmap.bitmapOf(2))).isNull();
+    }
+}
@@ -0,0 +1,79 @@
+package ua.com.api.repository.keyset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import ua.com.api.entity.Book;
+import ua.com.api.exception.entity.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    private static Book book(long id, String name, Integer pages) {
+        Book book = new Book();
+        book.setBookId(id);
+        book.setBookName(name);
+        book.setPagesCount(pages);
+        return book;
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void decodesWhatWasEncoded() {
+        String cursor = PageCursor.after(book(7, "Name", 120), "bookId", "pagesCount", Sort.Direction.DESC).encode();
+
+        PageCursor decoded = PageCursor.decode(cursor, "pagesCount", Integer.class, Sort.Direction.DESC);
+
+        assertThat(decoded.getId()).isEqualTo(7L);
+        assertThat(decoded.typedValue()).isEqualTo(120);
+    }
+
+    @Test
+    void keepsNullSortValue() {
+        String cursor = PageCursor.after(book(7, "Name", null), "bookId", "pagesCount", Sort.Direction.ASC).encode();
+
+        PageCursor decoded = PageCursor.decode(cursor, "pagesCount", Integer.class, Sort.Direction.ASC);
+
+        assertThat(decoded.typedValue()).isNull();
+        assertThat(decoded.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void blankCursorIsFirstPage() {
+        assertThat(PageCursor.decode(null, "bookId", Long.class, Sort.Direction.ASC)).isNull();
+        assertThat(PageCursor.decode(" ", "bookId", Long.class, Sort.Direction.ASC)).isNull();
+    }
+
+    @Test
+    void rejectsCursorOfOtherSortOrDirection() {
+        String cursor = PageCursor.after(book(7, "Name", 120), "bookId", "pagesCount", Sort.Direction.ASC).encode();
+
+        assertThatThrownBy(() -> PageCursor.decode(cursor, "bookName", String.class, Sort.Direction.ASC))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> PageCursor.decode(cursor, "pagesCount", Integer.class, Sort.Direction.DESC))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void rejectsValueTypeOtherThanSortField() {
+        String cursor = encode("{\"sortField\":\"pagesCount\",\"direction\":\"ASC\",\"valueType\":\"String\",\"value\":\"abc\",\"id\":1}");
+
+        assertThatThrownBy(() -> PageCursor.decode(cursor, "pagesCount", Integer.class, Sort.Direction.ASC))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThatThrownBy(() -> PageCursor.decode("not a cursor", "bookId", Long.class, Sort.Direction.ASC))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> PageCursor.decode(encode("{\"valueType\":\"Integer\",\"value\":\"x\"}"), "bookId", Long.class, Sort.Direction.ASC))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
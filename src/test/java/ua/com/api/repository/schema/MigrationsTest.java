@@ -0,0 +1,107 @@
+package ua.com.api.repository.schema;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MigrationsTest {
+
+    private static String newDatabase() {
+        return "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private static Flyway flyway(String url) {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    private static Object single(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            assertThat(rs.next()).isTrue();
+            return rs.getObject(1);
+        }
+    }
+
+    @Test
+    void createsSchemaOfEmptyDatabase() throws SQLException {
+        String url = newDatabase();
+        flyway(url).migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO author (author_id, first_name, last_name, full_name) VALUES (1, 'A', 'B', 'A B')");
+            statement.execute("INSERT INTO genre (genre_id, genre_name) VALUES (1, 'G')");
+            statement.execute("INSERT INTO book (book_id, book_name, book_language, book_height, book_width, book_length, author_id, genre_id) " +
+                    "VALUES (1, 'N', 'L', 2, 3, 4, 1, 1)");
+
+            assertThat(single(connection, "SELECT book_volume FROM book")).isNull();
+            assertThat(single(connection, "SELECT version FROM book")).isEqualTo(0L);
+            assertThat(((Number) single(connection, "SELECT NEXT VALUE FOR book_seq")).longValue()).isEqualTo(1L);
+        }
+    }
+
+    /**
+     * Database created by Hibernate before migrations is baselined as V1, so V1 must be exactly its schema
+     * and every later change must come from newer migrations.
+     */
+    @Test
+    void upgradesDatabaseCreatedBeforeMigrations() throws SQLException {
+        String url = newDatabase();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE author (author_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "first_name VARCHAR(50) NOT NULL, last_name VARCHAR(50) NOT NULL, full_name VARCHAR(101) UNIQUE, " +
+                    "description VARCHAR(1000), nationality VARCHAR(30), birth_date DATE, birth_country VARCHAR(60), birth_city VARCHAR(50))");
+            statement.execute("CREATE TABLE genre (genre_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "genre_name VARCHAR(50) NOT NULL UNIQUE, genre_description VARCHAR(1000))");
+            statement.execute("CREATE TABLE book (book_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "book_name VARCHAR(255) NOT NULL, book_language VARCHAR(50) NOT NULL, book_description VARCHAR(1000), " +
+                    "pages_count INTEGER, book_height DOUBLE PRECISION, book_width DOUBLE PRECISION, book_length DOUBLE PRECISION, " +
+                    "publication_year INTEGER, author_id BIGINT REFERENCES author (author_id), genre_id BIGINT REFERENCES genre (genre_id))");
+            statement.execute("INSERT INTO author (author_id, first_name, last_name, full_name) VALUES (3, 'A', 'B', 'A B')");
+            statement.execute("INSERT INTO genre (genre_id, genre_name) VALUES (4, 'G')");
+            statement.execute("INSERT INTO book (book_id, book_name, book_language, book_height, book_width, book_length, author_id, genre_id) " +
+                    "VALUES (70, 'N', 'L', 2, 3, 4, 3, 4)");
+        }
+
+        flyway(url).migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            assertThat(single(connection, "SELECT book_volume FROM book")).isEqualTo(24.0);
+            assertThat(single(connection, "SELECT book_square FROM book")).isEqualTo(12.0);
+            assertThat(single(connection, "SELECT books_count FROM author")).isEqualTo(1L);
+            assertThat(single(connection, "SELECT books_count FROM genre")).isEqualTo(1L);
+            assertThat(((Number) single(connection, "SELECT NEXT VALUE FOR book_seq")).longValue()).isEqualTo(71L);
+        }
+    }
+
+    @Test
+    void neverMovesSequenceBack() throws SQLException {
+        String url = newDatabase();
+        flyway(url).migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE book_seq RESTART WITH 500");
+        }
+
+        flyway(url).migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            assertThat(((Number) single(connection, "SELECT NEXT VALUE FOR book_seq")).longValue()).isEqualTo(500L);
+        }
+    }
+}
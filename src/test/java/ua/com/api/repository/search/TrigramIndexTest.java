@@ -0,0 +1,104 @@
+package ua.com.api.repository.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+    private static final int LIMIT = 100;
+
+    private static TrigramIndex index(String... texts) {
+        TrigramIndex index = new TrigramIndex();
+        for (int i = 0; i < texts.length; i++) {
+            index.put(i + 1, texts[i]);
+        }
+        return index;
+    }
+
+    @Test
+    void findsSubstringIgnoringCase() {
+        TrigramIndex index = index("The Lord of the Rings", "Lord Jim", "Ringworld");
+
+        assertThat(index.search(List.of("LORD"), LIMIT)).containsExactly(1L, 2L);
+        assertThat(index.search(List.of("rings"), LIMIT)).containsExactly(1L);
+        assertThat(index.search(List.of("ring"), LIMIT)).containsExactly(1L, 3L);
+        assertThat(index.search(List.of("d o"), LIMIT)).containsExactly(1L);
+    }
+
+    @Test
+    void findsTermsShorterThanTrigram() {
+        TrigramIndex index = index("Dune", "It");
+
+        assertThat(index.search(List.of("u"), LIMIT)).containsExactly(1L);
+        assertThat(index.search(List.of("it"), LIMIT)).containsExactly(2L);
+        assertThat(index.search(List.of("x"), LIMIT)).isEmpty();
+    }
+
+    @Test
+    void dropsCandidatesHavingAllTrigramsButNotSubstring() {
+        // "abcxbcd" has trigrams "abc" and "bcd" of "abcd" but doesn't contain it
+        TrigramIndex index = index("abcxbcd", "xabcdx");
+
+        assertThat(index.search(List.of("abcd"), LIMIT)).containsExactly(2L);
+    }
+
+    @Test
+    void returnsMatchesOfEarlierTermsFirst() {
+        TrigramIndex index = index("Emma", "Ulysses", "Beloved");
+
+        assertThat(index.search(List.of("loved", "emm", "missing"), LIMIT)).containsExactly(3L, 1L);
+        assertThat(index.search(List.of(" ", ""), LIMIT)).isEmpty();
+    }
+
+    @Test
+    void stopsAtLimit() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 1; id <= 10_000; id++) {
+            index.put(id, "Book " + id);
+        }
+
+        assertThat(index.search(List.of("b"), 5)).hasSize(5);
+        assertThat(index.search(List.of("book", "1"), 20)).hasSize(20);
+    }
+
+    @Test
+    void reindexesReplacedAndRemovedDocuments() {
+        TrigramIndex index = index("Old title", "Other");
+
+        index.put(1, "New title");
+        index.remove(2);
+        index.put(3, "Another");
+
+        assertThat(index.search(List.of("old"), LIMIT)).isEmpty();
+        assertThat(index.search(List.of("new"), LIMIT)).containsExactly(1L);
+        assertThat(index.search(List.of("other"), LIMIT)).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void neverMissesDocumentWhileItIsReindexed() throws Exception {
+        TrigramIndex index = index("Stable name");
+        AtomicBoolean missed = new AtomicBoolean();
+        AtomicBoolean stop = new AtomicBoolean();
+
+        CompletableFuture<Void> searches = CompletableFuture.runAsync(() -> {
+            while (!stop.get()) {
+                if (index.search(List.of("stable"), LIMIT).isEmpty()) {
+                    missed.set(true);
+                }
+            }
+        });
+        for (int i = 0; i < 10_000; i++) {
+            index.put(1, "Stable name " + i);
+        }
+        stop.set(true);
+        searches.get(10, TimeUnit.SECONDS);
+
+        assertThat(missed).isFalse();
+    }
+}
@@ -0,0 +1,78 @@
+package ua.com.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ua.com.api.app.App;
+import ua.com.api.entity.dto.author.AuthorDto;
+import ua.com.api.entity.dto.author.AuthorWithoutIdDto;
+import ua.com.api.entity.dto.book.BookWithoutIdDto;
+import ua.com.api.entity.dto.genre.GenreWithoutIdDto;
+import ua.com.api.exception.entity.genre.GenreNotFoundException;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ua.com.api.service.constants.Constants.ASC;
+import static ua.com.api.service.constants.Constants.AUTHOR_ID;
+
+@SpringBootTest(classes = App.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:authors-in-genre-test;DB_CLOSE_DELAY=-1",
+        "library.schema.check-query-plans=false"
+})
+class AuthorsInGenreTest {
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private GenreService genreService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long author() throws JsonProcessingException {
+        String json = "{\"name\":{\"first\":\"Genre\",\"last\":\"" + UUID.randomUUID() + "\"}}";
+        return authorService.addNewAuthor(objectMapper.readValue(json, AuthorWithoutIdDto.class)).getAuthorId();
+    }
+
+    private long genre() throws JsonProcessingException {
+        String json = "{\"name\":\"" + UUID.randomUUID().toString().substring(0, 30) + "\"}";
+        return genreService.addNewGenre(objectMapper.readValue(json, GenreWithoutIdDto.class)).getGenreId();
+    }
+
+    private void book(long authorId, long genreId) throws JsonProcessingException {
+        String json = "{\"bookName\":\"" + UUID.randomUUID() + "\",\"bookDescription\":\"In genre\",\"bookLanguage\":\"English\"," +
+                "\"additional\":{\"pagesCount\":100,\"size\":{\"height\":20,\"width\":15,\"length\":3}},\"publicationYear\":2000}";
+        bookService.addNewBook(authorId, genreId, objectMapper.readValue(json, BookWithoutIdDto.class));
+    }
+
+    @Test
+    void unpagedListHasOnlyAuthorsOfGenre() throws JsonProcessingException {
+        long genreId = genre();
+        long inGenre = author();
+        long elsewhere = author();
+        book(inGenre, genreId);
+        book(inGenre, genreId);
+        book(elsewhere, genre());
+
+        assertThat(authorService.findAllAuthorsInGenre(genreId, AUTHOR_ID, ASC, 1, 10, false))
+                .extracting(AuthorDto::getAuthorId)
+                .containsExactly(inGenre);
+    }
+
+    @Test
+    void emptyGenreAndMissingGenreDiffer() throws JsonProcessingException {
+        long empty = genre();
+
+        assertThat(authorService.findAllAuthorsInGenre(empty, AUTHOR_ID, ASC, 1, 10, false)).isEmpty();
+        assertThatThrownBy(() -> authorService.findAllAuthorsInGenre(Long.MAX_VALUE, AUTHOR_ID, ASC, 1, 10, false))
+                .isInstanceOf(GenreNotFoundException.class);
+    }
+}
@@ -0,0 +1,139 @@
+package ua.com.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.api.app.App;
+import ua.com.api.entity.Author;
+import ua.com.api.entity.dto.author.AuthorWithoutIdDto;
+import ua.com.api.entity.dto.book.BookWithoutIdDto;
+import ua.com.api.entity.dto.genre.GenreWithoutIdDto;
+import ua.com.api.repository.AuthorRepository;
+import ua.com.api.repository.GenreRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = App.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:counters-test;DB_CLOSE_DELAY=-1",
+        "library.cache.enabled=true",
+        "library.schema.check-query-plans=false"
+})
+class BooksCountersTest {
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private GenreService genreService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long author() throws JsonProcessingException {
+        String json = "{\"name\":{\"first\":\"Counter\",\"last\":\"" + UUID.randomUUID() + "\"}}";
+        return authorService.addNewAuthor(objectMapper.readValue(json, AuthorWithoutIdDto.class)).getAuthorId();
+    }
+
+    private long genre() throws JsonProcessingException {
+        String json = "{\"name\":\"" + UUID.randomUUID().toString().substring(0, 30) + "\"}";
+        return genreService.addNewGenre(objectMapper.readValue(json, GenreWithoutIdDto.class)).getGenreId();
+    }
+
+    private long book(long authorId, long genreId) throws JsonProcessingException {
+        String json = "{\"bookName\":\"" + UUID.randomUUID() + "\",\"bookDescription\":\"Counted\",\"bookLanguage\":\"English\"," +
+                "\"additional\":{\"pagesCount\":100,\"size\":{\"height\":20,\"width\":15,\"length\":3}},\"publicationYear\":2000}";
+        return bookService.addNewBook(authorId, genreId, objectMapper.readValue(json, BookWithoutIdDto.class)).getBookId();
+    }
+
+    private long authorBooks(long authorId) {
+        return authorRepository.findById(authorId).orElseThrow().getBooksCount();
+    }
+
+    private long genreBooks(long genreId) {
+        return genreRepository.findById(genreId).orElseThrow().getBooksCount();
+    }
+
+    @Test
+    void countsCreatedAndDeletedBooks() throws JsonProcessingException {
+        long first = author();
+        long second = author();
+        long drama = genre();
+        long poetry = genre();
+
+        long deleted = book(first, drama);
+        book(first, poetry);
+        book(second, drama);
+
+        assertThat(authorBooks(first)).isEqualTo(2);
+        assertThat(genreBooks(drama)).isEqualTo(2);
+
+        bookService.deleteExistedBook(deleted);
+
+        assertThat(authorBooks(first)).isEqualTo(1);
+        assertThat(genreBooks(drama)).isEqualTo(1);
+
+        genreService.deleteExistedGenre(poetry, true);
+
+        assertThat(authorBooks(first)).isZero();
+        assertThat(authorBooks(second)).isEqualTo(1);
+
+        authorService.deleteExistedAuthor(second, true);
+
+        assertThat(genreBooks(drama)).isZero();
+    }
+
+    @Test
+    void keepsOtherAuthorsCached() throws JsonProcessingException {
+        long counted = author();
+        long other = author();
+        long genre = genre();
+        authorRepository.findById(other);
+
+        assertThat(entityManagerFactory.getCache().contains(Author.class, other)).isTrue();
+
+        book(counted, genre);
+
+        assertThat(entityManagerFactory.getCache().contains(Author.class, other)).isTrue();
+        assertThat(authorBooks(counted)).isEqualTo(1);
+    }
+
+    @Test
+    void skipsMissingGenreOfBook() throws JsonProcessingException {
+        long authorId = author();
+        String name = UUID.randomUUID().toString();
+        jdbcTemplate.update("INSERT INTO book (book_name, book_language, author_id) VALUES (?, 'English', ?)", name, authorId);
+        jdbcTemplate.update("INSERT INTO book (book_name, book_language, author_id) VALUES (?, 'English', ?)", name + "-2", authorId);
+        jdbcTemplate.update("UPDATE author SET books_count = 2 WHERE author_id = ?", authorId);
+        entityManagerFactory.getCache().evict(Author.class, authorId);
+        long bookId = jdbcTemplate.queryForObject("SELECT book_id FROM book WHERE book_name = ?", Long.class, name);
+
+        bookService.deleteExistedBook(bookId);
+
+        assertThat(authorBooks(authorId)).isEqualTo(1);
+
+        authorService.deleteExistedAuthor(authorId, true);
+
+        assertThat(authorRepository.existsById(authorId)).isFalse();
+    }
+}
@@ -0,0 +1,89 @@
+package ua.com.api.service;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ua.com.api.app.App;
+import ua.com.api.repository.AuthorRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = App.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:import-test;DB_CLOSE_DELAY=-1",
+        "library.import.chunk-size=2",
+        "library.schema.check-query-plans=false"
+})
+class ImportTest {
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Entity manager is bound to the thread for the whole import, the same as open-in-view does for request.
+     */
+    @Test
+    void keepsPersistenceContextBoundedAcrossChunks() throws IOException {
+        String body = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> "{\"name\":{\"first\":\"Import\",\"last\":\"Author" + i + "\"}}")
+                .collect(Collectors.joining("\n"));
+        long before = authorRepository.count();
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            authorService.importAuthors(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), false).writeTo(out);
+
+            assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("\"imported\":5", "\"failed\":0");
+        assertThat(authorRepository.count()).isEqualTo(before + 5);
+    }
+
+    @Test
+    void reportsOnlyRowsOfFailedChunkWhichCantBeSaved() throws IOException {
+        String body = String.join("\n",
+                "{\"name\":{\"first\":\"Retry\",\"last\":\"Saved1\"}}",
+                "{\"name\":{\"first\":\"Retry\",\"last\":\"Rejected\"},\"birth\":{\"country\":\"" + "x".repeat(80) + "\"}}",
+                "{\"name\":{\"first\":\"Retry\",\"last\":\"Saved2\"}}");
+        long before = authorRepository.count();
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            authorService.importAuthors(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), false).writeTo(out);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+
+        // country passes validation (up to 100 characters) but not the column (60), so only the database rejects it
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .contains("\"row\":2", "\"imported\":2", "\"failed\":1")
+                .doesNotContain("\"row\":1,");
+        assertThat(authorRepository.count()).isEqualTo(before + 2);
+    }
+}
@@ -0,0 +1,60 @@
+package ua.com.api.service.mapper;
+
+import org.junit.jupiter.api.Test;
+import ua.com.api.entity.Author;
+import ua.com.api.entity.Book;
+import ua.com.api.entity.dto.book.BookDetailsDto;
+import ua.com.api.entity.dto.book.BookDto;
+import ua.com.api.repository.projection.BookRow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ModelToDtoMapperTest {
+    private final ModelToDtoMapper mapper = new ModelToDtoMapper();
+
+    private static Book book() {
+        Book book = new Book();
+        book.setBookId(1L);
+        book.setBookName("Name");
+        book.setBookDescription("Description");
+        book.setBookLanguage("English");
+        book.setPagesCount(100);
+        book.setBookHeight(20.0);
+        book.setBookWidth(15.0);
+        book.setBookLength(3.0);
+        book.setPublicationYear(2000);
+        return book;
+    }
+
+    @Test
+    void entityAndProjectionAreMappedAlike() {
+        Book book = book();
+        BookRow row = new BookRow(1L, "Name", "Description", "English", 100, 20.0, 15.0, 3.0, 2000);
+
+        BookDto fromEntity = mapper.mapBookToBookDto(book);
+
+        assertThat(mapper.mapBookRowToBookDto(row)).isEqualTo(fromEntity);
+        assertThat(fromEntity.getAdditional().getPagesCount()).isEqualTo(100);
+        assertThat(fromEntity.getAdditional().getSize().getWidth()).isEqualTo(15.0);
+    }
+
+    @Test
+    void bookWithoutAuthorAndGenreHasNoEmbeddedObjects() {
+        BookDetailsDto dto = mapper.mapBookToBookDetailsDto(book(), true, true);
+
+        assertThat(dto.getBookName()).isEqualTo("Name");
+        assertThat(dto.getAuthor()).isNull();
+        assertThat(dto.getGenre()).isNull();
+    }
+
+    @Test
+    void authorIsEmbeddedOnlyWhenRequested() {
+        Book book = book();
+        Author author = new Author();
+        author.setAuthorId(5L);
+        book.setAuthor(author);
+
+        assertThat(mapper.mapBookToBookDetailsDto(book, true, false).getAuthor().getAuthorId()).isEqualTo(5L);
+        assertThat(mapper.mapBookToBookDetailsDto(book, false, false).getAuthor()).isNull();
+    }
+}
@@ -0,0 +1,148 @@
+package ua.com.api.service.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private double count(String result) {
+        return registry.get("library.single.flight.calls")
+                .tag("method", "find")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private static String await(CountDownLatch latch, String result) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return result;
+    }
+
+    /**
+     * Starts call which blocks until 'release' is counted down, returns when the call is running.
+     */
+    private static CompletableFuture<String> running(SingleFlight singleFlight, CountDownLatch release, Object... arguments)
+            throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> singleFlight.execute("find", () -> {
+            started.countDown();
+            return await(release, "first");
+        }, arguments));
+
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        return result;
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(thread.getState()).isEqualTo(Thread.State.TIMED_WAITING);
+    }
+
+    @Test
+    void joinsRunningCallWithTheSameArguments() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, 10_000);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger ownCalls = new AtomicInteger();
+        AtomicReference<String> joined = new AtomicReference<>();
+
+        CompletableFuture<String> first = running(singleFlight, release, "v1", 1L);
+        Thread waiter = new Thread(() -> joined.set(singleFlight.execute("find", () -> {
+            ownCalls.incrementAndGet();
+            return "second";
+        }, "v1", 1L)));
+        waiter.start();
+        awaitWaiting(waiter);
+        release.countDown();
+        waiter.join(10_000);
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(joined.get()).isEqualTo("first");
+        assertThat(ownCalls.get()).isZero();
+        assertThat(count("executed")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(1);
+    }
+
+    @Test
+    void neverJoinsCallStartedForOlderVersion() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, 10_000);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = running(singleFlight, release, "v1", 1L);
+        String second = singleFlight.execute("find", () -> "second", "v2", 1L);
+        release.countDown();
+
+        assertThat(second).isEqualTo("second");
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(count("executed")).isEqualTo(2);
+    }
+
+    @Test
+    void waiterGetsExceptionOfRunningCall() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, 10_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Throwable> joined = new AtomicReference<>();
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.execute("find", () -> {
+            started.countDown();
+            await(release, "first");
+            throw new IllegalArgumentException("not found");
+        }, "v1", 1L));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Thread waiter = new Thread(() -> {
+            try {
+                singleFlight.execute("find", () -> "second", "v1", 1L);
+            } catch (RuntimeException e) {
+                joined.set(e);
+            }
+        });
+        waiter.start();
+        awaitWaiting(waiter);
+        release.countDown();
+        waiter.join(10_000);
+
+        assertThat(joined.get()).isInstanceOf(IllegalArgumentException.class).hasMessage("not found");
+        assertThatThrownBy(() -> first.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void waiterCallsItselfAfterTimeout() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, 50);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = running(singleFlight, release, "v1", 1L);
+        String second = singleFlight.execute("find", () -> "second", "v1", 1L);
+        release.countDown();
+
+        assertThat(second).isEqualTo("second");
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(count("timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void forgetsCompletedCall() {
+        SingleFlight singleFlight = new SingleFlight(registry, 10_000);
+
+        assertThat(singleFlight.execute("find", () -> "first", "v1", 1L)).isEqualTo("first");
+        assertThat(singleFlight.execute("find", () -> "second", "v1", 1L)).isEqualTo("second");
+        assertThat(count("executed")).isEqualTo(2);
+    }
+}
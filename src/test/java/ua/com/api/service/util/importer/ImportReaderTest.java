@@ -0,0 +1,78 @@
+package ua.com.api.service.util.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import ua.com.api.entity.dto.genre.GenreWithoutIdDto;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImportReaderTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ValidatorFactory VALIDATOR_FACTORY = Validation.buildDefaultValidatorFactory();
+    private static final Validator VALIDATOR = VALIDATOR_FACTORY.getValidator();
+
+    @AfterAll
+    static void closeValidator() {
+        VALIDATOR_FACTORY.close();
+    }
+
+    private static InputStream upload(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readsNdjsonInChunksWithLineNumbers() throws IOException {
+        String body = "{\"name\":\"Drama\"}\n\nnot json\n{\"name\":\"\"}\n{\"name\":\"Poetry\",\"description\":\"Verses\"}\n";
+
+        try (ImportReader<GenreWithoutIdDto> reader = ImportReader.ndjson(upload(body), OBJECT_MAPPER, VALIDATOR, GenreWithoutIdDto.class)) {
+            List<ImportRow<GenreWithoutIdDto>> first = reader.nextChunk(2);
+            assertThat(first).extracting(ImportRow::getRow).containsExactly(1L, 3L);
+            assertThat(first.get(0).isFailed()).isFalse();
+            assertThat(first.get(0).getValue().getName()).isEqualTo("Drama");
+            assertThat(first.get(1).getError()).isEqualTo("Row JSON is invalid!");
+
+            List<ImportRow<GenreWithoutIdDto>> second = reader.nextChunk(2);
+            assertThat(second).extracting(ImportRow::getRow).containsExactly(4L, 5L);
+            assertThat(second.get(0).getError()).isEqualTo("Value 'name' is required!");
+            assertThat(second.get(1).getValue().getDescription()).isEqualTo("Verses");
+
+            assertThat(reader.nextChunk(2)).isEmpty();
+        }
+    }
+
+    @Test
+    void failsRowWithValueOfWrongType() throws IOException {
+        try (ImportReader<GenreWithoutIdDto> reader = ImportReader.ndjson(upload("{\"name\":12}"), OBJECT_MAPPER, VALIDATOR, GenreWithoutIdDto.class)) {
+            List<ImportRow<GenreWithoutIdDto>> chunk = reader.nextChunk(10);
+
+            assertThat(chunk).hasSize(1);
+            assertThat(chunk.get(0).isFailed()).isTrue();
+            assertThat(chunk.get(0).getValue()).isNull();
+        }
+    }
+
+    @Test
+    void readsCsvRecordsAndSkipsEmptyValues() throws IOException {
+        String body = "name,description\nDrama,Plays\n,Nameless\n";
+
+        try (ImportReader<GenreWithoutIdDto> reader = ImportReader.csv(upload(body), OBJECT_MAPPER, VALIDATOR, GenreWithoutIdDto.class)) {
+            List<ImportRow<GenreWithoutIdDto>> chunk = reader.nextChunk(10);
+
+            assertThat(chunk).extracting(ImportRow::getRow).containsExactly(1L, 2L);
+            assertThat(chunk.get(0).getValue().getName()).isEqualTo("Drama");
+            assertThat(chunk.get(0).getValue().getDescription()).isEqualTo("Plays");
+            assertThat(chunk.get(1).getError()).isEqualTo("Value 'name' is required!");
+            assertThat(reader.nextChunk(10)).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ua.com.api.service.version;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+    private static final Map<String, String> DTO = Map.of("description", "x".repeat(1000));
+
+    private final Versions versions = new Versions();
+    private final ResponseCache responseCache = new ResponseCache(new ObjectMapper(), versions, 1 << 20, true);
+
+    private static ServletWebRequest request(String acceptEncoding, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/library/author/1");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private static String eTag(ServletWebRequest request) {
+        return request.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void parsesQualityOfGzip() {
+        assertThat(ResponseCache.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(ResponseCache.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(ResponseCache.acceptsGzip("*")).isTrue();
+        assertThat(ResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ResponseCache.acceptsGzip("gzip;q=0.0, *")).isFalse();
+        assertThat(ResponseCache.acceptsGzip("*;q=0")).isFalse();
+        assertThat(ResponseCache.acceptsGzip("deflate, br")).isFalse();
+        assertThat(ResponseCache.acceptsGzip(null)).isFalse();
+    }
+
+    @Test
+    void gzippedAndPlainResponsesHaveDifferentETags() {
+        ServletWebRequest gzipped = request("gzip", null);
+        ServletWebRequest plain = request("gzip;q=0", null);
+
+        ResponseEntity<byte[]> gzippedResponse = responseCache.get(Map.class, 1, "1.0", () -> DTO, gzipped);
+        ResponseEntity<byte[]> plainResponse = responseCache.get(Map.class, 1, "1.0", () -> DTO, plain);
+
+        assertThat(gzippedResponse.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(plainResponse.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(eTag(gzipped)).isNotEqualTo(eTag(plain));
+        assertThat(gzippedResponse.getBody()).isNotEqualTo(plainResponse.getBody());
+    }
+
+    @Test
+    void plainETagDoesNotMatchGzippedRepresentation() {
+        ServletWebRequest plain = request(null, null);
+        responseCache.get(Map.class, 1, "1.0", () -> DTO, plain);
+
+        ServletWebRequest gzipped = request("gzip", eTag(plain));
+
+        assertThat(responseCache.get(Map.class, 1, "1.0", () -> DTO, gzipped)).isNotNull();
+    }
+
+    @Test
+    void notModifiedResponseVariesByEncoding() {
+        ServletWebRequest first = request("gzip", null);
+        responseCache.get(Map.class, 1, "1.0", () -> DTO, first);
+
+        ServletWebRequest repeated = request("gzip", eTag(first));
+        ResponseEntity<byte[]> response = responseCache.get(Map.class, 1, "1.0", () -> {
+            throw new AssertionError("Not modified response must not be loaded");
+        }, repeated);
+
+        MockHttpServletResponse servletResponse = (MockHttpServletResponse) repeated.getResponse();
+        assertThat(response).isNull();
+        assertThat(servletResponse.getStatus()).isEqualTo(304);
+        assertThat(servletResponse.getHeaders(HttpHeaders.VARY)).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    void rebuildsEntryOfOtherVersion() {
+        responseCache.get(Map.class, 1, "1.0", () -> Map.of("name", "old"), request(null, null));
+
+        ResponseEntity<byte[]> response = responseCache.get(Map.class, 1, "2.0", () -> Map.of("name", "new"), request(null, null));
+
+        assertThat(new String(response.getBody())).isEqualTo("{\"name\":\"new\"}");
+    }
+}